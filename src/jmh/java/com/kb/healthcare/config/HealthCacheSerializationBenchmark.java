@@ -0,0 +1,68 @@
+package com.kb.healthcare.config;
+
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 캐시에 설정된 {@link GenericJackson2JsonRedisSerializer}로 {@code List<HealthDailyResponse>}를
+ * 직렬화/역직렬화하는 비용
+ *
+ * <p>매퍼가 기본 타입 정보를 쓰지 않으므로 역직렬화 결과는 {@code List<Map>}입니다.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HealthCacheSerializationBenchmark {
+
+    @Param({"30", "365", "3650"})
+    public int days;
+
+    private GenericJackson2JsonRedisSerializer serializer;
+    private List<HealthDailyResponse> value;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = new GenericJackson2JsonRedisSerializer(RedisConfig.redisObjectMapper());
+
+        var random = new Random(42);
+        var start = LocalDate.of(2015, 1, 1);
+        value = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            value.add(new HealthDailyResponse(start.plusDays(i), random.nextInt(20_000),
+                    BigDecimal.valueOf(random.nextInt(100_000), 2), BigDecimal.valueOf(random.nextInt(20_000), 3),
+                    "3b87c9a4-f983-4168-8f27-85436447bb57"));
+        }
+        bytes = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+}
@@ -0,0 +1,80 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.repository.HealthEntryRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 항목을 일간/월간으로 묶어 합산하는 {@link HealthRollupDelta} 비용
+ *
+ * <p>10분 단위 항목 {@code entries}개의 합성 이력에 대해, 처음 업로드하는 경우와
+ * 절반이 이미 저장된 슬롯을 덮어쓰는 경우(재동기화)를 측정합니다. {@code *Decimal}은 같은 계산을
+ * 항목마다 BigDecimal로 더하는 기존 방식입니다.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HealthRollupBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int entries;
+
+    private List<HealthEntryRow> rows;
+    private List<HealthEntryRow> existing;
+    private HealthRollupDelta first;
+    private HealthRollupDelta second;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        rows = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            var from = start.plusMinutes(10L * i);
+            rows.add(new HealthEntryRow(from, from.plusMinutes(10), random.nextInt(300),
+                    BigDecimal.valueOf(random.nextInt(500), 3), BigDecimal.valueOf(random.nextInt(2000), 2)));
+        }
+        existing = rows.subList(0, entries / 2);
+
+        first = HealthRollupDelta.between(List.of(), rows.subList(0, entries / 2));
+        second = HealthRollupDelta.between(List.of(), rows.subList(entries / 2, entries));
+    }
+
+    @Benchmark
+    public HealthRollupDelta firstUpload() {
+        return HealthRollupDelta.between(List.of(), rows);
+    }
+
+    @Benchmark
+    public HealthRollupDelta overwriteHalf() {
+        return HealthRollupDelta.between(existing, rows);
+    }
+
+    @Benchmark
+    public HealthRollupDelta firstUploadDecimal() {
+        return HealthRollupDelta.betweenDecimal(List.of(), rows);
+    }
+
+    @Benchmark
+    public HealthRollupDelta overwriteHalfDecimal() {
+        return HealthRollupDelta.betweenDecimal(existing, rows);
+    }
+
+    @Benchmark
+    public HealthRollupDelta mergeChunks() {
+        return first.plus(second);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kb.healthcare.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HealthNormalizer#toKst}의 형식별 파싱 비용
+ *
+ * <p>분기 예측이 한 값에 고정되지 않도록 2024년 안의 임의 시각 1024개를 번갈아 파싱합니다.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HealthNormalizerBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    public enum Format {
+        OFFSET("yyyy-MM-dd HH:mm:ss '+0000'"),
+        KST_LOCAL("yyyy-MM-dd HH:mm:ss"),
+        ISO_OFFSET("yyyy-MM-dd'T'HH:mm:ss'+0000'");
+
+        private final DateTimeFormatter formatter;
+
+        Format(String pattern) {
+            this.formatter = DateTimeFormatter.ofPattern(pattern);
+        }
+    }
+
+    @Param
+    public Format format;
+
+    private final HealthNormalizer normalizer = new HealthNormalizer();
+    private String[] inputs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        inputs = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            inputs[i] = start.plusSeconds(random.nextInt(366 * 86_400)).format(format.formatter);
+        }
+    }
+
+    @Benchmark
+    public ZonedDateTime toKst() {
+        String input = inputs[next++ & (SAMPLES - 1)];
+        return normalizer.toKst(input);
+    }
+}
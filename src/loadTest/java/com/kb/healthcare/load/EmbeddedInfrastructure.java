@@ -0,0 +1,74 @@
+package com.kb.healthcare.load;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * 부하 테스트용 로컬 MySQL/Redis 대체 서버
+ *
+ * <p>MariaDB4j로 MySQL 호환 DB를, embedded-redis로 Redis를 빈 포트에 한 번만 띄우고 JVM 종료 시 정리합니다.</p>
+ */
+final class EmbeddedInfrastructure {
+
+    static final String DATABASE = "kbhealthcare";
+
+    private static final EmbeddedInfrastructure INSTANCE = start();
+
+    private final int dbPort;
+    private final int redisPort;
+
+    private EmbeddedInfrastructure(int dbPort, int redisPort) {
+        this.dbPort = dbPort;
+        this.redisPort = redisPort;
+    }
+
+    static EmbeddedInfrastructure get() {
+        return INSTANCE;
+    }
+
+    String jdbcUrl() {
+        return "jdbc:mysql://localhost:" + dbPort + "/" + DATABASE
+                + "?useSSL=false&serverTimezone=UTC&characterEncoding=UTF-8&allowPublicKeyRetrieval=true";
+    }
+
+    int redisPort() {
+        return redisPort;
+    }
+
+    private static EmbeddedInfrastructure start() {
+        try {
+            // 포트 0이면 MariaDB4j가 빈 포트를 찾음
+            DB db = DB.newEmbeddedDB(DBConfigurationBuilder.newBuilder().setPort(0).build());
+            db.start();
+            db.createDB(DATABASE);
+
+            int redisPort = freePort();
+            RedisServer redis = new RedisServer(redisPort);
+            redis.start();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    redis.stop();
+                    db.stop();
+                } catch (IOException | ManagedProcessException e) {
+                    System.err.println("[LOAD] 임베디드 서버 종료 실패: " + e.getMessage());
+                }
+            }, "load-infra-shutdown"));
+
+            return new EmbeddedInfrastructure(db.getConfiguration().getPort(), redisPort);
+        } catch (ManagedProcessException | IOException e) {
+            throw new IllegalStateException("임베디드 MariaDB/Redis를 시작할 수 없습니다.", e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
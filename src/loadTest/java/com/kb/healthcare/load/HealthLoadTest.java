@@ -0,0 +1,231 @@
+package com.kb.healthcare.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.auth.LoginRequest;
+import com.kb.healthcare.dto.auth.LoginResponse;
+import com.kb.healthcare.dto.auth.SignupRequest;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 엔드투엔드 부하 테스트
+ *
+ * <p>임베디드 MariaDB/Redis에 연결한 애플리케이션을 실제 포트로 띄우고, 가상 사용자마다
+ * 회원가입 → 로그인 → 하루치씩 연속 업로드 → {@code /daily}, {@code /monthly} 반복 조회를 동시에 실행합니다.
+ * 엔드포인트별 p50/p99 응답 시간과 처리량을 출력하고 {@code build/reports/loadtest/summary.json}에 저장하며,
+ * {@link LoadSettings}의 임계값을 넘으면 실패합니다.</p>
+ *
+ * <p>{@code ./gradlew loadTest}로 실행합니다.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.org.hibernate.SQL=WARN")
+class HealthLoadTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final String PASSWORD = "password123!";
+    private static final int MAX_RETRIES = 3;
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) {
+        var infrastructure = EmbeddedInfrastructure.get();
+        registry.add("spring.datasource.url", infrastructure::jdbcUrl);
+        registry.add("spring.datasource.username", () -> "root");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", infrastructure::redisPort);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @Test
+    void 엔드포인트별_응답_시간과_처리량이_임계값_이내다() throws Exception {
+        var settings = LoadSettings.fromSystemProperties();
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<?>>(settings.users());
+            for (int i = 0; i < settings.users(); i++) {
+                futures.add(executor.submit(() -> {
+                    runUser(settings);
+                    return null;
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        var summaries = recorder.summarize(elapsed);
+        double throughput = summaries.stream().mapToDouble(LatencyRecorder.Summary::throughput).sum();
+        report(settings, summaries, throughput);
+
+        var softly = new SoftAssertions();
+        for (var summary : summaries) {
+            softly.assertThat(summary.p99Millis())
+                    .as("%s p99(ms)", summary.endpoint())
+                    .isLessThanOrEqualTo(settings.maxP99Millis().get(summary.endpoint()));
+            softly.assertThat((double) summary.errors() / summary.count())
+                    .as("%s 실패율", summary.endpoint())
+                    .isLessThanOrEqualTo(settings.maxErrorRate());
+        }
+        softly.assertThat(throughput).as("전체 처리량(req/s)").isGreaterThanOrEqualTo(settings.minThroughput());
+        softly.assertAll();
+    }
+
+    /**
+     * 가상 사용자 한 명의 시나리오
+     */
+    private void runUser(LoadSettings settings) throws Exception {
+        String recordKey = UUID.randomUUID().toString();
+        String email = "load-" + recordKey + "@example.com";
+
+        call("signup", post("/api/auth/signup", new SignupRequest("부하", "load", email, PASSWORD, recordKey), null));
+        var login = call("login", post("/api/auth/login", new LoginRequest(email, PASSWORD), null));
+        if (login == null) {
+            return;
+        }
+        String token = objectMapper.readValue(login, LoginResponse.class).accessToken();
+
+        // 기기에서 밀린 데이터를 하루치씩 연속으로 동기화
+        for (int day = 0; day < settings.uploadsPerUser(); day++) {
+            var upload = upload(recordKey, START.plusDays(day), settings.entriesPerUpload());
+            call("upload", post("/api/health/upload", upload, token));
+        }
+
+        for (int i = 0; i < settings.readsPerUser(); i++) {
+            if (i % 2 == 0) {
+                String query = i % 4 == 0 ? "" : "?from=" + START + "&to=" + START.plusDays(
+                        ThreadLocalRandom.current().nextInt(Math.max(1, settings.uploadsPerUser())));
+                call("daily", get("/api/health/daily" + query, token));
+            } else {
+                call("monthly", get("/api/health/monthly", token));
+            }
+        }
+    }
+
+    /**
+     * 요청을 보내고 응답 시간을 기록합니다. 429 응답은 Retry-After만큼 기다렸다가 다시 보내며,
+     * 재시도를 포함한 전체 시간을 기록합니다.
+     *
+     * @return 2xx 응답 본문, 실패하면 {@code null}
+     */
+    private String call(String endpoint, HttpRequest request) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = null;
+            for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 429) {
+                    break;
+                }
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                Thread.sleep(Duration.ofSeconds(retryAfter));
+            }
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - started, success);
+            return success ? response.body() : null;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - started, false);
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, Object body, String token) throws IOException {
+        var builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * 10분 단위 측정 항목으로 이루어진 하루치 업로드
+     */
+    private static HealthUploadRequest upload(String recordKey, LocalDate day, int entryCount) {
+        var random = ThreadLocalRandom.current();
+        var entries = new ArrayList<HealthUploadRequest.Entry>(entryCount);
+        LocalDateTime from = day.atStartOfDay();
+        for (int i = 0; i < entryCount; i++) {
+            int steps = random.nextInt(600);
+            entries.add(new HealthUploadRequest.Entry(
+                    new HealthUploadRequest.Period(from.format(FORMAT), from.plusMinutes(10).format(FORMAT)),
+                    new HealthUploadRequest.Metric("km", BigDecimal.valueOf(steps * 7L, 4)),
+                    new HealthUploadRequest.Metric("kcal", BigDecimal.valueOf(steps * 4L, 2)),
+                    (double) steps));
+            from = from.plusMinutes(10);
+        }
+        String lastUpdate = day.plusDays(1).atStartOfDay().format(FORMAT);
+        return new HealthUploadRequest(recordKey, new HealthUploadRequest.Data(entries), lastUpdate);
+    }
+
+    private void report(LoadSettings settings, List<LatencyRecorder.Summary> summaries,
+                        double throughput) throws IOException {
+        System.out.printf("[LOAD] users=%d uploadsPerUser=%d entriesPerUpload=%d readsPerUser=%d total=%.0f req/s%n",
+                settings.users(), settings.uploadsPerUser(), settings.entriesPerUpload(), settings.readsPerUser(),
+                throughput);
+        for (var summary : summaries) {
+            System.out.printf("[LOAD] %-8s count=%6d errors=%4d %8.1f req/s p50=%8.1fms p99=%8.1fms (max %.0fms)%n",
+                    summary.endpoint(), summary.count(), summary.errors(), summary.throughput(),
+                    summary.p50Millis(), summary.p99Millis(), settings.maxP99Millis().get(summary.endpoint()));
+        }
+
+        String reportDir = System.getProperty("load.report-dir");
+        if (reportDir != null) {
+            Path dir = Files.createDirectories(Path.of(reportDir));
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(),
+                    Map.of("settings", settings, "throughput", throughput, "endpoints", summaries));
+        }
+    }
+}
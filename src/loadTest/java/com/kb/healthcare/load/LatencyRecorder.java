@@ -0,0 +1,50 @@
+package com.kb.healthcare.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 응답 시간과 실패 수 집계
+ */
+final class LatencyRecorder {
+
+    /**
+     * @param throughput 전체 실행 시간 기준 초당 요청 수
+     */
+    record Summary(String endpoint, int count, long errors, double throughput, double p50Millis, double p99Millis) {
+    }
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+        }
+    }
+
+    List<Summary> summarize(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        var summaries = new ArrayList<Summary>();
+        new TreeMap<>(latencies).forEach((endpoint, values) -> {
+            long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+            LongAdder failed = errors.get(endpoint);
+            summaries.add(new Summary(endpoint, sorted.length, failed == null ? 0 : failed.sum(),
+                    sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99)));
+        });
+        return summaries;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+}
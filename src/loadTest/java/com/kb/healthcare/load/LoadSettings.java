@@ -0,0 +1,60 @@
+package com.kb.healthcare.load;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 시나리오와 회귀 임계값 ({@code -Pload.<이름>=값}으로 변경)
+ *
+ * @param users            동시에 시나리오를 실행하는 가상 사용자 수
+ * @param uploadsPerUser   사용자마다 연속으로 보내는 업로드 수 (하루치씩)
+ * @param entriesPerUpload 업로드 한 번의 항목 수 (10분 단위 하루치 = 144)
+ * @param readsPerUser     업로드 후 반복하는 {@code /daily}, {@code /monthly} 조회 수
+ * @param maxP99Millis     엔드포인트별 p99 응답 시간 상한
+ * @param minThroughput    전체 초당 요청 수 하한
+ * @param maxErrorRate     엔드포인트별 실패율 상한
+ */
+record LoadSettings(
+        int users,
+        int uploadsPerUser,
+        int entriesPerUpload,
+        int readsPerUser,
+        Map<String, Double> maxP99Millis,
+        double minThroughput,
+        double maxErrorRate
+) {
+
+    static final String[] ENDPOINTS = {"signup", "login", "upload", "daily", "monthly"};
+
+    private static final Map<String, Double> DEFAULT_P99_MILLIS = Map.of(
+            "signup", 2_000.0,
+            "login", 2_000.0,
+            "upload", 1_000.0,
+            "daily", 200.0,
+            "monthly", 200.0);
+
+    static LoadSettings fromSystemProperties() {
+        var maxP99 = new HashMap<String, Double>();
+        for (String endpoint : ENDPOINTS) {
+            maxP99.put(endpoint, doubleProperty("load.max-p99-ms." + endpoint, DEFAULT_P99_MILLIS.get(endpoint)));
+        }
+        return new LoadSettings(
+                intProperty("load.users", 50),
+                intProperty("load.uploads-per-user", 7),
+                intProperty("load.entries-per-upload", 144),
+                intProperty("load.reads-per-user", 40),
+                Map.copyOf(maxP99),
+                doubleProperty("load.min-throughput", 50.0),
+                doubleProperty("load.max-error-rate", 0.0));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
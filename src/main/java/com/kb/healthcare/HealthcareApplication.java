@@ -1,10 +1,15 @@
 package com.kb.healthcare;
 
+import com.kb.healthcare.datasource.HealthShardProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing
+@EnableScheduling
+@EnableConfigurationProperties(HealthShardProperties.class)
 @SpringBootApplication
 public class HealthcareApplication {
 
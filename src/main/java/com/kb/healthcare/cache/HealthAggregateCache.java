@@ -0,0 +1,962 @@
+package com.kb.healthcare.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import com.kb.healthcare.dto.health.HealthMonthlyResponse;
+import com.kb.healthcare.repository.HealthTotals;
+import com.kb.healthcare.service.HealthRange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 일간/월간 헬스 통계의 2단계 캐시
+ *
+ * <p>L1은 크기/TTL이 제한된 프로세스 내 Caffeine(W-TinyLFU) 캐시, L2는 사용자별 Redis 해시입니다.
+ * 해시에는 날짜/월마다 정수 필드로 합계를 보관하므로, 업로드 시 전체를 지우지 않고
+ * 바뀐 날짜/월 필드에만 변화량을 {@code HINCRBY}로 더합니다.</p>
+ *
+ * <p>해시는 세그먼트(일간은 한 달, 월간은 한 해) 단위로 채웁니다. 조회는 요청 구간에 걸친 세그먼트의 필드만
+ * {@code HMGET}하고, 없는 세그먼트만 그 구간으로 DB에서 읽어 채우므로 Redis 응답 크기와 DB 조회 범위가
+ * 사용자의 전체 이력이 아니라 요청 구간에 비례합니다. 종료가 없으면 오늘(이번 달)까지, 시작과 커서가 모두 없으면
+ * 사용자의 첫 기간({@code ^} 필드)부터이며, 개수 제한이 있으면 필요한 만큼의 세그먼트만 차례로 읽습니다.</p>
+ *
+ * <p>L1은 recordKey마다 그 사용자의 조회 결과(종류/구간별)를 한 항목으로 묶어 보관합니다.
+ * 패치/무효화 시 {@value #INVALIDATION_CHANNEL} 채널로 recordKey를 발행하면 모든 노드가 그 항목 하나만 제거하므로,
+ * 무효화 비용은 L1 크기와 관계없고 다른 사용자의 캐시에는 영향이 없습니다.</p>
+ *
+ * <p>해시에 없는 같은 세그먼트 구간을 동시에 조회한 요청은 DB를 한 번만 읽습니다. 노드 안에서는 먼저 시작한 조회의
+ * 결과를 공유하고, 노드 사이에서는 짧은 Redis 락({@code health:cache:lock::})을 얻은 노드만 DB를 읽으며
+ * 나머지는 세그먼트가 채워지기를 기다립니다. 또한 만료가 가까운 세그먼트는 다시 계산하는 데 걸린 시간에 비례한 확률로
+ * (XFetch) 만료 전에 백그라운드에서 미리 채웁니다.</p>
+ *
+ * <p>캐시 종류/계층별 적중/미스 횟수는 {@code health.cache.requests}, DB 조회/공유 횟수는 {@code health.cache.loads},
+ * 미리 채운 횟수는 {@code health.cache.early-refresh} 카운터로 기록합니다.</p>
+ */
+@Slf4j
+@Component
+public class HealthAggregateCache implements MessageListener, DisposableBean {
+
+    /**
+     * L1 무효화 메시지 채널 (메시지 본문: recordKey)
+     */
+    public static final String INVALIDATION_CHANNEL = "health:cache:invalidate";
+
+    /**
+     * 사용자 캐시 버전 키 접두사 (패치/무효화마다 증가)
+     */
+    private static final String VERSION_KEY = "health:cache:ver::";
+
+    /**
+     * 커밋되었지만 아직 패치되지 않은 업로드 수 키 접두사
+     */
+    private static final String PENDING_KEY = "health:cache:pending::";
+
+    /**
+     * 노드 간 채우기 락 키 접두사 (뒤에 해시 키와 세그먼트 구간)
+     */
+    private static final String LOCK_KEY = "health:cache:lock::";
+
+    /**
+     * 세그먼트가 채워져 있음을 나타내는 필드 접두사 (뒤에 세그먼트, 데이터가 없는 세그먼트도 캐싱하기 위함)
+     * 값은 {@code 만료 시각(epoch 밀리초):다시 계산하는 데 걸린 시간(밀리초)}
+     */
+    private static final String SEGMENT_FIELD = "~";
+
+    /**
+     * 사용자의 가장 이른 기간 필드 (데이터가 없으면 빈 문자열, 더 이른 기간이 업로드되면 패치 스크립트가 갱신)
+     */
+    private static final String FIRST_FIELD = "^";
+
+    private static final String STEPS = ":s";
+    private static final String DISTANCE = ":d";
+    private static final String CALORIES = ":c";
+
+    private static final int DISTANCE_SCALE = 3;
+    private static final int CALORIES_SCALE = 2;
+
+    /**
+     * 한 번의 HMGET/DB 조회에서 다루는 최대 세그먼트 수 (일간 1년, 월간 12년)
+     */
+    private static final int MAX_SEGMENTS_PER_READ = 12;
+
+    /**
+     * 업로드 후 미리 채우는 최근 세그먼트 수 (일간 이번 달과 지난달, 월간 올해와 작년)
+     */
+    private static final int WARM_SEGMENTS = 2;
+
+    /**
+     * L1 무효화 세대 카운터 수 (recordKey 해시로 나누어, 한 사용자의 무효화가 다른 사용자의 L1 채우기를 막지 않도록 함)
+     */
+    private static final int EPOCH_STRIPES = 4096;
+
+    /**
+     * 버전 키는 해시보다 오래 유지되어야 채우기 도중의 업로드를 감지할 수 있음
+     */
+    private static final Duration VERSION_TTL = Duration.ofDays(2);
+
+    /**
+     * 커밋 직후 패치가 실행되지 못한 경우(프로세스 종료 등)에도 채우기가 영구히 막히지 않도록 하는 TTL
+     */
+    private static final Duration PENDING_TTL = Duration.ofSeconds(60);
+
+    /**
+     * 다른 노드가 채우는 해시를 기다리는 동안의 확인 간격
+     */
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    /**
+     * 미리 채우기 대기열 크기 (가득 차면 미리 채우지 않고 만료 후 조회 시 채움)
+     */
+    private static final int REFRESH_QUEUE_CAPACITY = 1_000;
+
+    private static final RedisScript<Long> BEGIN = script("redis/health-cache-begin.lua");
+    private static final RedisScript<Long> FILL = script("redis/health-cache-fill.lua");
+    private static final RedisScript<Long> PATCH = script("redis/health-cache-patch.lua");
+    private static final RedisScript<Long> EVICT = script("redis/health-cache-evict.lua");
+    private static final RedisScript<Long> UNLOCK = script("redis/health-cache-unlock.lua");
+
+    private final StringRedisTemplate redisTemplate;
+    /**
+     * recordKey → (종류 접두사 + 구간 접미사 → 조회 결과), 가중치는 보관 중인 조회 결과 수
+     */
+    private final Cache<String, Map<String, List<?>>> local;
+
+    /**
+     * 사용자가 무효화될 때마다 그 사용자 구획의 값이 증가하며, 조회 도중 무효화된 값을 L1에 채우지 않도록 하는 데 사용
+     */
+    private final AtomicLongArray invalidations = new AtomicLongArray(EPOCH_STRIPES);
+
+    /**
+     * 해시 키와 세그먼트 구간별 진행 중인 DB 조회 (노드 내 single-flight)
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<TreeMap<String, long[]>>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 미리 채우기가 대기 중이거나 진행 중인 해시 키와 세그먼트 구간
+     */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor refreshExecutor;
+    private final Duration lockTtl;
+    private final Duration lockWait;
+
+    /**
+     * XFetch 가중치 (클수록 더 일찍 미리 채움, 0이면 미리 채우지 않음)
+     */
+    private final double earlyRefreshBeta;
+
+    /**
+     * 캐시 종류별 계층 적중/미스, DB 조회 카운터
+     */
+    private record FamilyCounters(Counter l1Hits, Counter l1Misses, Counter l2Hits, Counter l2Misses,
+                                  Counter dbLoads, Counter coalescedLoads, Counter peerLoads,
+                                  Counter earlyRefreshes) {
+
+        static FamilyCounters register(MeterRegistry registry, HealthCacheFamily family) {
+            return new FamilyCounters(
+                    counter(registry, family, "l1", "hit"),
+                    counter(registry, family, "l1", "miss"),
+                    counter(registry, family, "l2", "hit"),
+                    counter(registry, family, "l2", "miss"),
+                    load(registry, family, "db"),
+                    load(registry, family, "coalesced"),
+                    load(registry, family, "peer"),
+                    Counter.builder("health.cache.early-refresh")
+                            .description("만료 전에 백그라운드에서 미리 채운 횟수")
+                            .tag("family", family.name().toLowerCase())
+                            .register(registry));
+        }
+
+        /**
+         * @param source db: 직접 DB 조회, coalesced: 같은 노드의 조회 결과 공유, peer: 다른 노드가 채운 해시 사용
+         */
+        private static Counter load(MeterRegistry registry, HealthCacheFamily family, String source) {
+            return Counter.builder("health.cache.loads")
+                    .description("L2 미스 후 집계를 얻은 방법별 횟수")
+                    .tag("family", family.name().toLowerCase())
+                    .tag("source", source)
+                    .register(registry);
+        }
+
+        private static Counter counter(MeterRegistry registry, HealthCacheFamily family, String tier, String result) {
+            return Counter.builder("health.cache.requests")
+                    .description("헬스 통계 캐시 조회 횟수 (l2 miss는 DB 조회)")
+                    .tag("family", family.name().toLowerCase())
+                    .tag("tier", tier)
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+
+    private final Map<HealthCacheFamily, FamilyCounters> counters = new EnumMap<>(HealthCacheFamily.class);
+
+    public HealthAggregateCache(StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${health.cache.l1.max-size:10000}") long maxSize,
+                                @Value("${health.cache.l1.ttl:30s}") Duration ttl,
+                                @Value("${health.cache.lock.ttl:10s}") Duration lockTtl,
+                                @Value("${health.cache.lock.wait:3s}") Duration lockWait,
+                                @Value("${health.cache.early-refresh.beta:1.0}") double earlyRefreshBeta,
+                                @Value("${health.cache.early-refresh.threads:2}") int refreshThreads) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = lockTtl;
+        this.lockWait = lockWait;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                new CustomizableThreadFactory("health-cache-refresh-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String recordKey, Map<String, List<?>> entries) -> entries.size())
+                .expireAfterWrite(ttl)
+                .build();
+        for (HealthCacheFamily family : HealthCacheFamily.values()) {
+            counters.put(family, FamilyCounters.register(meterRegistry, family));
+        }
+        Gauge.builder("health.cache.l1.size", this, HealthAggregateCache::localSize)
+                .description("로컬 캐시에 보관 중인 조회 결과 수 (추정치)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 일간 통계를 L1 → L2(Redis 해시) → loader 순으로 조회합니다.
+     *
+     * @param loader 캐시 미스 시 없는 세그먼트(월) 구간의 일간 집계를 읽는 함수
+     */
+    public List<HealthDailyResponse> getDaily(String recordKey, HealthRange<LocalDate> range,
+                                              HealthSeriesLoader<LocalDate, HealthDailyResponse> loader) {
+        return get(HealthCacheFamily.DAILY, recordKey, range, dailySource(loader),
+                (period, t) -> new HealthDailyResponse(LocalDate.parse(period), (int) t[0],
+                        BigDecimal.valueOf(t[2], CALORIES_SCALE), BigDecimal.valueOf(t[1], DISTANCE_SCALE), recordKey));
+    }
+
+    /**
+     * 월간 통계를 L1 → L2(Redis 해시) → loader 순으로 조회합니다.
+     *
+     * @param loader 캐시 미스 시 없는 세그먼트(연) 구간의 월간 집계를 읽는 함수
+     */
+    public List<HealthMonthlyResponse> getMonthly(String recordKey, HealthRange<YearMonth> range,
+                                                  HealthSeriesLoader<YearMonth, HealthMonthlyResponse> loader) {
+        return get(HealthCacheFamily.MONTHLY, recordKey, range, monthlySource(loader),
+                (period, t) -> new HealthMonthlyResponse(period, (int) t[0],
+                        BigDecimal.valueOf(t[2], CALORIES_SCALE), BigDecimal.valueOf(t[1], DISTANCE_SCALE), recordKey));
+    }
+
+    /**
+     * 최근 일간 세그먼트(이번 달, 지난달)가 해시에 없으면 loader로 읽어 채웁니다.
+     * 다른 조회/노드가 이미 채우는 중이면 기다리지 않습니다.
+     *
+     * @return 다시 계산했으면 {@code true}, 이미 있거나 다른 곳에서 채우는 중이면 {@code false}
+     */
+    public boolean warmDaily(String recordKey, HealthSeriesLoader<LocalDate, HealthDailyResponse> loader) {
+        return warm(HealthCacheFamily.DAILY, recordKey, dailySource(loader));
+    }
+
+    /**
+     * 최근 월간 세그먼트(올해, 작년)가 해시에 없으면 loader로 읽어 채웁니다.
+     * 다른 조회/노드가 이미 채우는 중이면 기다리지 않습니다.
+     *
+     * @return 다시 계산했으면 {@code true}, 이미 있거나 다른 곳에서 채우는 중이면 {@code false}
+     */
+    public boolean warmMonthly(String recordKey, HealthSeriesLoader<YearMonth, HealthMonthlyResponse> loader) {
+        return warm(HealthCacheFamily.MONTHLY, recordKey, monthlySource(loader));
+    }
+
+    private <T> boolean warm(HealthCacheFamily family, String recordKey, Source<T> source) {
+        String hashKey = family.prefix + recordKey;
+        first(family, hashKey, recordKey, source);
+
+        var segments = new ArrayList<String>(WARM_SEGMENTS);
+        String segment = family.segmentOf(family.current());
+        for (int i = 0; i < WARM_SEGMENTS; i++, segment = family.previous(segment)) {
+            segments.add(0, segment);
+        }
+        var markers = new ArrayList<Object>(segments.size());
+        segments.forEach(seg -> markers.add(SEGMENT_FIELD + seg));
+        if (!redisTemplate.opsForHash().multiGet(hashKey, markers).contains(null)) {
+            return false;
+        }
+        return loadOnce(family, hashKey, recordKey, segments, source, true) != null;
+    }
+
+    /**
+     * 업로드 트랜잭션 커밋 직전에 호출하여, 커밋 이후 {@link #patch} 전까지 DB에서 해시를 채우지 못하게 합니다.
+     *
+     * <p>커밋과 패치 사이에 DB를 읽어 해시를 채우면 같은 변화량이 두 번 더해지기 때문입니다.
+     * 커밋되지 않았다면 {@link #cancelPatch}를 호출해야 합니다.</p>
+     */
+    public void beginPatch(String recordKey) {
+        redisTemplate.execute(BEGIN, List.of(VERSION_KEY + recordKey, PENDING_KEY + recordKey),
+                String.valueOf(VERSION_TTL.toSeconds()), String.valueOf(PENDING_TTL.toSeconds()));
+    }
+
+    /**
+     * {@link #beginPatch} 이후 트랜잭션이 롤백된 경우 진행 중 표시를 해제합니다.
+     */
+    public void cancelPatch(String recordKey) {
+        commit(recordKey, Map.of(), Map.of(), true, null);
+    }
+
+    /**
+     * 업로드로 바뀐 날짜/월 필드에만 변화량을 더하고 다른 노드의 L1을 무효화합니다.
+     *
+     * <p>해시에 채워지지 않은 세그먼트의 기간은 패치하지 않으며, 그 세그먼트를 조회할 때 DB에서 채워집니다.</p>
+     *
+     * @param daily   날짜별 변화량
+     * @param monthly 연-월(YYYY-MM)별 변화량
+     */
+    public void patch(String recordKey, Map<LocalDate, HealthTotals> daily, Map<String, HealthTotals> monthly) {
+        commit(recordKey, daily, monthly, true, null);
+    }
+
+    /**
+     * 커밋된 업로드의 후처리를 한 번의 스크립트로 수행합니다.
+     *
+     * <ol>
+     *   <li>예약이 있으면 lastUpdate를 더 새로운 값으로 반영하고 예약 해제</li>
+     *   <li>바뀐 날짜/월 필드에 변화량을 더하고 L1 무효화 발행 (변화량이 없고 {@link #beginPatch}도 하지 않았으면 생략)</li>
+     * </ol>
+     *
+     * @param patchBegun  커밋 직전에 {@link #beginPatch}를 호출했는지 여부
+     * @param reservation {@link HealthUploadGate#reserve}로 얻은 예약, 없으면 {@code null}
+     */
+    public void commit(String recordKey, Map<LocalDate, HealthTotals> daily, Map<String, HealthTotals> monthly,
+                       boolean patchBegun, HealthUploadGate.Reservation reservation) {
+        var args = new ArrayList<String>(7 + (daily.size() + monthly.size()) * 6);
+        args.add(INVALIDATION_CHANNEL);
+        args.add(recordKey);
+        args.add(String.valueOf(VERSION_TTL.toSeconds()));
+        args.add(patchBegun ? "1" : "0");
+        args.add(reservation == null ? "" : reservation.token());
+        args.add(reservation == null ? "" : String.valueOf(reservation.lastUpdateMillis()));
+        args.add(String.valueOf(daily.size() * 3));
+        daily.forEach((date, d) -> addIncrements(args, date.toString(), d));
+        monthly.forEach((month, d) -> addIncrements(args, month, d));
+
+        var keys = new ArrayList<>(keys(recordKey));
+        if (reservation != null) {
+            keys.addAll(HealthUploadGate.keys(reservation));
+        }
+
+        boolean patches = patchBegun || !daily.isEmpty() || !monthly.isEmpty();
+        if (patches) {
+            invalidateLocal(recordKey);
+        }
+        redisTemplate.execute(PATCH, keys, args.toArray());
+        if (patches) {
+            log.debug("[CACHE PATCH] recordKey={} days={} months={}", recordKey, daily.size(), monthly.size());
+        }
+    }
+
+    /**
+     * 특정 사용자의 일간/월간 해시를 삭제하고 다른 노드에도 L1 무효화를 전파합니다.
+     */
+    public void evict(String recordKey) {
+        invalidateLocal(recordKey);
+        redisTemplate.execute(EVICT, keys(recordKey),
+                INVALIDATION_CHANNEL, recordKey, String.valueOf(VERSION_TTL.toSeconds()));
+        log.debug("[CACHE EVICT] recordKey={}", recordKey);
+    }
+
+    /**
+     * 다른 노드(또는 자신)가 발행한 무효화 메시지를 받아 L1에서 해당 사용자의 키를 제거합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public HealthCacheStats stats() {
+        long l1Hits = 0, l1Misses = 0, l2Hits = 0, l2Misses = 0;
+        for (FamilyCounters c : counters.values()) {
+            l1Hits += (long) c.l1Hits().count();
+            l1Misses += (long) c.l1Misses().count();
+            l2Hits += (long) c.l2Hits().count();
+            l2Misses += (long) c.l2Misses().count();
+        }
+        return new HealthCacheStats(l1Hits, l1Misses, l2Hits, l2Misses, localSize());
+    }
+
+    private long localSize() {
+        return local.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(local.estimatedSize()))
+                .orElse(local.estimatedSize());
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 캐시 미스 시 DB를 읽는 함수와 응답 ↔ 정수 합계 변환
+     *
+     * @param load     from~to(기간 문자열, 모두 포함) 구간의 응답을 읽는 함수
+     * @param first    가장 이른 기간을 읽는 함수 (데이터가 없으면 null)
+     * @param periodOf 응답에서 기간(필드 접두사)을 얻는 함수
+     * @param totalsOf 응답에서 {걸음 수, 거리, 칼로리} 정수 합계를 얻는 함수
+     */
+    private record Source<T>(BiFunction<String, String, List<T>> load, Supplier<String> first,
+                             Function<T, String> periodOf, Function<T, long[]> totalsOf) {
+    }
+
+    private static Source<HealthDailyResponse> dailySource(HealthSeriesLoader<LocalDate, HealthDailyResponse> loader) {
+        return new Source<>((from, to) -> loader.load(LocalDate.parse(from), LocalDate.parse(to)),
+                () -> Objects.toString(loader.first(), null),
+                HealthAggregateCache::dailyPeriod, HealthAggregateCache::dailyTotals);
+    }
+
+    private static Source<HealthMonthlyResponse> monthlySource(
+            HealthSeriesLoader<YearMonth, HealthMonthlyResponse> loader) {
+        return new Source<>((from, to) -> loader.load(YearMonth.parse(from), YearMonth.parse(to)),
+                () -> Objects.toString(loader.first(), null),
+                HealthMonthlyResponse::getMonthly, HealthAggregateCache::monthlyTotals);
+    }
+
+    /**
+     * @param toDto 기간과 {걸음 수, 거리, 칼로리} 정수 합계로 응답을 만드는 함수
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> get(HealthCacheFamily family, String recordKey, HealthRange<?> range,
+                            Source<T> source, BiFunction<String, long[], T> toDto) {
+        String localKey = family.prefix + (range.isAll() ? "" : range.cacheSuffix());
+        FamilyCounters stats = counters.get(family);
+
+        // 1. L1 조회
+        var entries = local.getIfPresent(recordKey);
+        List<?> cached = entries == null ? null : entries.get(localKey);
+        if (cached != null) {
+            stats.l1Hits().increment();
+            log.debug("[CACHE HIT] tier=L1 recordKey={} key={}", recordKey, localKey);
+            return (List<T>) cached;
+        }
+        stats.l1Misses().increment();
+
+        // 2. L2(Redis 해시)에서 구간에 걸친 세그먼트만 조회, 없는 세그먼트는 DB에서 읽어 채움
+        int stripe = stripe(recordKey);
+        long epoch = invalidations.get(stripe);
+        var window = collect(family, family.prefix + recordKey, recordKey, range, source);
+        var result = slice(window.totals(), range, toDto);
+        if (window.loaded()) {
+            stats.l2Misses().increment();
+            log.debug("[CACHE MISS] recordKey={} key={}", recordKey, localKey);
+            return result;
+        }
+
+        stats.l2Hits().increment();
+        log.debug("[CACHE HIT] tier=L2 recordKey={} key={}", recordKey, localKey);
+        putLocal(recordKey, localKey, result, stripe, epoch);
+        return result;
+    }
+
+    /**
+     * 구간에서 읽은 기간별 {걸음 수, 거리, 칼로리} 합계
+     *
+     * @param loaded DB에서 채운 세그먼트가 있었는지 여부
+     */
+    private record Window(TreeMap<String, long[]> totals, boolean loaded) {
+    }
+
+    /**
+     * 요청 구간에 걸친 세그먼트를 오름차순으로 {@value #MAX_SEGMENTS_PER_READ}개씩 읽습니다.
+     * 개수 제한이 있으면 채워질 만큼의 세그먼트만 읽고 멈춥니다.
+     */
+    private <T> Window collect(HealthCacheFamily family, String hashKey, String recordKey,
+                               HealthRange<?> range, Source<T> source) {
+        var totals = new TreeMap<String, long[]>();
+        String lo = lowerBound(family, range);
+        if (lo == null) {
+            // 시작과 커서가 모두 없으면 사용자의 첫 기간부터 (데이터가 없으면 빈 결과)
+            lo = first(family, hashKey, recordKey, source);
+            if (lo == null) return new Window(totals, false);
+        }
+        String hi = range.to() != null ? range.to().toString() : family.current();
+        if (lo.compareTo(hi) > 0) return new Window(totals, false);
+
+        Integer limit = range.limit();
+        String segment = family.segmentOf(lo);
+        String last = family.segmentOf(hi);
+        boolean loaded = false;
+        while (segment.compareTo(last) <= 0 && (limit == null || totals.size() < limit)) {
+            int batchSize = MAX_SEGMENTS_PER_READ;
+            if (limit != null) {
+                // 빈 기간이 없다고 가정할 때 남은 개수를 채우는 세그먼트 수 (첫 세그먼트가 일부만 걸칠 수 있으므로 하나 더)
+                int remaining = limit - totals.size();
+                batchSize = Math.min(batchSize, (remaining + family.periodsPerSegment - 1) / family.periodsPerSegment + 1);
+            }
+            var batch = new ArrayList<String>(batchSize);
+            for (; batch.size() < batchSize && segment.compareTo(last) <= 0; segment = family.next(segment)) {
+                batch.add(segment);
+            }
+            loaded |= readSegments(family, hashKey, recordKey, batch, lo, hi, source, totals);
+        }
+        return new Window(totals, loaded);
+    }
+
+    /**
+     * 세그먼트들에서 lo~hi 구간의 필드를 읽어 totals에 더합니다.
+     * 채워지지 않은 세그먼트는 DB에서 읽어 채우고, 만료가 가까운 세그먼트는 확률적으로 백그라운드에서 미리 채웁니다.
+     *
+     * @return DB에서 채운 세그먼트가 있으면 {@code true}
+     */
+    private <T> boolean readSegments(HealthCacheFamily family, String hashKey, String recordKey, List<String> segments,
+                                     String lo, String hi, Source<T> source, TreeMap<String, long[]> totals) {
+        var cached = readCached(family, hashKey, segments, lo, hi, totals);
+        if (!cached.expiring().isEmpty()) {
+            refreshEarly(family, hashKey, recordKey, span(family, cached.expiring()), source);
+        }
+        if (cached.missing().isEmpty()) {
+            return false;
+        }
+
+        // 없는 세그먼트 구간을 DB에서 읽어 채운 뒤 lo~hi에 해당하는 기간만 더함 (같은 구간의 동시 조회는 결과를 공유)
+        var loaded = loadOnce(family, hashKey, recordKey, span(family, cached.missing()), source, false);
+        loaded.subMap(lo, true, hi, true).forEach(totals::put);
+        return true;
+    }
+
+    /**
+     * 해시에서 읽은 세그먼트 상태
+     *
+     * @param missing  채워지지 않은 세그먼트
+     * @param expiring 만료가 가까워 미리 채울 세그먼트
+     */
+    private record Cached(List<String> missing, List<String> expiring) {
+    }
+
+    /**
+     * 세그먼트 표시 필드와 lo~hi 구간의 필드를 한 번의 HMGET으로 읽어, 채워진 세그먼트의 값만 totals에 더합니다.
+     */
+    private Cached readCached(HealthCacheFamily family, String hashKey, List<String> segments,
+                              String lo, String hi, TreeMap<String, long[]> totals) {
+        var fields = new ArrayList<Object>(segments.size() * (1 + family.periodsPerSegment * 3));
+        segments.forEach(segment -> fields.add(SEGMENT_FIELD + segment));
+        for (String segment : segments) {
+            for (String period : family.periods(segment)) {
+                if (period.compareTo(lo) >= 0 && period.compareTo(hi) <= 0) {
+                    fields.add(period + STEPS);
+                    fields.add(period + DISTANCE);
+                    fields.add(period + CALORIES);
+                }
+            }
+        }
+
+        List<Object> values = redisTemplate.opsForHash().multiGet(hashKey, fields);
+        var missing = new ArrayList<String>();
+        var expiring = new ArrayList<String>();
+        for (int i = 0; i < segments.size(); i++) {
+            String marker = (String) values.get(i);
+            if (marker == null) {
+                missing.add(segments.get(i));
+            } else if (expiresSoon(marker)) {
+                expiring.add(segments.get(i));
+            }
+        }
+        for (int i = segments.size(); i < fields.size(); i++) {
+            String field = (String) fields.get(i);
+            if (values.get(i) != null && !missing.contains(family.segmentOf(field))) {
+                accumulate(totals, field, (String) values.get(i));
+            }
+        }
+        return new Cached(missing, expiring);
+    }
+
+    /**
+     * @return 첫 세그먼트부터 마지막 세그먼트까지 이어진 세그먼트 목록 (한 번의 DB 범위 조회로 채움)
+     */
+    private static List<String> span(HealthCacheFamily family, List<String> segments) {
+        String last = segments.get(segments.size() - 1);
+        var span = new ArrayList<String>(segments.size());
+        for (String segment = segments.get(0); segment.compareTo(last) <= 0; segment = family.next(segment)) {
+            span.add(segment);
+        }
+        return span;
+    }
+
+    /**
+     * 시작과 커서 다음 기간 중 늦은 것을 반환합니다.
+     *
+     * @return 구간 하한, 시작과 커서가 모두 없으면 null
+     */
+    private static String lowerBound(HealthCacheFamily family, HealthRange<?> range) {
+        String from = Objects.toString(range.from(), null);
+        String after = range.after() == null ? null : family.successor(range.after().toString());
+        if (after == null) return from;
+        if (from == null) return after;
+        return after.compareTo(from) > 0 ? after : from;
+    }
+
+    /**
+     * 사용자의 가장 이른 기간을 해시에서 읽고, 없으면 DB에서 읽어 채웁니다.
+     *
+     * @return 가장 이른 기간, 데이터가 없으면 null
+     */
+    private <T> String first(HealthCacheFamily family, String hashKey, String recordKey, Source<T> source) {
+        Object cached = redisTemplate.opsForHash().get(hashKey, FIRST_FIELD);
+        if (cached != null) {
+            return ((String) cached).isEmpty() ? null : (String) cached;
+        }
+        String version = redisTemplate.opsForValue().get(VERSION_KEY + recordKey);
+        String first = source.first().get();
+        fill(family, hashKey, recordKey, version, List.of(FIRST_FIELD, Objects.toString(first, "")));
+        return first;
+    }
+
+    /**
+     * 조회 결과를 사용자의 L1 항목에 추가합니다. 조회 도중 그 사용자가 무효화되었다면 남기지 않습니다.
+     *
+     * <p>세대 확인과 추가를 같은 항목 잠금 안에서 하므로, 무효화({@link #invalidateLocal})가 세대를 올린 뒤에는
+     * 추가되지 않고, 추가된 뒤에 올렸다면 이어지는 제거가 함께 지웁니다. 항목은 가중치가 다시 계산되도록 복사하여 바꿉니다.</p>
+     */
+    private void putLocal(String recordKey, String localKey, List<?> result, int stripe, long epoch) {
+        local.asMap().compute(recordKey, (k, entries) -> {
+            if (invalidations.get(stripe) != epoch) return entries;
+            var updated = entries == null ? new HashMap<String, List<?>>(4) : new HashMap<>(entries);
+            updated.put(localKey, result);
+            return updated;
+        });
+    }
+
+    /**
+     * 같은 해시 키, 같은 세그먼트 구간의 DB 조회를 노드 안에서 하나로 합칩니다.
+     *
+     * @param segments   채울 세그먼트 (오름차순으로 이어진 구간)
+     * @param background 미리 채우기 여부 (다른 조회가 진행 중이면 기다리지 않고 {@code null} 반환)
+     * @return 세그먼트 구간의 기간별 {걸음 수, 거리, 칼로리} 합계
+     */
+    private <T> TreeMap<String, long[]> loadOnce(HealthCacheFamily family, String hashKey, String recordKey,
+                                                 List<String> segments, Source<T> source, boolean background) {
+        String flightKey = flightKey(hashKey, segments);
+        var mine = new CompletableFuture<TreeMap<String, long[]>>();
+        var running = loading.putIfAbsent(flightKey, mine);
+        if (running != null) {
+            if (background) return null;
+            var shared = await(running);
+            if (shared != null) {
+                counters.get(family).coalescedLoads().increment();
+                return shared;
+            }
+            // 먼저 시작한 것이 다른 노드에 양보한 미리 채우기였으면 직접 조회
+            return loadAcrossNodes(family, hashKey, recordKey, segments, source, false);
+        }
+
+        try {
+            var loaded = loadAcrossNodes(family, hashKey, recordKey, segments, source, background);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(flightKey, mine);
+        }
+    }
+
+    /**
+     * 채우기 락을 얻은 노드만 DB를 읽습니다. 락을 얻지 못하면 다른 노드가 세그먼트를 채우기를 기다렸다가 읽고,
+     * {@code health.cache.lock.wait} 안에 채워지지 않으면(락 보유 노드의 채우기 생략/장애) 직접 DB를 읽습니다.
+     */
+    private <T> TreeMap<String, long[]> loadAcrossNodes(HealthCacheFamily family, String hashKey, String recordKey,
+                                                        List<String> segments, Source<T> source, boolean background) {
+        String lockKey = LOCK_KEY + flightKey(hashKey, segments);
+        String token = UUID.randomUUID().toString();
+        boolean locked = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl));
+        if (!locked) {
+            // 다른 노드가 이미 채우는 중
+            if (background) return null;
+            var filled = awaitFill(family, hashKey, lockKey, segments);
+            if (filled != null) {
+                counters.get(family).peerLoads().increment();
+                return filled;
+            }
+            log.debug("[CACHE LOCK WAIT TIMEOUT] key={}", lockKey);
+        }
+
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY + recordKey);
+            long started = System.nanoTime();
+            var loaded = new TreeMap<String, long[]>();
+            for (T dto : source.load().apply(firstPeriod(family, segments), lastPeriod(family, segments))) {
+                loaded.put(source.periodOf().apply(dto), source.totalsOf().apply(dto));
+            }
+            long computeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            counters.get(family).dbLoads().increment();
+
+            fill(family, hashKey, recordKey, version, segments, loaded, computeMillis);
+            return loaded;
+        } finally {
+            if (locked) {
+                redisTemplate.execute(UNLOCK, List.of(lockKey), token);
+            }
+        }
+    }
+
+    /**
+     * @return 다른 노드가 채운 세그먼트 구간의 합계, 락이 풀렸는데 채워지지 않았거나 기다리는 시간이 지나면 {@code null}
+     */
+    private TreeMap<String, long[]> awaitFill(HealthCacheFamily family, String hashKey, String lockKey,
+                                              List<String> segments) {
+        var markers = new ArrayList<Object>(segments.size());
+        segments.forEach(segment -> markers.add(SEGMENT_FIELD + segment));
+        long deadline = System.nanoTime() + lockWait.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (!redisTemplate.opsForHash().multiGet(hashKey, markers).contains(null)) {
+                return readFilled(family, hashKey, segments);
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 세그먼트들의 전체 기간 합계, 그 사이 삭제되어 없는 세그먼트가 있으면 {@code null}
+     */
+    private TreeMap<String, long[]> readFilled(HealthCacheFamily family, String hashKey, List<String> segments) {
+        var totals = new TreeMap<String, long[]>();
+        var cached = readCached(family, hashKey, segments, firstPeriod(family, segments), lastPeriod(family, segments),
+                totals);
+        return cached.missing().isEmpty() ? totals : null;
+    }
+
+    private static String firstPeriod(HealthCacheFamily family, List<String> segments) {
+        return family.periods(segments.get(0)).get(0);
+    }
+
+    private static String lastPeriod(HealthCacheFamily family, List<String> segments) {
+        var periods = family.periods(segments.get(segments.size() - 1));
+        return periods.get(periods.size() - 1);
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * XFetch: 남은 시간이 (다시 계산하는 데 걸린 시간 × beta × -ln(난수))보다 짧으면 미리 채웁니다.
+     * 다시 계산하는 데 오래 걸리는 키일수록, 만료가 가까울수록 미리 채울 확률이 높습니다.
+     *
+     * @param loaded 세그먼트 표시 필드({@value #SEGMENT_FIELD}{세그먼트}) 값
+     */
+    private boolean expiresSoon(String loaded) {
+        int separator = loaded.indexOf(':');
+        if (earlyRefreshBeta <= 0 || separator < 0) return false;
+
+        long expiresAt = Long.parseLong(loaded, 0, separator, 10);
+        long computeMillis = Long.parseLong(loaded, separator + 1, loaded.length(), 10);
+        double gap = -computeMillis * earlyRefreshBeta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= expiresAt;
+    }
+
+    /**
+     * 세그먼트 구간을 백그라운드에서 다시 채웁니다. 이미 대기 중이거나 대기열이 가득 차면 무시합니다.
+     */
+    private <T> void refreshEarly(HealthCacheFamily family, String hashKey, String recordKey,
+                                  List<String> segments, Source<T> source) {
+        String flightKey = flightKey(hashKey, segments);
+        if (!refreshing.add(flightKey)) return;
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    if (loadOnce(family, hashKey, recordKey, segments, source, true) != null) {
+                        counters.get(family).earlyRefreshes().increment();
+                        log.debug("[CACHE EARLY REFRESH] key={}", flightKey);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("[CACHE EARLY REFRESH FAILED] key={} reason={}", flightKey, e.getMessage());
+                } finally {
+                    refreshing.remove(flightKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(flightKey);
+        }
+    }
+
+    /**
+     * DB에서 읽은 세그먼트 구간의 합계와 세그먼트 표시 필드를 채웁니다.
+     *
+     * @param computeMillis DB에서 읽는 데 걸린 시간 (미리 채우기 확률 계산에 사용)
+     */
+    private void fill(HealthCacheFamily family, String hashKey, String recordKey, String version,
+                      List<String> segments, TreeMap<String, long[]> totals, long computeMillis) {
+        var fields = new ArrayList<String>(segments.size() * 2 + totals.size() * 6);
+        String marker = (System.currentTimeMillis() + family.ttl.toMillis()) + ":" + Math.max(computeMillis, 1);
+        for (String segment : segments) {
+            fields.add(SEGMENT_FIELD + segment);
+            fields.add(marker);
+        }
+        totals.forEach((period, t) -> {
+            fields.add(period + STEPS);
+            fields.add(String.valueOf(t[0]));
+            fields.add(period + DISTANCE);
+            fields.add(String.valueOf(t[1]));
+            fields.add(period + CALORIES);
+            fields.add(String.valueOf(t[2]));
+        });
+        fill(family, hashKey, recordKey, version, fields);
+    }
+
+    /**
+     * 읽기 시작 이후 업로드가 없었을 때만 필드를 씁니다.
+     *
+     * @param version 읽기 시작 시점의 사용자 캐시 버전
+     * @param fields  field, value 쌍
+     */
+    private void fill(HealthCacheFamily family, String hashKey, String recordKey, String version, List<String> fields) {
+        var args = new ArrayList<String>(2 + fields.size());
+        args.add(Objects.toString(version, ""));
+        args.add(String.valueOf(family.ttl.toSeconds()));
+        args.addAll(fields);
+
+        Long filled = redisTemplate.execute(FILL,
+                List.of(hashKey, VERSION_KEY + recordKey, PENDING_KEY + recordKey), args.toArray());
+        if (filled == null || filled == 0) {
+            log.debug("[CACHE FILL SKIP] key={} (조회 중 업로드 발생 또는 진행 중)", hashKey);
+        }
+    }
+
+    private static void accumulate(TreeMap<String, long[]> totals, String field, String value) {
+        String period = field.substring(0, field.length() - 2);
+        long[] t = totals.computeIfAbsent(period, p -> new long[3]);
+        switch (field.substring(field.length() - 2)) {
+            case STEPS -> t[0] = Long.parseLong(value);
+            case DISTANCE -> t[1] = Long.parseLong(value);
+            case CALORIES -> t[2] = Long.parseLong(value);
+            default -> throw new IllegalStateException("Unknown cache field: " + field);
+        }
+    }
+
+    /**
+     * 기간 오름차순 합계에서 구간/커서/개수 조건에 맞는 부분만 응답으로 변환합니다.
+     * (개수 제한이 있으면 읽은 세그먼트에 제한보다 많은 기간이 있을 수 있음)
+     * ISO 날짜(YYYY-MM-DD)와 연-월(YYYY-MM) 문자열은 사전 순서가 시간 순서와 같습니다.
+     */
+    private static <T> List<T> slice(TreeMap<String, long[]> totals, HealthRange<?> range,
+                                     BiFunction<String, long[], T> toDto) {
+        String from = Objects.toString(range.from(), null);
+        String to = Objects.toString(range.to(), null);
+        String after = Objects.toString(range.after(), null);
+
+        var result = new ArrayList<T>();
+        for (var e : totals.entrySet()) {
+            String period = e.getKey();
+            if (from != null && period.compareTo(from) < 0) continue;
+            if (after != null && period.compareTo(after) <= 0) continue;
+            if (to != null && period.compareTo(to) > 0) break;
+            if (range.limit() != null && result.size() >= range.limit()) break;
+            result.add(toDto.apply(period, e.getValue()));
+        }
+        return result;
+    }
+
+    private static String dailyPeriod(HealthDailyResponse d) {
+        return d.getDaily().toString();
+    }
+
+    private static long[] dailyTotals(HealthDailyResponse d) {
+        return new long[]{d.getSteps(), unscaled(d.getDistance(), DISTANCE_SCALE), unscaled(d.getCalories(), CALORIES_SCALE)};
+    }
+
+    private static long[] monthlyTotals(HealthMonthlyResponse m) {
+        return new long[]{m.getSteps(), unscaled(m.getDistance(), DISTANCE_SCALE), unscaled(m.getCalories(), CALORIES_SCALE)};
+    }
+
+    private static void addIncrements(List<String> args, String period, HealthTotals delta) {
+        args.add(period + STEPS);
+        args.add(String.valueOf(delta.steps()));
+        args.add(period + DISTANCE);
+        args.add(String.valueOf(unscaled(delta.distance(), DISTANCE_SCALE)));
+        args.add(period + CALORIES);
+        args.add(String.valueOf(unscaled(delta.calories(), CALORIES_SCALE)));
+    }
+
+    /**
+     * 컬럼 스케일의 값을 정수로 변환합니다. (예: 7.5km → 7500)
+     */
+    private static long unscaled(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    private void invalidateLocal(String recordKey) {
+        invalidations.incrementAndGet(stripe(recordKey));
+        local.invalidate(recordKey);
+    }
+
+    /**
+     * @return 해시 키와 세그먼트 구간 (single-flight, 채우기 락, 미리 채우기 중복 제거 키)
+     */
+    private static String flightKey(String hashKey, List<String> segments) {
+        return hashKey + "::" + segments.get(0) + "~" + segments.get(segments.size() - 1);
+    }
+
+    private static int stripe(String recordKey) {
+        return Math.floorMod(recordKey.hashCode(), EPOCH_STRIPES);
+    }
+
+    private static List<String> keys(String recordKey) {
+        return List.of(HealthCacheFamily.DAILY.prefix + recordKey,
+                HealthCacheFamily.MONTHLY.prefix + recordKey,
+                VERSION_KEY + recordKey,
+                PENDING_KEY + recordKey);
+    }
+
+    private static RedisScript<Long> script(String path) {
+        return RedisScript.of(new ClassPathResource(path), Long.class);
+    }
+}
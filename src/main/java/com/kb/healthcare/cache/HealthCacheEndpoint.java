@@ -0,0 +1,22 @@
+package com.kb.healthcare.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 헬스 통계 캐시의 계층별 적중/미스 횟수를 노출하는 actuator 엔드포인트 ({@code /actuator/healthcache})
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "healthcache")
+public class HealthCacheEndpoint {
+
+    private final HealthAggregateCache cache;
+
+    @ReadOperation
+    public HealthCacheStats stats() {
+        return cache.stats();
+    }
+}
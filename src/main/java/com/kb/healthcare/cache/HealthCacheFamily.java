@@ -0,0 +1,139 @@
+package com.kb.healthcare.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 헬스 통계 캐시 종류
+ *
+ * <p>Redis에는 사용자별 해시({@code prefix + recordKey}) 하나에 날짜/월마다
+ * {@code {기간}:s}(걸음 수), {@code {기간}:d}(거리, m 단위 정수), {@code {기간}:c}(칼로리, 0.01kcal 단위 정수)
+ * 필드로 저장합니다.</p>
+ *
+ * <p>해시는 세그먼트(일간은 한 달, 월간은 한 해) 단위로 채우며, 채운 세그먼트마다 {@code ~{세그먼트}} 표시 필드를 둡니다.
+ * 세그먼트는 기간 문자열의 앞부분({@link #segmentOf})이므로 Lua 스크립트에서도 같은 방식으로 구합니다.</p>
+ */
+public enum HealthCacheFamily {
+    DAILY("health:daily:hash::", Duration.ofHours(6), 7, 31) {
+        @Override
+        public List<String> periods(String segment) {
+            YearMonth month = YearMonth.parse(segment);
+            var days = new ArrayList<String>(month.lengthOfMonth());
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                days.add(month.atDay(day).toString());
+            }
+            return days;
+        }
+
+        @Override
+        public String next(String segment) {
+            return YearMonth.parse(segment).plusMonths(1).toString();
+        }
+
+        @Override
+        public String previous(String segment) {
+            return YearMonth.parse(segment).minusMonths(1).toString();
+        }
+
+        @Override
+        public String successor(String period) {
+            return LocalDate.parse(period).plusDays(1).toString();
+        }
+
+        @Override
+        public String current() {
+            return LocalDate.now(KST).toString();
+        }
+    },
+    MONTHLY("health:monthly:hash::", Duration.ofHours(24), 4, 12) {
+        @Override
+        public List<String> periods(String segment) {
+            Year year = Year.parse(segment);
+            var months = new ArrayList<String>(12);
+            for (int month = 1; month <= 12; month++) {
+                months.add(year.atMonth(month).toString());
+            }
+            return months;
+        }
+
+        @Override
+        public String next(String segment) {
+            return Year.parse(segment).plusYears(1).toString();
+        }
+
+        @Override
+        public String previous(String segment) {
+            return Year.parse(segment).minusYears(1).toString();
+        }
+
+        @Override
+        public String successor(String period) {
+            return YearMonth.parse(period).plusMonths(1).toString();
+        }
+
+        @Override
+        public String current() {
+            return YearMonth.now(KST).toString();
+        }
+    };
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /**
+     * 캐시 키 접두사
+     */
+    public final String prefix;
+
+    /**
+     * Redis TTL
+     */
+    public final Duration ttl;
+
+    /**
+     * 기간 문자열에서 세그먼트를 나타내는 앞부분 길이 (YYYY-MM 또는 YYYY)
+     */
+    public final int segmentLength;
+
+    /**
+     * 세그먼트 하나의 최대 기간 수
+     */
+    public final int periodsPerSegment;
+
+    HealthCacheFamily(String prefix, Duration ttl, int segmentLength, int periodsPerSegment) {
+        this.prefix = prefix;
+        this.ttl = ttl;
+        this.segmentLength = segmentLength;
+        this.periodsPerSegment = periodsPerSegment;
+    }
+
+    /**
+     * @return 기간(YYYY-MM-DD 또는 YYYY-MM)이 속한 세그먼트
+     */
+    public String segmentOf(String period) {
+        return period.substring(0, segmentLength);
+    }
+
+    /**
+     * @return 세그먼트의 모든 기간 (오름차순)
+     */
+    public abstract List<String> periods(String segment);
+
+    public abstract String next(String segment);
+
+    public abstract String previous(String segment);
+
+    /**
+     * @return 다음 날짜 또는 다음 달
+     */
+    public abstract String successor(String period);
+
+    /**
+     * @return KST 기준 오늘 날짜 또는 이번 달 (종료가 없는 조회의 상한)
+     */
+    public abstract String current();
+}
@@ -0,0 +1,19 @@
+package com.kb.healthcare.cache;
+
+/**
+ * 2단계 캐시의 계층별 적중/미스 횟수
+ *
+ * @param l1Hits   로컬(in-process) 캐시 적중 횟수
+ * @param l1Misses 로컬 캐시 미스 횟수
+ * @param l2Hits   Redis 캐시 적중 횟수
+ * @param l2Misses Redis 캐시 미스 횟수 (DB 조회 발생)
+ * @param l1Size   로컬 캐시에 보관 중인 조회 결과 수 (추정치)
+ */
+public record HealthCacheStats(
+        long l1Hits,
+        long l1Misses,
+        long l2Hits,
+        long l2Misses,
+        long l1Size
+) {
+}
@@ -0,0 +1,38 @@
+package com.kb.healthcare.cache;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * 캐시 미스 시 DB에서 한 사용자의 일간/월간 집계를 구간 단위로 읽는 함수
+ *
+ * @param <P> 날짜({@link java.time.LocalDate}) 또는 연-월({@link java.time.YearMonth})
+ * @param <T> 응답 DTO
+ */
+public interface HealthSeriesLoader<P, T> {
+
+    /**
+     * @return from~to(모두 포함) 구간의 집계 (기간 오름차순)
+     */
+    List<T> load(P from, P to);
+
+    /**
+     * @return 가장 이른 기간, 데이터가 없으면 {@code null}
+     */
+    P first();
+
+    static <P, T> HealthSeriesLoader<P, T> of(BiFunction<P, P, List<T>> load, Supplier<P> first) {
+        return new HealthSeriesLoader<>() {
+            @Override
+            public List<T> load(P from, P to) {
+                return load.apply(from, to);
+            }
+
+            @Override
+            public P first() {
+                return first.get();
+            }
+        };
+    }
+}
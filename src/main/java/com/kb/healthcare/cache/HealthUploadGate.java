@@ -0,0 +1,96 @@
+package com.kb.healthcare.cache;
+
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 사용자별 업로드 게이트
+ *
+ * <p>lastUpdate 비교와 업로드 예약을 Redis 스크립트 한 번으로 원자적으로 수행하여, 같은 기기에서 동시에 들어온
+ * 중복 동기화 중 하나만 DB 작업을 하도록 합니다. 예약한 업로드가 커밋되면
+ * {@link HealthAggregateCache#commit}이 lastUpdate 반영, 예약 해제, 캐시 패치를 한 번에 수행하고,
+ * 롤백되면 {@link #release}로 예약을 해제합니다.</p>
+ */
+@Slf4j
+@Component
+public class HealthUploadGate {
+
+    /**
+     * 마지막으로 반영된 업로드의 lastUpdate(epoch 밀리초) 키 접두사
+     */
+    private static final String LASTUPDATE_KEY = "health:lastUpdate::";
+
+    /**
+     * 진행 중인 업로드 예약 해시 키 접두사 (필드: token, lastUpdate)
+     */
+    private static final String RESERVATION_KEY = "health:upload:reservation::";
+
+    private static final RedisScript<Long> RESERVE =
+            RedisScript.of(new ClassPathResource("redis/health-upload-reserve.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE =
+            RedisScript.of(new ClassPathResource("redis/health-upload-release.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 커밋/롤백 후처리가 실행되지 못한 경우(프로세스 종료 등)에도 사용자의 업로드가 영구히 막히지 않도록 하는 TTL
+     */
+    private final Duration reservationTtl;
+
+    public HealthUploadGate(StringRedisTemplate redisTemplate,
+                            @Value("${health.upload.reservation-ttl:5m}") Duration reservationTtl) {
+        this.redisTemplate = redisTemplate;
+        this.reservationTtl = reservationTtl;
+    }
+
+    /**
+     * 업로드 예약
+     *
+     * @param recordKey        사용자 식별 키
+     * @param lastUpdateMillis 요청의 lastUpdate (epoch 밀리초)
+     */
+    public record Reservation(String recordKey, String token, long lastUpdateMillis) {
+    }
+
+    /**
+     * 요청의 lastUpdate가 이미 반영된 값과 진행 중인 업로드보다 새로우면 업로드를 예약합니다.
+     *
+     * @return 예약, 같거나 오래된 요청이면 {@code null}
+     * @throws CustomException 더 오래된 다른 업로드가 진행 중인 경우 ({@link ErrorCode#UPLOAD_IN_PROGRESS})
+     */
+    public Reservation reserve(String recordKey, long lastUpdateMillis) {
+        String token = UUID.randomUUID().toString();
+        Long result = redisTemplate.execute(RESERVE,
+                List.of(LASTUPDATE_KEY + recordKey, RESERVATION_KEY + recordKey),
+                String.valueOf(lastUpdateMillis), token, String.valueOf(reservationTtl.toMillis()));
+
+        if (result == null || result == 0) {
+            return null;
+        }
+        if (result < 0) {
+            throw new CustomException(ErrorCode.UPLOAD_IN_PROGRESS);
+        }
+        return new Reservation(recordKey, token, lastUpdateMillis);
+    }
+
+    /**
+     * 롤백된 업로드의 예약을 해제합니다. lastUpdate는 바꾸지 않습니다.
+     */
+    public void release(Reservation reservation) {
+        redisTemplate.execute(RELEASE, List.of(RESERVATION_KEY + reservation.recordKey()), reservation.token());
+    }
+
+    static List<String> keys(Reservation reservation) {
+        return List.of(LASTUPDATE_KEY + reservation.recordKey(), RESERVATION_KEY + reservation.recordKey());
+    }
+}
@@ -0,0 +1,133 @@
+package com.kb.healthcare.config;
+
+import com.kb.healthcare.datasource.HealthShardProperties;
+import com.kb.healthcare.datasource.ReadWriteRoutingDataSource;
+import com.kb.healthcare.datasource.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원본/복제본, 샤드 DataSource 구성
+ *
+ * <p>{@code spring.datasource.replica.url}이 있거나 {@code health.sharding.enabled=true}일 때만 적용되며,
+ * 둘 다 없으면 Spring Boot 기본 DataSource 하나를 사용합니다.</p>
+ *
+ * <ul>
+ *   <li>원본은 {@code spring.datasource}, 복제본은 {@code spring.datasource.replica} 설정으로 각각 Hikari 풀을 만들고
+ *   {@link ReadWriteRoutingDataSource}로 묶습니다 (0번 샤드).</li>
+ *   <li>샤딩을 사용하면 {@code health.sharding.shards}마다 Hikari 풀을 만들어 1번 샤드부터 차례로
+ *   {@link ShardRoutingDataSource}로 묶습니다 (복제본은 0번 샤드에만 적용).</li>
+ * </ul>
+ *
+ * <p>애플리케이션(JPA, JdbcTemplate)에는 이를 {@link LazyConnectionDataSourceProxy}로 감싼 DataSource 하나만 노출하여,
+ * 트랜잭션의 읽기 전용 여부와 샤드가 정해진 뒤 첫 SQL 시점에 커넥션을 고릅니다.</p>
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.replica.url:}' != '' or ${health.sharding.enabled:false}")
+public class DataSourceConfig {
+
+    /**
+     * 샤드 번호 순서의 DataSource (재분배 도구처럼 샤드를 직접 다뤄야 하는 경우에 사용)
+     */
+    public record ShardDataSources(List<DataSource> dataSources) implements AutoCloseable {
+
+        /**
+         * 1번 이후 샤드의 커넥션 풀을 닫습니다. (0번은 빈으로 등록된 풀)
+         */
+        @Override
+        public void close() {
+            dataSources.stream().skip(1)
+                    .filter(HikariDataSource.class::isInstance)
+                    .forEach(dataSource -> ((HikariDataSource) dataSource).close());
+        }
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryDataSourceProperties) {
+        return primaryDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.datasource.replica.url")
+    @ConfigurationProperties("spring.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.datasource.replica.url")
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(@Qualifier("primaryDataSource") DataSource primary,
+                                             @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                             HealthShardProperties shardProperties,
+                                             MeterRegistry meterRegistry) {
+        var shards = new ArrayList<DataSource>();
+        DataSource replicaDataSource = replica.getIfAvailable();
+        if (replicaDataSource == null) {
+            shards.add(primary);
+        } else {
+            var routing = new ReadWriteRoutingDataSource(primary, replicaDataSource, meterRegistry);
+            routing.afterPropertiesSet();
+            shards.add(routing);
+        }
+
+        if (shardProperties.enabled()) {
+            var configured = shardProperties.shards();
+            for (int i = 0; i < configured.size(); i++) {
+                var shard = configured.get(i);
+                var dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + (i + 1));
+                dataSource.setJdbcUrl(shard.url());
+                dataSource.setUsername(shard.username());
+                dataSource.setPassword(shard.password());
+                dataSource.setMaximumPoolSize(shard.maximumPoolSize());
+                shards.add(dataSource);
+            }
+        }
+        return new ShardDataSources(List.copyOf(shards));
+    }
+
+    /**
+     * 트랜잭션이 시작되어 읽기 전용 여부와 샤드가 정해진 뒤, 첫 SQL 실행 시점에 커넥션을 고릅니다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        var shards = shardDataSources.dataSources();
+        if (shards.size() == 1) {
+            return new LazyConnectionDataSourceProxy(shards.get(0));
+        }
+        var routing = new ShardRoutingDataSource(shards);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -3,13 +3,25 @@ package com.kb.healthcare.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kb.healthcare.cache.HealthAggregateCache;
+import com.kb.healthcare.security.JwtDenylist;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -20,12 +32,38 @@ import java.time.Duration;
 @EnableCaching
 public class RedisConfig {
 
+    /**
+     * Redis 명령 종류별 응답 시간을 Micrometer로 기록 ({@code lettuce.command.completion}, {@code lettuce.command.firstresponse})
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(MeterRegistry meterRegistry) {
+        return ClientResources.builder()
+                .commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry,
+                        MicrometerOptions.builder().histogram(true).build()))
+                .build();
+    }
+
+    /**
+     * 모든 스레드가 공유하는 단일 Lettuce 연결 (가상 스레드 수천 개가 동시에 사용해도 연결 수가 늘지 않음)
+     */
     @Bean
-    public LettuceConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory();
+    public LettuceConnectionFactory redisConnectionFactory(@Value("${spring.data.redis.host:localhost}") String host,
+                                                           @Value("${spring.data.redis.port:6379}") int port,
+                                                           @Value("${spring.data.redis.timeout:2s}") Duration timeout,
+                                                           ClientResources lettuceClientResources) {
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .clientResources(lettuceClientResources)
+                .commandTimeout(timeout)
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port), clientConfig);
     }
 
-    private ObjectMapper redisObjectMapper() {
+    /**
+     * 캐시 값 직렬화용 ObjectMapper (JMH 벤치마크에서도 같은 설정을 사용)
+     *
+     * <p>Redis에서 읽은 데이터가 임의의 클래스를 고르지 않도록 기본 타입 정보(default typing)를 쓰지 않습니다.</p>
+     */
+    static ObjectMapper redisObjectMapper() {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
@@ -45,6 +83,25 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * 다른 노드가 발행한 L1 캐시 무효화, 토큰 폐기 메시지 구독
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(LettuceConnectionFactory connectionFactory,
+                                                                       HealthAggregateCache healthAggregateCache,
+                                                                       JwtDenylist jwtDenylist,
+                                                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-listener-");
+        executor.setVirtualThreads(virtualThreads);
+        container.setTaskExecutor(executor);
+        container.addMessageListener(healthAggregateCache,
+                new ChannelTopic(HealthAggregateCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(jwtDenylist, new ChannelTopic(JwtDenylist.REVOKE_CHANNEL));
+        return container;
+    }
+
     @Bean
     public RedisCacheManager cacheManager(LettuceConnectionFactory connectionFactory) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
@@ -3,35 +3,45 @@ package com.kb.healthcare.controller;
 import com.kb.healthcare.dto.auth.LoginRequest;
 import com.kb.healthcare.dto.auth.LoginResponse;
 import com.kb.healthcare.dto.auth.SignupRequest;
+import com.kb.healthcare.security.CustomUserDetails;
 import com.kb.healthcare.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
-@Tag(name = "Auth", description = "회원가입 및 로그인 API")
+@Tag(name = "Auth", description = "회원가입, 로그인 및 로그아웃 API")
 public class AuthController {
 
     private final AuthService authService;
 
     @PostMapping("/signup")
     @Operation(summary = "회원가입")
-    public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest req) {
-        authService.signup(req);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> signup(@Valid @RequestBody SignupRequest req) {
+        return authService.signup(req).thenApply(v -> ResponseEntity.ok().build());
     }
 
     @PostMapping("/login")
     @Operation(summary = "로그인")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
-        return ResponseEntity.ok(authService.login(req));
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest req) {
+        return authService.login(req).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "로그아웃 (발급된 모든 토큰 폐기)")
+    public ResponseEntity<?> logout(@AuthenticationPrincipal CustomUserDetails user) {
+        authService.logout(user);
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
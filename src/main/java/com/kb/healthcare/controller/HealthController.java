@@ -4,19 +4,32 @@ import com.kb.healthcare.dto.health.HealthDailyResponse;
 import com.kb.healthcare.dto.health.HealthMonthlyResponse;
 import com.kb.healthcare.dto.health.HealthUploadRequest;
 import com.kb.healthcare.dto.health.HealthUploadResponse;
+import com.kb.healthcare.dto.health.HealthUploadStatusResponse;
+import com.kb.healthcare.ingest.HealthUploadQueue;
 import com.kb.healthcare.security.CustomUserDetails;
+import com.kb.healthcare.service.HealthRange;
 import com.kb.healthcare.service.HealthService;
 import com.kb.healthcare.support.CustomException;
 import com.kb.healthcare.support.ErrorCode;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/health")
@@ -24,11 +37,17 @@ import java.util.List;
 @Tag(name = "Health", description = "헬스 데이터 업로드 및 조회 API")
 public class HealthController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final long MAX_PAGE_SIZE = 1000;
+
     private final HealthService healthService;
+    private final ObjectProvider<HealthUploadQueue> uploadQueue;
 
     @PostMapping("/upload")
-    @Operation(summary = "헬스 데이터 업로드", description = "사용자의 헬스 데이터를 서버로 업로드합니다.")
-    public ResponseEntity<HealthUploadResponse> upload(
+    @Operation(summary = "헬스 데이터 업로드",
+            description = "사용자의 헬스 데이터를 서버로 업로드합니다. 비동기 모드(health.upload.async.enabled)에서는 "
+                    + "요청을 큐에 넣고 202와 업로드 ID를 바로 반환하며, 처리 결과는 GET /api/health/upload/{uploadId}로 조회합니다.")
+    public ResponseEntity<?> upload(
             @AuthenticationPrincipal CustomUserDetails user,
             @Valid @RequestBody HealthUploadRequest req
     ) {
@@ -36,19 +55,101 @@ public class HealthController {
             throw new CustomException(ErrorCode.FORBIDDEN);
         }
 
+        HealthUploadQueue queue = uploadQueue.getIfAvailable();
+        if (queue != null) {
+            var accepted = queue.submit(req);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/health/upload/" + accepted.uploadId()))
+                    .body(accepted);
+        }
+
         int count = healthService.upload(req);
         return ResponseEntity.ok(new HealthUploadResponse(req.recordKey(), count));
     }
 
+    @GetMapping("/upload/{uploadId}")
+    @Operation(summary = "비동기 업로드 상태 조회", description = "비동기 모드로 접수된 업로드의 처리 상태를 조회합니다.")
+    public ResponseEntity<HealthUploadStatusResponse> getUploadStatus(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @PathVariable String uploadId
+    ) {
+        HealthUploadQueue queue = uploadQueue.getIfAvailable();
+        if (queue == null) {
+            throw new CustomException(ErrorCode.UPLOAD_NOT_FOUND);
+        }
+        return ResponseEntity.ok(queue.status(uploadId, user.getRecordKey()));
+    }
+
+    @PostMapping(value = "/upload", params = "mode=stream")
+    @Operation(summary = "헬스 데이터 스트리밍 업로드",
+            description = "요청 본문 형식은 일반 업로드와 같으며, 본문 전체를 메모리에 올리지 않고 항목을 읽는 대로 나누어 저장합니다. "
+                    + "lastUpdate를 data보다 앞에 보내면 오래된 요청의 항목을 읽지 않고 건너뜁니다.")
+    public ResponseEntity<HealthUploadResponse> uploadStream(
+            @AuthenticationPrincipal CustomUserDetails user,
+            InputStream body
+    ) {
+        // recordkey 검증은 본문을 읽으면서 수행 (불일치 시 FORBIDDEN, 저장한 내용은 롤백)
+        int count = healthService.uploadStream(user.getRecordKey(), body);
+        return ResponseEntity.ok(new HealthUploadResponse(user.getRecordKey(), count));
+    }
+
     @GetMapping("/daily")
-    @Operation(summary = "일간 헬스 데이터 조회", description = "사용자의 하루 단위 헬스 데이터를 조회합니다.")
-    public ResponseEntity<List<HealthDailyResponse>> getDaily(@AuthenticationPrincipal CustomUserDetails user) {
-        return ResponseEntity.ok(healthService.getDaily(user.getRecordKey()));
+    @Operation(summary = "일간 헬스 데이터 조회",
+            description = "사용자의 하루 단위 헬스 데이터를 조회합니다. 다음 페이지가 있으면 X-Next-Cursor 헤더로 커서를 반환합니다.")
+    public ResponseEntity<List<HealthDailyResponse>> getDaily(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @Parameter(description = "조회 시작일 (포함)", example = "2025-10-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "조회 종료일 (포함)", example = "2025-10-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "이전 응답의 X-Next-Cursor 값", example = "2025-10-15")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursor,
+            @Parameter(description = "페이지 크기", example = "30")
+            @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer size
+    ) {
+        var range = range(from, to, cursor, size);
+        return page(healthService.getDaily(user.getRecordKey(), range), size, HealthDailyResponse::getDaily);
     }
 
     @GetMapping("/monthly")
-    @Operation(summary = "월간 헬스 데이터 조회", description = "사용자의 하루 단위 헬스 데이터를 조회합니다.")
-    public ResponseEntity<List<HealthMonthlyResponse>> getMonthly(@AuthenticationPrincipal CustomUserDetails user) {
-        return ResponseEntity.ok(healthService.getMonthly(user.getRecordKey()));
+    @Operation(summary = "월간 헬스 데이터 조회",
+            description = "사용자의 월 단위 헬스 데이터를 조회합니다. 다음 페이지가 있으면 X-Next-Cursor 헤더로 커서를 반환합니다.")
+    public ResponseEntity<List<HealthMonthlyResponse>> getMonthly(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @Parameter(description = "조회 시작 연-월 (포함)", example = "2025-01")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "조회 종료 연-월 (포함)", example = "2025-12")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @Parameter(description = "이전 응답의 X-Next-Cursor 값", example = "2025-06")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth cursor,
+            @Parameter(description = "페이지 크기", example = "12")
+            @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer size
+    ) {
+        var range = range(from, to, cursor, size);
+        return page(healthService.getMonthly(user.getRecordKey(), range), size, HealthMonthlyResponse::getMonthly);
+    }
+
+    /**
+     * 다음 페이지 존재 여부를 알 수 있도록 요청 크기보다 하나 더 조회합니다.
+     */
+    private static <T extends Comparable<? super T>> HealthRange<T> range(T from, T to, T cursor, Integer size) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new CustomException(ErrorCode.INVALID_RANGE);
+        }
+        if (from == null && to == null && cursor == null && size == null) {
+            return HealthRange.all();
+        }
+        return new HealthRange<>(from, to, cursor, size == null ? null : size + 1);
+    }
+
+    private static <T> ResponseEntity<List<T>> page(List<T> items, Integer size, Function<T, Object> cursorOf) {
+        if (size == null || items.size() <= size) {
+            return ResponseEntity.ok(items);
+        }
+
+        var content = items.subList(0, size);
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, String.valueOf(cursorOf.apply(content.get(size - 1))))
+                .body(content);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.kb.healthcare.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 헬스 데이터 샤딩 설정 ({@code health.sharding})
+ *
+ * <p>0번 샤드는 {@code spring.datasource}(사용자 테이블 포함)이고, {@code shards}는 1번 샤드부터 차례로 나열합니다.</p>
+ *
+ * @param enabled   샤딩 사용 여부 (false면 모든 데이터가 {@code spring.datasource}에 있음)
+ * @param shards    1번 이후 샤드의 접속 정보
+ * @param overrides 해시 대신 지정한 샤드를 사용할 recordKey (재분배 도구로 옮긴 사용자)
+ */
+@ConfigurationProperties("health.sharding")
+public record HealthShardProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue Map<String, Integer> overrides
+) {
+
+    /**
+     * @param maximumPoolSize 샤드 커넥션 풀 크기
+     */
+    public record Shard(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("20") int maximumPoolSize
+    ) {
+    }
+
+    public ShardMap shardMap() {
+        return new ShardMap(enabled ? 1 + shards.size() : 1, enabled ? overrides : Map.of());
+    }
+}
@@ -0,0 +1,195 @@
+package com.kb.healthcare.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자의 헬스 데이터를 한 샤드에서 다른 샤드로 옮기는 오프라인 재분배 도구
+ *
+ * <p>업로드를 멈춘 상태에서 실행해야 합니다. 사용자 한 명마다 대상 샤드의 한 트랜잭션에서
+ * 기존 데이터를 지우고(중단 후 재실행 대비) 원본 항목, 압축 레코드, 일간/월간 집계를 복사한 뒤
+ * 테이블별 행 수와 걸음 수/거리/칼로리 합계가 원래 샤드와 같은지 확인하고 커밋합니다.
+ * 커밋 후 원래 샤드의 데이터를 {@value #BATCH_SIZE}행씩 나누어 삭제합니다.</p>
+ *
+ * <p>옮긴 뒤에는 설정의 샤드 맵이 대상 샤드를 가리켜야 합니다 (샤드 수를 늘린 경우 해시가 이미 가리키고,
+ * 특정 사용자만 옮긴 경우 {@code health.sharding.overrides}에 추가).</p>
+ */
+@Slf4j
+public class HealthShardRebalancer {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    /**
+     * 사용자 단위로 옮기는 테이블과 id를 제외한 컬럼
+     */
+    private static final Map<String, List<String>> TABLES = tables();
+
+    private static Map<String, List<String>> tables() {
+        var tables = new LinkedHashMap<String, List<String>>();
+        tables.put("health_entry", List.of("record_key", "started_at_kst", "ended_at_kst",
+                "steps", "distance_km", "calories_kcal", "created_at", "updated_at"));
+        tables.put("health_entry_compacted", List.of("record_key", "summary_date",
+                "steps", "distance_km", "calories_kcal", "entry_count", "entries", "created_at", "updated_at"));
+        tables.put("health_daily_summary", List.of("record_key", "summary_date",
+                "steps", "distance_km", "calories_kcal", "created_at", "updated_at"));
+        tables.put("health_monthly_summary", List.of("record_key", "summary_month",
+                "steps", "distance_km", "calories_kcal", "created_at", "updated_at"));
+        return tables;
+    }
+
+    /**
+     * 모든 테이블의 사용자 목록 (집계가 아직 없거나 압축 레코드만 있는 사용자도 포함)
+     */
+    private static final String SELECT_RECORD_KEYS = String.join(" UNION ", TABLES.keySet().stream()
+            .map(table -> "SELECT record_key FROM " + table).toList()) + " ORDER BY record_key";
+
+    /**
+     * 어느 테이블에든 사용자의 행이 있는지
+     */
+    private static final String EXISTS_RECORD_KEY = "SELECT " + String.join(" OR ", TABLES.keySet().stream()
+            .map(table -> "EXISTS (SELECT 1 FROM " + table + " WHERE record_key = ?)").toList());
+
+    /**
+     * 테이블 하나의 사용자 데이터 요약 (복사 검증용)
+     */
+    record Checksum(long rows, long steps, BigDecimal distance, BigDecimal calories) {
+    }
+
+    /**
+     * @param rows 테이블별로 옮긴 행 수
+     */
+    public record Moved(String recordKey, int source, int target, Map<String, Long> rows) {
+    }
+
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+
+    /**
+     * @param shards 샤드 번호 순서의 DataSource
+     */
+    public HealthShardRebalancer(List<DataSource> shards) {
+        this.shards = shards.stream().map(JdbcTemplate::new).toList();
+        this.transactions = shards.stream()
+                .map(dataSource -> new TransactionTemplate(new DataSourceTransactionManager(dataSource)))
+                .toList();
+    }
+
+    /**
+     * 샤드에 데이터가 있지만 샤드 맵은 다른 샤드를 가리키는 사용자
+     */
+    public List<String> misplaced(int shard, ShardMap shardMap) {
+        return shards.get(shard).queryForList(SELECT_RECORD_KEYS, String.class).stream()
+                .filter(recordKey -> shardMap.shardOf(recordKey) != shard)
+                .toList();
+    }
+
+    /**
+     * 사용자의 데이터가 있는 샤드 (없으면 빈 목록)
+     */
+    public List<Integer> locate(String recordKey) {
+        var found = new ArrayList<Integer>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Boolean exists = shards.get(shard).queryForObject(EXISTS_RECORD_KEY, Boolean.class,
+                    Collections.nCopies(TABLES.size(), recordKey).toArray());
+            if (Boolean.TRUE.equals(exists)) found.add(shard);
+        }
+        return found;
+    }
+
+    /**
+     * 사용자의 데이터를 {@code source}에서 {@code target} 샤드로 옮깁니다.
+     *
+     * @throws IllegalStateException 복사한 데이터가 원래 샤드와 다른 경우 (대상 샤드는 롤백되고 원래 샤드는 그대로)
+     */
+    public Moved move(String recordKey, int source, int target) {
+        if (source == target) {
+            throw new IllegalArgumentException("source and target shard are the same: " + source);
+        }
+        JdbcTemplate from = shards.get(source);
+        JdbcTemplate to = shards.get(target);
+
+        var rows = new LinkedHashMap<String, Long>();
+        transactions.get(target).executeWithoutResult(status -> {
+            for (var table : TABLES.entrySet()) {
+                to.update("DELETE FROM " + table.getKey() + " WHERE record_key = ?", recordKey);
+                long copied = copy(from, to, table.getKey(), table.getValue(), recordKey);
+
+                var expected = checksum(from, table.getKey(), recordKey);
+                var actual = checksum(to, table.getKey(), recordKey);
+                if (!expected.equals(actual)) {
+                    throw new IllegalStateException("checksum mismatch for " + recordKey + " in " + table.getKey()
+                            + ": shard " + source + "=" + expected + ", shard " + target + "=" + actual);
+                }
+                rows.put(table.getKey(), copied);
+            }
+        });
+
+        // 한 번에 지우는 행 수를 제한하여 원래 샤드의 잠금/복제 지연을 줄임
+        for (String table : TABLES.keySet()) {
+            int deleted;
+            do {
+                deleted = from.update("DELETE FROM " + table + " WHERE record_key = ? LIMIT " + BATCH_SIZE, recordKey);
+            } while (deleted > 0);
+        }
+
+        log.info("[SHARD MOVE] recordKey={} shard {} -> {} rows={}", recordKey, source, target, rows);
+        return new Moved(recordKey, source, target, rows);
+    }
+
+    /**
+     * id 순서로 {@value #BATCH_SIZE}행씩 읽어 다중 행 INSERT로 복사합니다.
+     */
+    private static long copy(JdbcTemplate from, JdbcTemplate to, String table, List<String> columns, String recordKey) {
+        String columnList = String.join(", ", columns);
+        String select = "SELECT id, " + columnList + " FROM " + table
+                + " WHERE record_key = ? AND id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+        String placeholders = "(" + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+
+        long copied = 0;
+        long lastId = 0;
+        while (true) {
+            var batch = new ArrayList<Object[]>(BATCH_SIZE);
+            var ids = new long[1];
+            from.query(select, rs -> {
+                ids[0] = rs.getLong(1);
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 2);
+                }
+                batch.add(values);
+            }, recordKey, lastId);
+            if (batch.isEmpty()) return copied;
+
+            var sql = new StringBuilder("INSERT INTO ").append(table).append(" (").append(columnList).append(") VALUES ");
+            var args = new ArrayList<>(batch.size() * columns.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) sql.append(", ");
+                sql.append(placeholders);
+                args.addAll(Arrays.asList(batch.get(i)));
+            }
+            to.update(sql.toString(), args.toArray());
+
+            copied += batch.size();
+            lastId = ids[0];
+            if (batch.size() < BATCH_SIZE) return copied;
+        }
+    }
+
+    private static Checksum checksum(JdbcTemplate jdbcTemplate, String table, String recordKey) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*), COALESCE(SUM(steps), 0), COALESCE(SUM(distance_km), 0), "
+                        + "COALESCE(SUM(calories_kcal), 0) FROM " + table + " WHERE record_key = ?",
+                (rs, i) -> new Checksum(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3), rs.getBigDecimal(4)),
+                recordKey);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kb.healthcare.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 헬스 데이터 작업을 recordKey의 샤드에 묶는 컨텍스트
+ *
+ * <p>{@link ShardRoutingDataSource}는 커넥션을 빌릴 때 이 컨텍스트의 샤드를 사용하고, 묶이지 않은 작업
+ * (사용자/인증 등)은 0번 샤드를 사용합니다. 커넥션은 트랜잭션의 첫 SQL에서 정해지므로, 트랜잭션 안에서는
+ * SQL을 실행하기 전에 묶어야 하며 다른 샤드로 바꿀 수 없습니다 (샤드를 넘나드는 트랜잭션은 지원하지 않음).</p>
+ *
+ * <p>샤딩을 사용하지 않으면 모든 작업이 0번 샤드(기본 DataSource)에서 실행되므로 묶어도 영향이 없습니다.</p>
+ */
+@Component
+public class HealthShards {
+
+    private static final ThreadLocal<Integer> BOUND = new ThreadLocal<>();
+
+    private final ShardMap shardMap;
+
+    public HealthShards(HealthShardProperties properties) {
+        this.shardMap = properties.shardMap();
+    }
+
+    /**
+     * 현재 스레드에 묶인 샤드 번호, 묶이지 않았으면 0
+     */
+    static int current() {
+        Integer shard = BOUND.get();
+        return shard == null ? 0 : shard;
+    }
+
+    public int count() {
+        return shardMap.shardCount();
+    }
+
+    public int shardOf(String recordKey) {
+        return shardMap.shardOf(recordKey);
+    }
+
+    /**
+     * 닫을 때까지 현재 스레드를 recordKey의 샤드에 묶습니다.
+     */
+    public Scope bind(String recordKey) {
+        return bindShard(shardOf(recordKey));
+    }
+
+    /**
+     * 닫을 때까지 현재 스레드를 지정한 샤드에 묶습니다. 이미 같은 샤드에 묶여 있으면 아무것도 하지 않습니다.
+     *
+     * @throws IllegalStateException 이미 다른 샤드에 묶인 트랜잭션 안에서 샤드를 바꾸려는 경우
+     */
+    public Scope bindShard(int shard) {
+        if (shard < 0 || shard >= count()) {
+            throw new IllegalArgumentException("shard out of range: " + shard);
+        }
+        Integer previous = BOUND.get();
+        if (previous != null && previous == shard) {
+            return () -> {
+            };
+        }
+        if (previous != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("cannot switch to shard " + shard + " inside a transaction bound to shard " + previous);
+        }
+        BOUND.set(shard);
+        return () -> {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        };
+    }
+
+    /**
+     * recordKey의 샤드에서 조회합니다. (캐시 채우기처럼 다른 스레드에서 실행될 수 있는 조회를 감쌀 때 사용)
+     */
+    public <T> T on(String recordKey, Supplier<T> query) {
+        try (var ignored = bind(recordKey)) {
+            return query.get();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
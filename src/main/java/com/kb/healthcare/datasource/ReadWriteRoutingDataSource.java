@@ -0,0 +1,48 @@
+package com.kb.healthcare.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * {@code @Transactional(readOnly = true)} 트랜잭션의 커넥션은 복제본으로, 나머지는 원본으로 보내는 DataSource
+ *
+ * <p>트랜잭션의 읽기 전용 여부는 트랜잭션이 시작된 뒤에야 정해지므로, 실제 커넥션을 첫 SQL 실행 시점까지 미루는
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}로 감싸서 사용해야 합니다.
+ * 읽기 전용이어도 {@link ReplicaLagGuard}가 원본을 요구하는 구간이면 원본을 사용합니다.</p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {PRIMARY, REPLICA}
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryConnections = counter(meterRegistry, "primary");
+        this.replicaConnections = counter(meterRegistry, "replica");
+    }
+
+    private static Counter counter(MeterRegistry registry, String target) {
+        return Counter.builder("health.datasource.connections")
+                .description("대상 DataSource별로 빌려준 커넥션 수")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReplicaLagGuard.primaryRequired()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kb.healthcare.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 복제 지연 동안 자신이 쓴 데이터를 원본에서 읽도록 하는 가드
+ *
+ * <p>업로드가 커밋되면 {@link #written}으로 그 사용자를 {@code health.datasource.replica.lag-window} 동안 표시하고,
+ * 그동안 {@link #read}로 감싼 조회는 읽기 전용 트랜잭션이어도 원본에서 실행합니다. 캐시 미스 시 복제본의 지난 값으로
+ * Redis 해시를 채우면 TTL 동안 오래된 합계가 보이므로, 캐시를 채우는 조회는 반드시 {@link #read}로 감쌉니다.</p>
+ *
+ * <p>표시는 이 노드의 Caffeine 캐시와 Redis 키({@value #PIN_KEY_PREFIX}&lt;recordKey&gt;)에 함께 남겨
+ * 다른 노드의 조회도 원본을 사용합니다. Redis를 확인할 수 없으면 원본에서 읽습니다.
+ * 복제본이 설정되지 않았으면({@code spring.datasource.replica.url}) 아무것도 하지 않습니다.</p>
+ */
+@Slf4j
+@Component
+public class ReplicaLagGuard {
+
+    private static final String PIN_KEY_PREFIX = "health:primary-pin::";
+
+    /**
+     * 원본에서 읽어야 하는 구간인지 ({@link ReadWriteRoutingDataSource}가 커넥션을 고를 때 확인)
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration lagWindow;
+    private final Cache<String, Boolean> pinned;
+
+    public ReplicaLagGuard(StringRedisTemplate redisTemplate,
+                           @Value("${spring.datasource.replica.url:}") String replicaUrl,
+                           @Value("${health.datasource.replica.lag-window:5s}") Duration lagWindow,
+                           @Value("${health.datasource.replica.pinned-max-size:100000}") long pinnedMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = !replicaUrl.isBlank();
+        this.lagWindow = lagWindow;
+        this.pinned = Caffeine.newBuilder()
+                .maximumSize(pinnedMaxSize)
+                .expireAfterWrite(lagWindow)
+                .build();
+    }
+
+    static boolean primaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * 사용자의 데이터가 방금 커밋되었음을 표시합니다. (커밋 후, 캐시를 채우기 전에 호출)
+     */
+    public void written(String recordKey) {
+        if (!enabled) return;
+        pinned.put(recordKey, Boolean.TRUE);
+        try {
+            redisTemplate.opsForValue().set(PIN_KEY_PREFIX + recordKey, "1", lagWindow);
+        } catch (RuntimeException e) {
+            log.warn("[REPLICA PIN FAILED] recordKey={} reason={}", recordKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 사용자의 데이터를 조회합니다. 최근에 쓴 사용자면 원본에서 실행합니다.
+     */
+    public <T> T read(String recordKey, Supplier<T> query) {
+        if (!enabled || !recentlyWritten(recordKey)) {
+            return query.get();
+        }
+        return onPrimary(query);
+    }
+
+    /**
+     * 읽기 전용 트랜잭션이어도 원본에서 실행합니다.
+     */
+    public <T> T onPrimary(Supplier<T> query) {
+        if (primaryRequired()) return query.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    private boolean recentlyWritten(String recordKey) {
+        if (pinned.getIfPresent(recordKey) != null) return true;
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(PIN_KEY_PREFIX + recordKey));
+        } catch (RuntimeException e) {
+            log.debug("[REPLICA PIN CHECK FAILED] recordKey={} reason={}", recordKey, e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.kb.healthcare.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * recordKey → 샤드 번호 매핑
+ *
+ * <p>recordKey의 UTF-8 바이트를 FNV-1a 64비트로 해시한 뒤 jump consistent hash로 샤드 번호를 고릅니다.
+ * JVM/노드와 관계없이 항상 같은 결과를 내며, 샤드를 N개에서 N+1개로 늘리면 약 1/(N+1)의 사용자만 새 샤드로 옮겨집니다.
+ * 설정의 {@code overrides}에 있는 recordKey는 해시 대신 지정한 샤드를 사용합니다
+ * (재분배 도구로 옮긴 사용자, {@link HealthShardRebalancer} 참고).</p>
+ */
+public final class ShardMap {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shardCount;
+    private final Map<String, Integer> overrides;
+
+    public ShardMap(int shardCount, Map<String, Integer> overrides) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shard count must be positive");
+        }
+        overrides.forEach((recordKey, shard) -> {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("health.sharding.overrides." + recordKey + " out of range: " + shard);
+            }
+        });
+        this.shardCount = shardCount;
+        this.overrides = Map.copyOf(overrides);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String recordKey) {
+        Integer override = overrides.get(recordKey);
+        return override != null ? override : hashShard(recordKey, shardCount);
+    }
+
+    /**
+     * 설정 재정의 없이 해시만으로 정한 샤드 번호
+     */
+    static int hashShard(String recordKey, int shardCount) {
+        long hash = FNV_OFFSET;
+        for (byte b : recordKey.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return jump(hash, shardCount);
+    }
+
+    /**
+     * Lamping &amp; Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+     */
+    private static int jump(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+}
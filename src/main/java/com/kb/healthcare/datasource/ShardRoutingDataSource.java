@@ -0,0 +1,34 @@
+package com.kb.healthcare.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * 현재 스레드에 묶인 샤드({@link HealthShards})의 DataSource로 커넥션을 빌려주는 DataSource
+ *
+ * <p>{@link ReadWriteRoutingDataSource}와 마찬가지로 트랜잭션 안의 첫 SQL 시점에 샤드를 정하도록
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}로 감싸서 사용합니다.</p>
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * @param shards 샤드 번호 순서의 DataSource (0번은 사용자 테이블을 포함한 기본 DataSource)
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        var targets = new HashMap<Object, Object>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return HealthShards.current();
+    }
+}
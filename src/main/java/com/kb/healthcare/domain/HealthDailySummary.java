@@ -0,0 +1,43 @@
+package com.kb.healthcare.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일간 헬스 데이터 집계
+ *
+ * <p>업로드 트랜잭션 안에서 항목 단위 변화량(delta)을 반영하여 유지됩니다.</p>
+ */
+@Getter
+@Entity
+@Table(name = "health_daily_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uq_daily_summary", columnNames = {"recordKey", "summaryDate"}))
+@EntityListeners(AuditingEntityListener.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class HealthDailySummary extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String recordKey;
+
+    @Column(nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(nullable = false)
+    private Integer steps;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal distanceKm;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal caloriesKcal;
+}
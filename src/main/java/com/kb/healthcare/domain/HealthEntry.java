@@ -9,11 +9,19 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * 10분 단위 원본 헬스 데이터
+ *
+ * <p>운영 환경에서는 {@code started_at_kst} 기준 월 단위 파티션 테이블로 사용합니다
+ * ({@code db/health_entry_partitioned.sql}, {@code HealthEntryPartitionManager}).</p>
+ */
 @Getter
 @Entity
 @Table(name = "health_entry",
         uniqueConstraints = @UniqueConstraint(name = "uq_entry", columnNames = {"recordKey", "startedAtKst", "endedAtKst"}),
-        indexes = @Index(columnList = "recordKey"))
+        // 사용자별 시간순/구간 조회와 집계를 인덱스만으로 처리하는 커버링 인덱스
+        indexes = @Index(name = "ix_entry_record_started",
+                columnList = "recordKey, startedAtKst, endedAtKst, steps, distanceKm, caloriesKcal"))
 @EntityListeners(AuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class HealthEntry extends BaseTimeEntity {
@@ -0,0 +1,58 @@
+package com.kb.healthcare.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 보존 기간이 지난 원본 헬스 데이터를 사용자/날짜 단위로 압축한 레코드
+ *
+ * <p>하루치 합계와 함께, 그날의 원본 항목(시작/종료 시각과 값)을 한 컬럼에 압축해 둡니다.
+ * 합계는 집계 재계산에 쓰이고, 압축된 항목은 압축된 날짜에 늦은 업로드가 들어왔을 때 원본으로 되돌리는 데 쓰입니다
+ * ({@code HealthEntryCompactor} 참고).</p>
+ */
+@Getter
+@Entity
+@Table(name = "health_entry_compacted",
+        uniqueConstraints = @UniqueConstraint(name = "uq_entry_compacted", columnNames = {"recordKey", "summaryDate"}))
+@EntityListeners(AuditingEntityListener.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class HealthEntryCompacted extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String recordKey;
+
+    @Column(nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(nullable = false)
+    private Integer steps;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal distanceKm;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal caloriesKcal;
+
+    /**
+     * 압축된 원본 항목 수
+     */
+    @Column(nullable = false)
+    private Integer entryCount;
+
+    /**
+     * 압축된 원본 항목 ({@code CompactedSlots} 형식)
+     */
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] entries;
+}
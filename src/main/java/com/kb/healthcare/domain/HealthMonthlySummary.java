@@ -0,0 +1,45 @@
+package com.kb.healthcare.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+
+/**
+ * 사용자별 월간 헬스 데이터 집계
+ *
+ * <p>업로드 트랜잭션 안에서 항목 단위 변화량(delta)을 반영하여 유지됩니다.</p>
+ */
+@Getter
+@Entity
+@Table(name = "health_monthly_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uq_monthly_summary", columnNames = {"recordKey", "summaryMonth"}))
+@EntityListeners(AuditingEntityListener.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class HealthMonthlySummary extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String recordKey;
+
+    /**
+     * 연-월 (YYYY-MM 형식)
+     */
+    @Column(nullable = false, length = 7)
+    private String summaryMonth;
+
+    @Column(nullable = false)
+    private Integer steps;
+
+    @Column(nullable = false, precision = 15, scale = 3)
+    private BigDecimal distanceKm;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal caloriesKcal;
+}
@@ -36,6 +36,12 @@ public class User extends BaseTimeEntity {
     @Column(nullable = false, length = 255)
     private String passwordHash;
 
+    /**
+     * 발급된 JWT의 토큰 버전 (로그아웃 시 증가하여 이전 토큰을 모두 무효화)
+     */
+    @Column(nullable = false)
+    private int tokenVersion;
+
     public User(String recordKey, String name, String nickname, String email, String passwordHash) {
         this.recordKey = recordKey;
         this.name = name;
@@ -0,0 +1,11 @@
+package com.kb.healthcare.dto.health;
+
+/**
+ * 비동기 업로드 처리 상태
+ */
+public enum HealthUploadStatus {
+    QUEUED,
+    PROCESSING,
+    DONE,
+    FAILED
+}
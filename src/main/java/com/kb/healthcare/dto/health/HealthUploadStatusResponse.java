@@ -0,0 +1,22 @@
+package com.kb.healthcare.dto.health;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "비동기 업로드 상태 응답")
+public record HealthUploadStatusResponse(
+        @Schema(description = "업로드 ID", example = "0f8c3f4e-2a55-4b43-9a8e-6d1d5b1c2f10")
+        String uploadId,
+
+        @Schema(description = "건강 기록 키", example = "3b87c9a4-f983-4168-8f27-85436447bb57")
+        String recordkey,
+
+        @Schema(description = "처리 상태", example = "DONE")
+        HealthUploadStatus status,
+
+        @Schema(description = "성공적으로 저장/업데이트된 데이터 항목 개수 (처리 완료 시)", example = "10")
+        Integer ingested,
+
+        @Schema(description = "실패 사유 (실패 시)")
+        String error
+) {
+}
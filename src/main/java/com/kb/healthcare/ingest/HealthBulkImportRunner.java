@@ -0,0 +1,68 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.util.HealthNormalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 대량 가져오기({@link HealthBulkImporter})를 실행하고 종료하는 관리자용 오프라인 작업
+ *
+ * <p>API 서버와 별도로 {@code --health.import.enabled=true --health.import.file=<파일>
+ * --spring.main.web-application-type=none}으로 기동합니다. 진행 지점은 {@code <파일>.checkpoint},
+ * 거부한 줄은 {@code <파일>.rejected}에 기록하며, 중단되면 같은 명령으로 다시 실행해 이어서 가져옵니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "health.import.enabled", havingValue = "true")
+public class HealthBulkImportRunner implements ApplicationRunner {
+
+    private final HealthService healthService;
+    private final ObjectMapper objectMapper;
+    private final HealthNormalizer normalizer;
+    private final MeterRegistry meterRegistry;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${health.import.file}")
+    private Path file;
+
+    @Value("${health.import.workers:4}")
+    private int workers;
+
+    @Value("${health.import.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${health.import.checkpoint-lines:100000}")
+    private int checkpointLines;
+
+    @Value("${health.import.progress-interval:10s}")
+    private Duration progressInterval;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var importer = new HealthBulkImporter(healthService, objectMapper, normalizer, meterRegistry,
+                workers, batchSize, checkpointLines, progressInterval);
+        long started = System.currentTimeMillis();
+
+        var result = importer.importFile(file,
+                file.resolveSibling(file.getFileName() + ".checkpoint"),
+                file.resolveSibling(file.getFileName() + ".rejected"));
+
+        log.info("[IMPORT] 완료 file={} lines={} accepted={} rejected={} users={} ({}ms)", file,
+                result.lines(), result.accepted(), result.rejected(), result.users(), System.currentTimeMillis() - started);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
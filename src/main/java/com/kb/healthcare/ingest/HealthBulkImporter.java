@@ -0,0 +1,326 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.ingest.HealthImportLineParser.Format;
+import com.kb.healthcare.ingest.HealthImportLineParser.Parsed;
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.util.HealthNormalizer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * 파트너 이력 데이터 같은 대량의 과거 항목을 NDJSON/CSV 파일에서 읽어 저장하는 가져오기 도구
+ *
+ * <p>파일을 {@code checkpointLines}줄씩 구간으로 나누어 읽고, 구간의 항목을 사용자별로 모은 뒤
+ * recordKey의 해시로 {@code workers}개 작업에 나누어 병렬로 저장합니다. 한 사용자의 항목은 항상 같은 작업이
+ * {@code batchSize}개씩 {@link HealthService#importEntries}로 upsert하므로 작업끼리 같은 행을 잠그지 않습니다.
+ * 저장하는 동안 다음 구간을 읽어 두기만 하고, 구간의 저장이 모두 끝나 진행 지점({@link HealthImportCheckpoint})을
+ * 기록한 뒤에 다음 구간의 저장을 시작합니다. 따라서 같은 슬롯이 여러 구간에 있으면 파일에서 나중 줄이 저장됩니다.</p>
+ *
+ * <p>형식이 잘못된 줄은 건너뛰고 줄 번호, 사유, 원문을 탭으로 구분하여 거부 파일에 남깁니다. 모든 줄을 저장한 뒤
+ * 항목을 저장한 사용자마다 한 번씩 {@link HealthService#rebuildSummaries}로 집계를 다시 계산하고 캐시를 무효화합니다.</p>
+ *
+ * <p>중단된 뒤 다시 실행하면 마지막 진행 지점 다음 줄부터 이어서 가져옵니다. 진행 지점 이후에 이미 저장된 항목은
+ * 다시 upsert되어도 결과가 같습니다.</p>
+ */
+@Slf4j
+public class HealthBulkImporter {
+
+    /**
+     * @param lines    파일에서 처리한 줄 수 (이전 실행 포함)
+     * @param accepted 저장한 항목 수 (이전 실행 포함)
+     * @param rejected 거부한 줄 수 (이전 실행 포함)
+     * @param users    항목을 저장한 사용자 수
+     */
+    public record Result(long lines, long accepted, long rejected, int users) {
+    }
+
+    private final HealthService healthService;
+    private final ObjectMapper objectMapper;
+    private final HealthNormalizer normalizer;
+    private final int workers;
+    private final int batchSize;
+    private final int checkpointLines;
+    private final Duration progressInterval;
+
+    private final Counter acceptedLines;
+    private final Counter rejectedLines;
+
+    public HealthBulkImporter(HealthService healthService,
+                              ObjectMapper objectMapper,
+                              HealthNormalizer normalizer,
+                              MeterRegistry meterRegistry,
+                              int workers,
+                              int batchSize,
+                              int checkpointLines,
+                              Duration progressInterval) {
+        if (workers < 1 || batchSize < 1 || checkpointLines < 1) {
+            throw new IllegalArgumentException("health.import.workers, batch-size and checkpoint-lines must be positive");
+        }
+        this.healthService = healthService;
+        this.objectMapper = objectMapper;
+        this.normalizer = normalizer;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.checkpointLines = checkpointLines;
+        this.progressInterval = progressInterval;
+        this.acceptedLines = lineCounter(meterRegistry, "accepted");
+        this.rejectedLines = lineCounter(meterRegistry, "rejected");
+    }
+
+    /**
+     * @param result accepted: 저장함, rejected: 형식 오류로 거부함
+     */
+    private static Counter lineCounter(MeterRegistry registry, String result) {
+        return Counter.builder("health.import.lines")
+                .description("대량 가져오기 결과별 줄 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 파일을 가져옵니다. 진행 지점이 있으면 그 다음 줄부터 이어서 가져옵니다.
+     *
+     * @param file       NDJSON 또는 CSV({@code .csv}) 파일
+     * @param checkpoint 진행 지점 파일
+     * @param rejects    거부한 줄을 기록할 파일
+     * @throws IllegalStateException 저장에 실패한 경우 (마지막 진행 지점부터 다시 실행)
+     */
+    public Result importFile(Path file, Path checkpoint, Path rejects) {
+        var resumed = HealthImportCheckpoint.read(objectMapper, checkpoint);
+        if (resumed.completed()) {
+            log.info("[IMPORT SKIP] {} 가져오기가 이미 완료됨 (다시 가져오려면 {} 삭제)", file, checkpoint);
+            return new Result(resumed.line(), resumed.accepted(), resumed.rejected(), resumed.recordKeys().size());
+        }
+        if (resumed.line() > 0) {
+            log.info("[IMPORT RESUME] {} line={} accepted={} rejected={}",
+                    file, resumed.line(), resumed.accepted(), resumed.rejected());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("health-import-"));
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             FileChannel rejectsChannel = FileChannel.open(rejects, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            var run = new Run(Format.of(file), resumed, checkpoint, rejectsChannel, executor);
+            return run.execute(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 읽기를 마친 구간과 그 시점까지의 누적 진행 상태
+     *
+     * @param rows       이 구간에서 저장할 항목 수
+     * @param rowsByUser 이 구간에서 저장할 사용자별 항목 (파일 순서)
+     */
+    private record Segment(HealthImportCheckpoint progress, long rows, Map<String, List<HealthEntryRow>> rowsByUser,
+                           boolean last) {
+    }
+
+    /**
+     * 가져오기 한 번의 진행 상태 (읽기는 호출한 스레드 하나에서만 실행)
+     */
+    private final class Run {
+
+        private final HealthImportLineParser parser;
+        private final HealthImportCheckpoint resumed;
+        private final Path checkpoint;
+        private final FileChannel rejectsChannel;
+        private final Writer rejectsWriter;
+        private final ExecutorService executor;
+
+        private final Set<String> recordKeys;
+        private long line;
+        private long accepted;
+        private long rejected;
+
+        private final long started = System.nanoTime();
+        private long lastProgress = started;
+
+        Run(Format format, HealthImportCheckpoint resumed, Path checkpoint, FileChannel rejectsChannel,
+            ExecutorService executor) throws IOException {
+            this.parser = new HealthImportLineParser(objectMapper, normalizer, format);
+            this.resumed = resumed;
+            this.checkpoint = checkpoint;
+            this.executor = executor;
+            this.recordKeys = new HashSet<>(resumed.recordKeys());
+            this.line = resumed.line();
+            this.accepted = resumed.accepted();
+            this.rejected = resumed.rejected();
+
+            // 진행 지점 이후에 기록된 거부 줄은 지우고, 다시 읽으면서 다시 기록
+            this.rejectsChannel = rejectsChannel;
+            rejectsChannel.truncate(resumed.rejectsSize());
+            rejectsChannel.position(resumed.rejectsSize());
+            this.rejectsWriter = Channels.newWriter(rejectsChannel, StandardCharsets.UTF_8);
+        }
+
+        Result execute(BufferedReader reader) throws IOException {
+            for (long i = 0; i < resumed.line(); i++) {
+                if (reader.readLine() == null) break;
+            }
+
+            // 구간을 저장하는 동안 다음 구간을 읽고, 이전 구간의 저장이 끝나 진행 지점을 기록한 뒤에 다음 구간 저장 시작
+            // (두 구간을 동시에 저장하면 한 사용자를 여러 작업이 저장하게 되어 파일에서 앞선 줄이 나중에 저장될 수 있음)
+            Segment segment = readSegment(reader);
+            List<Future<?>> writes = write(segment);
+            while (!segment.last()) {
+                Segment next = readSegment(reader);
+                complete(segment, writes);
+                segment = next;
+                writes = write(segment);
+            }
+            complete(segment, writes);
+            logProgress();
+
+            rebuild();
+            return new Result(line, accepted, rejected, recordKeys.size());
+        }
+
+        private Segment readSegment(BufferedReader reader) throws IOException {
+            var rowsByUser = new LinkedHashMap<String, List<HealthEntryRow>>();
+            long rows = 0;
+            boolean last = false;
+            for (int i = 0; i < checkpointLines; i++) {
+                String raw = reader.readLine();
+                if (raw == null) {
+                    last = true;
+                    break;
+                }
+                line++;
+
+                Parsed parsed;
+                try {
+                    parsed = parser.parse(raw);
+                } catch (IllegalArgumentException e) {
+                    reject(raw, e.getMessage());
+                    continue;
+                }
+                if (parsed == null) continue;
+
+                rowsByUser.computeIfAbsent(parsed.recordKey(), k -> new ArrayList<>()).add(parsed.row());
+                recordKeys.add(parsed.recordKey());
+                rows++;
+            }
+            accepted += rows;
+            rejectsWriter.flush();
+
+            var progress = new HealthImportCheckpoint(line, accepted, rejected, rejectsChannel.position(),
+                    Set.copyOf(recordKeys), false);
+            return new Segment(progress, rows, rowsByUser, last);
+        }
+
+        private void reject(String raw, String reason) throws IOException {
+            rejected++;
+            rejectedLines.increment();
+            String cleaned = reason == null ? "invalid" : reason.replaceAll("\\s+", " ");
+            rejectsWriter.write(line + "\t" + cleaned + "\t" + raw + "\n");
+        }
+
+        /**
+         * 구간의 항목 저장을 사용자별 작업으로 시작합니다.
+         */
+        private List<Future<?>> write(Segment segment) {
+            var rowsByUser = segment.rowsByUser();
+            return forEachUser(rowsByUser.keySet(), recordKey -> write(recordKey, rowsByUser.get(recordKey)));
+        }
+
+        private void write(String recordKey, List<HealthEntryRow> rows) {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                healthService.importEntries(recordKey, rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+        }
+
+        private void complete(Segment segment, List<Future<?>> writes) {
+            await(writes, segment.progress().line());
+            segment.progress().write(objectMapper, checkpoint);
+            acceptedLines.increment(segment.rows());
+
+            long now = System.nanoTime();
+            if (now - lastProgress >= progressInterval.toNanos()) {
+                lastProgress = now;
+                logProgress();
+            }
+        }
+
+        private void logProgress() {
+            double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+            log.info("[IMPORT PROGRESS] line={} accepted={} rejected={} users={} ({} rows/s)", line, accepted, rejected,
+                    recordKeys.size(), Math.round((accepted - resumed.accepted()) / seconds));
+        }
+
+        /**
+         * 항목을 저장한 사용자마다 집계를 다시 계산하고, 완료된 진행 지점을 기록합니다.
+         */
+        private void rebuild() throws IOException {
+            long rebuildStarted = System.currentTimeMillis();
+            await(forEachUser(recordKeys, healthService::rebuildSummaries), line);
+            new HealthImportCheckpoint(line, accepted, rejected, rejectsChannel.size(), Set.copyOf(recordKeys), true)
+                    .write(objectMapper, checkpoint);
+            log.info("[IMPORT REBUILD] users={} ({}ms)", recordKeys.size(), System.currentTimeMillis() - rebuildStarted);
+        }
+
+        /**
+         * recordKey의 해시로 사용자를 작업마다 나누어 실행합니다. (한 사용자는 항상 같은 작업에서 처리)
+         */
+        private List<Future<?>> forEachUser(Collection<String> users, Consumer<String> action) {
+            var buckets = new ArrayList<List<String>>(workers);
+            for (int i = 0; i < workers; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            for (String recordKey : users) {
+                buckets.get(Math.floorMod(recordKey.hashCode(), workers)).add(recordKey);
+            }
+
+            var futures = new ArrayList<Future<?>>(workers);
+            for (List<String> bucket : buckets) {
+                if (!bucket.isEmpty()) {
+                    futures.add(executor.submit(() -> bucket.forEach(action)));
+                }
+            }
+            return futures;
+        }
+    }
+
+    private static void await(List<Future<?>> futures, long line) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("import failed before line " + line, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("import interrupted before line " + line, e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Set;
+
+/**
+ * 대량 가져오기 진행 지점
+ *
+ * <p>{@code line}번째 줄까지의 항목은 모두 커밋되었고, 그 사이 거부한 줄은 거부 파일의 앞 {@code rejectsSize}바이트에
+ * 기록되었음을 뜻합니다. 다시 실행하면 그 다음 줄부터 읽고, 거부 파일은 이 크기로 잘라 이어 씁니다.</p>
+ *
+ * @param line        커밋을 마친 마지막 줄 번호 (1부터, 처음이면 0)
+ * @param accepted    저장한 항목 수
+ * @param rejected    거부한 줄 수
+ * @param rejectsSize 거부 파일 크기 (바이트)
+ * @param recordKeys  항목을 저장한 사용자 (가져오기가 끝나면 집계를 다시 계산할 대상)
+ * @param completed   집계 재계산까지 끝났는지 여부
+ */
+record HealthImportCheckpoint(
+        long line,
+        long accepted,
+        long rejected,
+        long rejectsSize,
+        Set<String> recordKeys,
+        boolean completed
+) {
+
+    static final HealthImportCheckpoint START = new HealthImportCheckpoint(0, 0, 0, 0, Set.of(), false);
+
+    /**
+     * 저장된 진행 지점, 파일이 없으면 {@link #START}
+     */
+    static HealthImportCheckpoint read(ObjectMapper objectMapper, Path file) {
+        if (!Files.exists(file)) return START;
+        try {
+            return objectMapper.readValue(file.toFile(), HealthImportCheckpoint.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 교체하여, 쓰는 도중 종료되어도 이전 진행 지점이 남도록 합니다.
+     */
+    void write(ObjectMapper objectMapper, Path file) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), this);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
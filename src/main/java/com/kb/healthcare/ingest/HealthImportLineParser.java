@@ -0,0 +1,125 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.health.HealthUploadRequest.Metric;
+import com.kb.healthcare.dto.health.HealthUploadRequest.Period;
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.util.HealthNormalizer;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 대량 가져오기 파일의 한 줄을 사용자 식별 키와 정규화된 항목으로 변환합니다.
+ *
+ * <ul>
+ *   <li>NDJSON: 업로드 요청의 항목(entry)에 {@code recordkey}를 더한 객체 한 줄
+ *   ({@code {"recordkey":"...","period":{"from":"...","to":"..."},"distance":{"unit":"km","value":0.04},
+ *   "calories":{"unit":"kcal","value":1.2},"steps":54}})</li>
+ *   <li>CSV: {@code recordkey,from,to,steps,distance,calories} 순서의 값 한 줄 (따옴표 미지원,
+ *   {@code recordkey}로 시작하는 머리글 줄은 건너뜀)</li>
+ * </ul>
+ *
+ * <p>날짜/시간과 숫자는 업로드와 같은 {@link HealthNormalizer} 규칙으로 정규화합니다.</p>
+ */
+final class HealthImportLineParser {
+
+    /**
+     * {@code health_entry.record_key} 컬럼 길이
+     */
+    private static final int MAX_RECORD_KEY_LENGTH = 64;
+    private static final String CSV_HEADER = "recordkey";
+    private static final int CSV_COLUMNS = 6;
+
+    enum Format {
+        NDJSON, CSV;
+
+        /**
+         * 확장자로 형식을 고릅니다. ({@code .csv}면 CSV, 그 밖에는 NDJSON)
+         */
+        static Format of(Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : NDJSON;
+        }
+    }
+
+    /**
+     * 정규화된 한 줄
+     */
+    record Parsed(String recordKey, HealthEntryRow row) {
+    }
+
+    private record JsonLine(
+            @JsonProperty("recordkey") String recordKey,
+            Period period,
+            Metric distance,
+            Metric calories,
+            Double steps
+    ) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final HealthNormalizer normalizer;
+    private final Format format;
+
+    HealthImportLineParser(ObjectMapper objectMapper, HealthNormalizer normalizer, Format format) {
+        this.objectMapper = objectMapper;
+        this.normalizer = normalizer;
+        this.format = format;
+    }
+
+    /**
+     * @return 정규화된 항목, 빈 줄이나 CSV 머리글이면 {@code null}
+     * @throws IllegalArgumentException 형식이 잘못되었거나 값이 없는 경우 (메시지는 거부 사유)
+     */
+    Parsed parse(String line) {
+        if (line.isBlank()) return null;
+        return format == Format.CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    private Parsed parseJson(String line) {
+        JsonLine json;
+        try {
+            json = objectMapper.readValue(line, JsonLine.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid json: " + e.getOriginalMessage());
+        }
+        if (json.period() == null) throw new IllegalArgumentException("missing period");
+        return parsed(json.recordKey(), json.period().from(), json.period().to(), json.steps(),
+                json.distance() == null ? null : json.distance().value(),
+                json.calories() == null ? null : json.calories().value());
+    }
+
+    private Parsed parseCsv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns[0].trim().equalsIgnoreCase(CSV_HEADER)) return null;
+        if (columns.length != CSV_COLUMNS) {
+            throw new IllegalArgumentException("expected " + CSV_COLUMNS + " columns but was " + columns.length);
+        }
+        return parsed(columns[0].trim(), columns[1], columns[2],
+                columns[3].isBlank() ? null : Double.valueOf(columns[3].trim()),
+                decimal(columns[4]), decimal(columns[5]));
+    }
+
+    private static BigDecimal decimal(String raw) {
+        return raw.isBlank() ? null : new BigDecimal(raw.trim());
+    }
+
+    private Parsed parsed(String recordKey, String from, String to, Double steps, BigDecimal distance, BigDecimal calories) {
+        if (recordKey == null || recordKey.isBlank()) throw new IllegalArgumentException("missing recordkey");
+        if (recordKey.length() > MAX_RECORD_KEY_LENGTH) throw new IllegalArgumentException("recordkey too long");
+        // 거리/칼로리 컬럼은 NOT NULL
+        if (distance == null) throw new IllegalArgumentException("missing distance");
+        if (calories == null) throw new IllegalArgumentException("missing calories");
+
+        return new Parsed(recordKey, new HealthEntryRow(
+                normalizer.toKstLocal(from),
+                normalizer.toKstLocal(to),
+                normalizer.toSteps(steps),
+                normalizer.toDistanceKm(distance),
+                normalizer.toCaloriesKcal(calories)
+        ));
+    }
+}
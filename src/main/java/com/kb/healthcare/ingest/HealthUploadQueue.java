@@ -0,0 +1,218 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.dto.health.HealthUploadStatus;
+import com.kb.healthcare.dto.health.HealthUploadStatusResponse;
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import com.kb.healthcare.util.HealthNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 비동기 업로드 큐 (Redis Stream)
+ *
+ * <p>{@code health.upload.async.enabled=true}일 때만 등록됩니다. 업로드 요청을 검증한 뒤
+ * recordKey로 정한 파티션 스트림({@value #STREAM_KEY}:{파티션})에 추가하고, 업로드 ID별 처리 상태를 Redis 해시로 관리합니다.
+ * 실제 저장은 파티션마다 소유권을 얻은 인스턴스 하나의 {@link HealthUploadWorker}가 처리하므로, 큐로 접수된
+ * 한 사용자의 업로드는 인스턴스 수와 관계없이 접수 순서대로 처리됩니다. 큐를 거치지 않는 동기/스트리밍 업로드와의
+ * 선후는 lastUpdate로만 정해지며, 더 새로운 업로드가 먼저 반영된 요청은 0건으로 완료됩니다.</p>
+ *
+ * <p>파티션 수({@code health.upload.async.workers})를 바꾸면 같은 사용자의 업로드가 다른 스트림으로 가므로
+ * 스트림이 비었을 때만 변경하고, 모든 인스턴스에 같은 값을 사용해야 합니다.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "health.upload.async.enabled", havingValue = "true")
+public class HealthUploadQueue {
+
+    /**
+     * 업로드 요청 스트림 키 접두사 (필드: id, recordKey, payload)
+     */
+    public static final String STREAM_KEY = "health:upload:stream";
+
+    /**
+     * 업로드 워커 컨슈머 그룹
+     */
+    public static final String GROUP = "health-upload-workers";
+
+    /**
+     * 업로드 상태 해시 키 접두사
+     */
+    private static final String STATUS_KEY = "health:upload:status::";
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_RECORD_KEY = "recordKey";
+    static final String FIELD_PAYLOAD = "payload";
+
+    private static final String STATUS = "status";
+    private static final String INGESTED = "ingested";
+    private static final String ERROR = "error";
+    private static final String QUEUED_AT = "queuedAt";
+    private static final String UPDATED_AT = "updatedAt";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final HealthNormalizer normalizer;
+    private final Duration statusTtl;
+    private final int partitions;
+
+    public HealthUploadQueue(StringRedisTemplate redisTemplate,
+                             ObjectMapper objectMapper,
+                             HealthNormalizer normalizer,
+                             @Value("${health.upload.async.status-ttl:24h}") Duration statusTtl,
+                             @Value("${health.upload.async.workers:4}") int partitions) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.normalizer = normalizer;
+        this.statusTtl = statusTtl;
+        this.partitions = partitions;
+    }
+
+    /**
+     * @return 파티션 스트림 키
+     */
+    public static String streamKey(int partition) {
+        return STREAM_KEY + ":" + partition;
+    }
+
+    /**
+     * @return 파티션 수 (파티션마다 소유권을 얻은 워커 하나가 컨슈머 하나로 읽음)
+     */
+    int partitions() {
+        return partitions;
+    }
+
+    /**
+     * @return recordKey가 속한 파티션
+     */
+    int partitionOf(String recordKey) {
+        return Math.floorMod(recordKey.hashCode(), partitions);
+    }
+
+    /**
+     * 업로드 요청을 검증하고 스트림에 추가합니다.
+     *
+     * <p>처리 과정:</p>
+     * <ol>
+     *   <li>lastUpdate와 각 항목의 측정 기간 형식을 검증 (워커에서 실패하기 전에 400으로 응답)</li>
+     *   <li>업로드 ID를 발급하고 상태 해시를 QUEUED로 생성</li>
+     *   <li>요청 본문을 JSON으로 recordKey의 파티션 스트림에 추가</li>
+     * </ol>
+     *
+     * @return QUEUED 상태의 업로드 정보
+     */
+    public HealthUploadStatusResponse submit(HealthUploadRequest req) {
+        validate(req);
+
+        String uploadId = UUID.randomUUID().toString();
+        String recordKey = req.recordKey();
+        String now = Instant.now().toString();
+
+        // 워커가 항상 상태 해시를 찾을 수 있도록 스트림보다 먼저 생성
+        String statusKey = STATUS_KEY + uploadId;
+        statusOps().putAll(statusKey, Map.of(
+                FIELD_RECORD_KEY, recordKey,
+                STATUS, HealthUploadStatus.QUEUED.name(),
+                QUEUED_AT, now,
+                UPDATED_AT, now));
+        redisTemplate.expire(statusKey, statusTtl);
+
+        redisTemplate.opsForStream().add(StreamRecords.string(Map.of(
+                FIELD_ID, uploadId,
+                FIELD_RECORD_KEY, recordKey,
+                FIELD_PAYLOAD, toJson(req)
+        )).withStreamKey(streamKey(partitionOf(recordKey))));
+
+        log.debug("[UPLOAD QUEUED] uploadId={} recordKey={} entries={}",
+                uploadId, recordKey, req.data().entries().size());
+        return new HealthUploadStatusResponse(uploadId, recordKey, HealthUploadStatus.QUEUED, null, null);
+    }
+
+    /**
+     * 업로드 처리 상태를 조회합니다. 다른 사용자의 업로드는 존재 여부를 드러내지 않도록 없는 것으로 처리합니다.
+     */
+    public HealthUploadStatusResponse status(String uploadId, String recordKey) {
+        Map<String, String> status = statusOps().entries(STATUS_KEY + uploadId);
+        if (status.isEmpty() || !recordKey.equals(status.get(FIELD_RECORD_KEY))) {
+            throw new CustomException(ErrorCode.UPLOAD_NOT_FOUND);
+        }
+
+        String ingested = status.get(INGESTED);
+        return new HealthUploadStatusResponse(uploadId, recordKey,
+                HealthUploadStatus.valueOf(status.get(STATUS)),
+                ingested == null ? null : Integer.valueOf(ingested),
+                status.get(ERROR));
+    }
+
+    HealthUploadRequest readPayload(String payload) throws JsonProcessingException {
+        return objectMapper.readValue(payload, HealthUploadRequest.class);
+    }
+
+    void markProcessing(String uploadId) {
+        update(uploadId, HealthUploadStatus.PROCESSING, Map.of());
+    }
+
+    void markDone(String uploadId, int ingested) {
+        update(uploadId, HealthUploadStatus.DONE, Map.of(INGESTED, String.valueOf(ingested)));
+    }
+
+    void markFailed(String uploadId, String error) {
+        update(uploadId, HealthUploadStatus.FAILED, Map.of(ERROR, String.valueOf(error)));
+    }
+
+    private void update(String uploadId, HealthUploadStatus status, Map<String, String> fields) {
+        String statusKey = STATUS_KEY + uploadId;
+        var values = new HashMap<>(fields);
+        values.put(STATUS, status.name());
+        values.put(UPDATED_AT, Instant.now().toString());
+        statusOps().putAll(statusKey, values);
+        redisTemplate.expire(statusKey, statusTtl);
+    }
+
+    /**
+     * 워커에서 처리할 수 없는 요청을 큐에 넣기 전에 거부합니다.
+     */
+    private void validate(HealthUploadRequest req) {
+        try {
+            normalizer.toEpochSecond(req.lastUpdate());
+            if (req.data() == null || req.data().entries() == null) {
+                throw new CustomException(ErrorCode.INVALID_UPLOAD_BODY);
+            }
+            for (var entry : req.data().entries()) {
+                if (entry == null || entry.period() == null || entry.distance() == null || entry.calories() == null) {
+                    throw new CustomException(ErrorCode.INVALID_UPLOAD_BODY);
+                }
+                normalizer.toEpochSecond(entry.period().from());
+                normalizer.toEpochSecond(entry.period().to());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.INVALID_UPLOAD_BODY);
+        }
+    }
+
+    private String toJson(HealthUploadRequest req) {
+        try {
+            return objectMapper.writeValueAsString(req);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("업로드 요청 직렬화 실패", e);
+        }
+    }
+
+    private HashOperations<String, String, String> statusOps() {
+        return redisTemplate.opsForHash();
+    }
+}
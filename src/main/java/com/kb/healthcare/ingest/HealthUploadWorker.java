@@ -0,0 +1,356 @@
+package com.kb.healthcare.ingest;
+
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 업로드 워커
+ *
+ * <p>{@value HealthUploadQueue#STREAM_KEY}:{파티션} 스트림을 {@value HealthUploadQueue#GROUP} 컨슈머 그룹으로 읽어
+ * 요청마다 {@link HealthService#upload}를 호출합니다. 파티션마다 Redis 소유권({@value #LEASE_KEY}{파티션})을 얻은
+ * 인스턴스 하나만 그 스트림을 읽고, 파티션마다 고정된 이름의 컨슈머로 {@code health.upload.async.batch-size}개씩 가져와
+ * 순서대로 처리합니다. 따라서 인스턴스가 여러 개여도 큐로 접수된 한 사용자의 업로드는 접수 순서대로 하나씩 저장됩니다.</p>
+ *
+ * <p>소유권은 {@code health.upload.async.lease-ttl} 뒤 만료되며 그 1/3 간격으로 연장합니다. 소유한 인스턴스가
+ * 정상 종료되면 소유권을 반납하고, 응답 없이 죽으면 TTL 뒤 다른 인스턴스가 넘겨받습니다. 넘겨받은 인스턴스는
+ * 같은 컨슈머 이름으로 이전 소유자가 ACK 하지 못한 메시지부터 처리합니다.</p>
+ *
+ * <p>같은 사용자의 큐 밖 업로드(동기/스트리밍 업로드)가 진행 중이면 메시지를 뒤로 보내지 않고 지수 백오프로
+ * 기다렸다가 다시 시도합니다. 기다리는 동안 종료되거나 소유권을 잃으면 ACK 하지 않고 남겨 둡니다.
+ * 큐 밖 업로드가 더 새로운 lastUpdate를 먼저 반영했다면 이 업로드는 건너뛰며 0건으로 완료됩니다.</p>
+ *
+ * <p>처리 결과와 관계없이 처리한 메시지는 ACK 후 스트림에서 삭제합니다.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "health.upload.async.enabled", havingValue = "true")
+public class HealthUploadWorker implements SmartLifecycle {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * 같은 사용자의 업로드가 진행 중일 때 재시도 간격 (2배씩 늘려 최대 {@link #RETRY_MAX_BACKOFF})
+     */
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(100);
+    private static final Duration RETRY_MAX_BACKOFF = Duration.ofSeconds(5);
+
+    /**
+     * 파티션 소유권 키 접두사 (값: 소유 인스턴스 ID)
+     */
+    static final String LEASE_KEY = "health:upload:lease:";
+
+    private static final RedisScript<Long> RENEW_LEASE =
+            RedisScript.of(new ClassPathResource("redis/health-upload-lease-renew.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_LEASE =
+            RedisScript.of(new ClassPathResource("redis/health-upload-lease-release.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final HealthUploadQueue queue;
+    private final HealthService healthService;
+    private final int batchSize;
+    private final Duration leaseTtl;
+    private final String instanceId;
+    private final SimpleAsyncTaskExecutor executor;
+    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    /**
+     * 이 인스턴스가 소유한 파티션
+     */
+    private final Set<Integer> owned = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 소유한 파티션의 스트림 구독 (미처리 메시지를 복구한 뒤 등록)
+     */
+    private final Map<Integer, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService leaseRenewer;
+    private volatile boolean running;
+
+    public HealthUploadWorker(RedisConnectionFactory connectionFactory,
+                              StringRedisTemplate redisTemplate,
+                              HealthUploadQueue queue,
+                              HealthService healthService,
+                              @Value("${health.upload.async.batch-size:10}") int batchSize,
+                              @Value("${health.upload.async.consumer:health-app}") String consumerName,
+                              @Value("${health.upload.async.lease-ttl:30s}") Duration leaseTtl,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.redisTemplate = redisTemplate;
+        this.queue = queue;
+        this.healthService = healthService;
+        this.batchSize = batchSize;
+        this.leaseTtl = leaseTtl;
+        this.instanceId = consumerName + "-" + UUID.randomUUID();
+        this.executor = new SimpleAsyncTaskExecutor("health-upload-");
+        this.executor.setVirtualThreads(virtualThreads);
+        this.container = StreamMessageListenerContainer.create(connectionFactory,
+                StreamMessageListenerContainerOptions.builder()
+                        .batchSize(batchSize)
+                        .pollTimeout(POLL_TIMEOUT)
+                        .executor(executor)
+                        .errorHandler(e -> log.error("[UPLOAD WORKER ERROR] {}", e.getMessage(), e))
+                        .build());
+    }
+
+    @Override
+    public void start() {
+        // 복구 중 백오프 대기가 종료로 오인되지 않도록 먼저 설정
+        running = true;
+
+        for (int partition = 0; partition < queue.partitions(); partition++) {
+            createGroup(HealthUploadQueue.streamKey(partition));
+        }
+        container.start();
+
+        // 소유권 연장과 주인 없는 파티션 획득을 TTL의 1/3 간격으로 반복
+        long interval = Math.max(1, leaseTtl.toMillis() / 3);
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("health-upload-lease").daemon().factory());
+        leaseRenewer.scheduleWithFixedDelay(this::maintainLeases, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("[UPLOAD WORKER START] instance={} partitions={} batchSize={} leaseTtl={}",
+                instanceId, queue.partitions(), batchSize, leaseTtl);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        leaseRenewer.shutdownNow();
+        subscriptions.values().forEach(Subscription::cancel);
+        subscriptions.clear();
+        container.stop();
+
+        // 다른 인스턴스가 TTL을 기다리지 않고 바로 넘겨받도록 반납
+        for (int partition : owned) {
+            releaseLease(partition);
+        }
+        owned.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 소유한 파티션의 소유권을 연장하고(잃었으면 구독 취소), 주인 없는 파티션의 소유권을 얻습니다.
+     */
+    private void maintainLeases() {
+        for (int partition = 0; partition < queue.partitions() && running; partition++) {
+            try {
+                if (owned.contains(partition)) {
+                    if (!renewLease(partition)) {
+                        log.warn("[UPLOAD LEASE LOST] instance={} partition={}", instanceId, partition);
+                        owned.remove(partition);
+                        unsubscribe(partition);
+                    }
+                } else if (acquireLease(partition)) {
+                    log.info("[UPLOAD LEASE ACQUIRED] instance={} partition={}", instanceId, partition);
+                    owned.add(partition);
+                    int acquired = partition;
+                    executor.execute(() -> {
+                        try {
+                            subscribe(acquired);
+                        } catch (RuntimeException e) {
+                            // 다음 주기에 이 인스턴스나 다른 인스턴스가 다시 얻도록 반납
+                            log.warn("[UPLOAD SUBSCRIBE FAILED] partition={} reason={}", acquired, e.getMessage());
+                            owned.remove(acquired);
+                            unsubscribe(acquired);
+                            releaseLease(acquired);
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                log.warn("[UPLOAD LEASE FAILED] instance={} partition={} reason={}", instanceId, partition, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 이전 소유자가 ACK 하지 못한 메시지부터 처리한 뒤 파티션 스트림을 구독합니다.
+     */
+    private void subscribe(int partition) {
+        String streamKey = HealthUploadQueue.streamKey(partition);
+        Consumer consumer = consumer(partition);
+        recoverPending(partition, streamKey, consumer);
+        if (!owns(partition)) {
+            return;
+        }
+
+        // Redis 연결 오류 등으로 구독이 취소되지 않도록 계속 폴링
+        subscriptions.put(partition, container.register(
+                StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                        .consumer(consumer)
+                        .autoAcknowledge(false)
+                        .cancelOnError(e -> false)
+                        .build(),
+                message -> process(partition, message)));
+
+        // 등록하는 사이에 소유권을 잃었으면 바로 취소
+        if (!owns(partition)) {
+            unsubscribe(partition);
+        }
+    }
+
+    private void unsubscribe(int partition) {
+        Subscription subscription = subscriptions.remove(partition);
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    private boolean owns(int partition) {
+        return running && owned.contains(partition);
+    }
+
+    /**
+     * 업로드 요청 하나를 처리하고 상태를 갱신합니다.
+     */
+    private void process(int partition, MapRecord<String, String, String> message) {
+        String uploadId = message.getValue().get(HealthUploadQueue.FIELD_ID);
+        if (!owns(partition)) {
+            // 소유권을 넘겨받은 인스턴스가 같은 컨슈머 이름으로 다시 처리
+            return;
+        }
+        try {
+            queue.markProcessing(uploadId);
+            var req = queue.readPayload(message.getValue().get(HealthUploadQueue.FIELD_PAYLOAD));
+            Integer count = uploadInOrder(partition, uploadId, req);
+            if (count == null) {
+                log.info("[UPLOAD DEFERRED] uploadId={} (종료 중이거나 소유권을 잃어 ACK 하지 않음)", uploadId);
+                return;
+            }
+            queue.markDone(uploadId, count);
+            log.debug("[UPLOAD DONE] uploadId={} recordKey={} count={}", uploadId, req.recordKey(), count);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("[UPLOAD DEFERRED] uploadId={} (중단됨, ACK 하지 않음)", uploadId);
+            return;
+        } catch (Exception e) {
+            fail(uploadId, e);
+        }
+
+        StreamOperations<String, String, String> ops = redisTemplate.opsForStream();
+        ops.acknowledge(HealthUploadQueue.GROUP, message);
+        ops.delete(message);
+    }
+
+    /**
+     * 같은 사용자의 이전 업로드가 끝날 때까지 백오프하며 업로드를 시도합니다.
+     *
+     * <p>메시지를 스트림 끝으로 다시 보내면 같은 사용자의 더 새로운 업로드가 먼저 반영되어 이 업로드가
+     * 오래된 요청으로 버려지므로, 파티션의 다음 메시지로 넘어가지 않고 이 자리에서 기다립니다.
+     * 진행 중인 예약은 {@code health.upload.reservation-ttl} 뒤 만료되므로 대기도 그 안에 끝납니다.</p>
+     *
+     * @return 저장한 항목 수, 기다리는 중 워커가 종료되거나 파티션 소유권을 잃으면 {@code null}
+     */
+    private Integer uploadInOrder(int partition, String uploadId, HealthUploadRequest req) throws InterruptedException {
+        long backoff = RETRY_BACKOFF.toMillis();
+        while (owns(partition)) {
+            try {
+                return healthService.upload(req);
+            } catch (CustomException e) {
+                if (e.getCode() != ErrorCode.UPLOAD_IN_PROGRESS) {
+                    throw e;
+                }
+            }
+            log.debug("[UPLOAD RETRY] uploadId={} backoff={}ms (이전 업로드 처리 중)", uploadId, backoff);
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, RETRY_MAX_BACKOFF.toMillis());
+        }
+        return null;
+    }
+
+    private void fail(String uploadId, Exception e) {
+        log.warn("[UPLOAD FAILED] uploadId={} reason={}", uploadId, e.getMessage());
+        try {
+            queue.markFailed(uploadId, e.getMessage());
+        } catch (RuntimeException statusFailure) {
+            log.error("[UPLOAD STATUS FAILED] uploadId={}", uploadId, statusFailure);
+        }
+    }
+
+    private void recoverPending(int partition, String streamKey, Consumer consumer) {
+        StreamOperations<String, String, String> ops = redisTemplate.opsForStream();
+        try {
+            List<MapRecord<String, String, String>> pending;
+            do {
+                pending = ops.read(consumer, StreamReadOptions.empty().count(batchSize),
+                        StreamOffset.create(streamKey, ReadOffset.from("0")));
+                if (pending == null) break;
+                pending.forEach(message -> process(partition, message));
+            } while (!pending.isEmpty() && owns(partition) && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            log.warn("[UPLOAD RECOVER FAILED] consumer={} reason={}", consumer.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 파티션의 컨슈머 (소유권을 넘겨받은 인스턴스가 미처리 메시지를 이어받도록 인스턴스와 관계없이 같은 이름)
+     */
+    private static Consumer consumer(int partition) {
+        return Consumer.from(HealthUploadQueue.GROUP, "partition-" + partition);
+    }
+
+    private boolean acquireLease(int partition) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LEASE_KEY + partition, instanceId, leaseTtl));
+    }
+
+    private boolean renewLease(int partition) {
+        Long renewed = redisTemplate.execute(RENEW_LEASE, List.of(LEASE_KEY + partition),
+                instanceId, String.valueOf(leaseTtl.toMillis()));
+        return renewed != null && renewed == 1;
+    }
+
+    private void releaseLease(int partition) {
+        try {
+            redisTemplate.execute(RELEASE_LEASE, List.of(LEASE_KEY + partition), instanceId);
+        } catch (RuntimeException e) {
+            log.warn("[UPLOAD LEASE RELEASE FAILED] partition={} reason={}", partition, e.getMessage());
+        }
+    }
+
+    /**
+     * 컨슈머 그룹을 생성합니다 (스트림이 없으면 함께 생성, 이미 있으면 무시).
+     */
+    private void createGroup(String streamKey) {
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), HealthUploadQueue.GROUP);
+        } catch (RedisSystemException e) {
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+}
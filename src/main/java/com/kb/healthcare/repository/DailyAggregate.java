@@ -0,0 +1,18 @@
+package com.kb.healthcare.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 원본 항목을 날짜별로 합산한 GROUP BY 프로젝션
+ */
+public record DailyAggregate(
+        LocalDate day,
+        Long steps,
+        BigDecimal distance,
+        BigDecimal calories
+) {
+    public DailyAggregate plus(DailyAggregate other) {
+        return new DailyAggregate(day, steps + other.steps, distance.add(other.distance), calories.add(other.calories));
+    }
+}
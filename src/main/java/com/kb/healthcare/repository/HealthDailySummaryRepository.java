@@ -0,0 +1,33 @@
+package com.kb.healthcare.repository;
+
+import com.kb.healthcare.domain.HealthDailySummary;
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HealthDailySummaryRepository extends JpaRepository<HealthDailySummary, Long> {
+    /**
+     * 캐시 미스 시 채우지 않은 세그먼트 구간만 조회 (복제본이 있으면 복제본에서 실행)
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            select new com.kb.healthcare.dto.health.HealthDailyResponse(
+                s.summaryDate, s.steps, s.caloriesKcal, s.distanceKm, s.recordKey)
+            from HealthDailySummary s
+            where s.recordKey = :recordKey
+              and s.summaryDate between :from and :to
+            order by s.summaryDate
+            """)
+    List<HealthDailyResponse> findDailyResponses(String recordKey, LocalDate from, LocalDate to);
+
+    /**
+     * 시작일 없는 조회의 하한 (데이터가 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    @Query("select min(s.summaryDate) from HealthDailySummary s where s.recordKey = :recordKey")
+    LocalDate findFirstDate(String recordKey);
+}
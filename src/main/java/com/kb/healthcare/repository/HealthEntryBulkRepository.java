@@ -0,0 +1,28 @@
+package com.kb.healthcare.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HealthEntryBulkRepository {
+
+    /**
+     * 헬스 데이터 항목을 청크 단위의 multi-row upsert로 저장합니다.
+     *
+     * @param recordKey 사용자 식별 키
+     * @param rows      KST로 정규화된 항목 리스트
+     * @return 저장/업데이트된 항목 개수
+     */
+    int bulkUpsert(String recordKey, List<HealthEntryRow> rows);
+
+    /**
+     * 시작 시간이 주어진 구간에 속하는 기존 항목을 잠금(FOR UPDATE) 조회합니다.
+     *
+     * <p>upsert 전에 덮어쓸 항목의 이전 값을 얻어 집계 변화량을 계산하는 데 사용합니다.</p>
+     *
+     * @param recordKey 사용자 식별 키
+     * @param from      시작 시간 하한 (포함)
+     * @param to        시작 시간 상한 (포함)
+     * @return 기존 항목 리스트
+     */
+    List<HealthEntryRow> findForUpdate(String recordKey, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,111 @@
+package com.kb.healthcare.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link HealthEntryBulkRepository} 구현체
+ *
+ * <p>항목마다 한 번씩 upsert 하던 방식 대신, {@code health.upload.batch-size} 단위로
+ * {@code INSERT ... VALUES (...), (...) ON DUPLICATE KEY UPDATE} 문 하나에 묶어 DB 왕복 횟수를 줄입니다.</p>
+ */
+public class HealthEntryBulkRepositoryImpl implements HealthEntryBulkRepository {
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO health_entry
+            (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
+            VALUES\s""";
+
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    private static final String UPSERT_SUFFIX = """
+
+            ON DUPLICATE KEY UPDATE
+                steps = VALUES(steps),
+                distance_km = VALUES(distance_km),
+                calories_kcal = VALUES(calories_kcal),
+                updated_at = NOW()
+            """;
+
+    private static final String SELECT_FOR_UPDATE = """
+            SELECT started_at_kst, ended_at_kst, steps, distance_km, calories_kcal
+            FROM health_entry
+            WHERE record_key = ? AND started_at_kst BETWEEN ? AND ?
+            FOR UPDATE
+            """;
+
+    private static final int COLUMNS_PER_ROW = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    /**
+     * 청크 크기가 가득 찬 경우에 재사용하는 SQL
+     */
+    private final String fullChunkSql;
+
+    public HealthEntryBulkRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                         @Value("${health.upload.batch-size:500}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("health.upload.batch-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.fullChunkSql = upsertSql(batchSize);
+    }
+
+    @Override
+    public int bulkUpsert(String recordKey, List<HealthEntryRow> rows) {
+        int count = 0;
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            var chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            String sql = chunk.size() == batchSize ? fullChunkSql : upsertSql(chunk.size());
+
+            Object[] args = new Object[chunk.size() * COLUMNS_PER_ROW];
+            int i = 0;
+            for (var row : chunk) {
+                args[i++] = recordKey;
+                args[i++] = Timestamp.valueOf(row.startedAt());
+                args[i++] = Timestamp.valueOf(row.endedAt());
+                args[i++] = row.steps();
+                args[i++] = row.distance();
+                args[i++] = row.calories();
+            }
+
+            // ON DUPLICATE KEY UPDATE의 affected rows는 삽입 1, 변경 2, 동일 값 0으로 집계되므로
+            // 반환값 대신 문장이 성공한 청크의 항목 수를 저장 개수로 사용
+            jdbcTemplate.update(sql, args);
+            count += chunk.size();
+        }
+
+        return count;
+    }
+
+    @Override
+    public List<HealthEntryRow> findForUpdate(String recordKey, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(SELECT_FOR_UPDATE,
+                (rs, i) -> new HealthEntryRow(
+                        rs.getTimestamp(1).toLocalDateTime(),
+                        rs.getTimestamp(2).toLocalDateTime(),
+                        rs.getInt(3),
+                        rs.getBigDecimal(4),
+                        rs.getBigDecimal(5)),
+                recordKey, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static String upsertSql(int rowCount) {
+        var sb = new StringBuilder(INSERT_PREFIX.length() + UPSERT_SUFFIX.length()
+                + rowCount * (ROW_PLACEHOLDER.length() + 2));
+        sb.append(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(ROW_PLACEHOLDER);
+        }
+        return sb.append(UPSERT_SUFFIX).toString();
+    }
+}
@@ -0,0 +1,183 @@
+package com.kb.healthcare.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 원본 항목 압축 테이블({@code health_entry_compacted}) 저장소
+ *
+ * <p>압축/복원은 원본 항목과 압축 레코드를 함께 옮기므로, 반드시 한 트랜잭션에서
+ * 압축 레코드 → 원본 항목 순서로 잠근 뒤 호출되어야 합니다.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class HealthEntryCompactionRepository {
+
+    /**
+     * 압축 대상 사용자/날짜
+     */
+    public record UserDay(String recordKey, LocalDate day) {
+    }
+
+    /**
+     * 압축된 하루치 레코드
+     *
+     * @param entries 압축된 원본 항목
+     */
+    public record CompactedDay(LocalDate day, HealthTotals totals, int entryCount, byte[] entries) {
+    }
+
+    /**
+     * 보존 기간이 지났고 아직 압축하지 않은 사용자/날짜를 (record_key, 날짜) 순서로 조회 (일간 집계 테이블 기준)
+     */
+    private static final String SELECT_CANDIDATES = """
+            SELECT s.record_key, s.summary_date
+            FROM health_daily_summary s
+            LEFT JOIN health_entry_compacted c ON c.record_key = s.record_key AND c.summary_date = s.summary_date
+            WHERE s.summary_date < ? AND (s.record_key, s.summary_date) > (?, ?) AND c.id IS NULL
+            ORDER BY s.record_key, s.summary_date
+            LIMIT ?
+            """;
+
+    private static final String LOCK_DAYS = """
+            SELECT summary_date, steps, distance_km, calories_kcal, entry_count, entries
+            FROM health_entry_compacted
+            WHERE record_key = ? AND summary_date BETWEEN ? AND ?
+            FOR UPDATE
+            """;
+
+    private static final String LOCK_RAW = """
+            SELECT started_at_kst, ended_at_kst, steps, distance_km, calories_kcal
+            FROM health_entry
+            WHERE record_key = ? AND started_at_kst >= ? AND started_at_kst < ?
+            FOR UPDATE
+            """;
+
+    private static final String SAVE = """
+            INSERT INTO health_entry_compacted
+            (record_key, summary_date, steps, distance_km, calories_kcal, entry_count, entries, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+            ON DUPLICATE KEY UPDATE
+                steps = VALUES(steps),
+                distance_km = VALUES(distance_km),
+                calories_kcal = VALUES(calories_kcal),
+                entry_count = VALUES(entry_count),
+                entries = VALUES(entries),
+                updated_at = NOW()
+            """;
+
+    private static final String DELETE_RAW = """
+            DELETE FROM health_entry
+            WHERE record_key = ? AND started_at_kst >= ? AND started_at_kst < ?
+            """;
+
+    private static final String AGGREGATE_DAILY = """
+            SELECT summary_date, steps, distance_km, calories_kcal
+            FROM health_entry_compacted
+            WHERE record_key = ?
+            ORDER BY summary_date
+            """;
+
+    private static final String AGGREGATE_MONTHLY = """
+            SELECT YEAR(summary_date), MONTH(summary_date), SUM(steps), SUM(distance_km), SUM(calories_kcal)
+            FROM health_entry_compacted
+            WHERE record_key = ?
+            GROUP BY YEAR(summary_date), MONTH(summary_date)
+            ORDER BY YEAR(summary_date), MONTH(summary_date)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param before 이 날짜 이전(미포함)만 조회
+     * @param after  직전 페이지의 마지막 사용자/날짜 (첫 페이지는 빈 recordKey)
+     */
+    public List<UserDay> findCandidates(LocalDate before, UserDay after, int limit) {
+        return jdbcTemplate.query(SELECT_CANDIDATES,
+                (rs, i) -> new UserDay(rs.getString(1), rs.getDate(2).toLocalDate()),
+                Date.valueOf(before), after.recordKey(), Date.valueOf(after.day()), limit);
+    }
+
+    /**
+     * 날짜 구간(양 끝 포함)의 압축 레코드를 잠금 조회합니다. 레코드가 없는 구간도 잠기므로 그동안 다른 트랜잭션이 압축할 수 없습니다.
+     */
+    public List<CompactedDay> lockDays(String recordKey, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(LOCK_DAYS,
+                (rs, i) -> new CompactedDay(rs.getDate(1).toLocalDate(),
+                        new HealthTotals(rs.getInt(2), rs.getBigDecimal(3), rs.getBigDecimal(4)),
+                        rs.getInt(5), rs.getBytes(6)),
+                recordKey, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 시작 시각이 {@code [from, to)}인 원본 항목을 잠금 조회합니다.
+     */
+    public List<HealthEntryRow> lockRaw(String recordKey, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(LOCK_RAW,
+                (rs, i) -> new HealthEntryRow(
+                        rs.getTimestamp(1).toLocalDateTime(),
+                        rs.getTimestamp(2).toLocalDateTime(),
+                        rs.getInt(3),
+                        rs.getBigDecimal(4),
+                        rs.getBigDecimal(5)),
+                recordKey, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    public void save(String recordKey, List<CompactedDay> days) {
+        jdbcTemplate.batchUpdate(SAVE, days.stream()
+                .map(d -> new Object[]{recordKey, Date.valueOf(d.day()), d.totals().steps(),
+                        d.totals().distance(), d.totals().calories(), d.entryCount(), d.entries()})
+                .toList());
+    }
+
+    /**
+     * 날짜마다 그날 시작한 원본 항목을 삭제합니다.
+     *
+     * @return 삭제한 원본 항목 수
+     */
+    public int deleteRaw(String recordKey, List<LocalDate> days) {
+        int deleted = 0;
+        for (int count : jdbcTemplate.batchUpdate(DELETE_RAW, days.stream()
+                .map(day -> new Object[]{recordKey,
+                        Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay())})
+                .toList())) {
+            deleted += Math.max(count, 0);
+        }
+        return deleted;
+    }
+
+    /**
+     * 날짜 구간(양 끝 포함)의 압축 레코드를 삭제합니다.
+     */
+    public void deleteDays(String recordKey, LocalDate from, LocalDate to) {
+        jdbcTemplate.update("DELETE FROM health_entry_compacted WHERE record_key = ? AND summary_date BETWEEN ? AND ?",
+                recordKey, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * 압축된 날짜별 합계 ({@link HealthEntryRepository#aggregateDaily}와 같은 형식)
+     */
+    public List<DailyAggregate> aggregateDaily(String recordKey) {
+        return jdbcTemplate.query(AGGREGATE_DAILY,
+                (rs, i) -> new DailyAggregate(rs.getDate(1).toLocalDate(),
+                        rs.getLong(2), rs.getBigDecimal(3), rs.getBigDecimal(4)),
+                recordKey);
+    }
+
+    /**
+     * 압축된 연-월별 합계 ({@link HealthEntryRepository#aggregateMonthly}와 같은 형식)
+     */
+    public List<MonthlyAggregate> aggregateMonthly(String recordKey) {
+        return jdbcTemplate.query(AGGREGATE_MONTHLY,
+                (rs, i) -> new MonthlyAggregate(rs.getInt(1), rs.getInt(2),
+                        rs.getLong(3), rs.getBigDecimal(4), rs.getBigDecimal(5)),
+                recordKey);
+    }
+}
@@ -2,31 +2,28 @@ package com.kb.healthcare.repository;
 
 import com.kb.healthcare.domain.HealthEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 
-public interface HealthEntryRepository extends JpaRepository<HealthEntry, Long> {
-    @Modifying
-    @Query(value = """
-            INSERT INTO health_entry 
-            (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
-            VALUES (:recordKey, :startedAt, :endedAt, :steps, :distance, :calories, NOW(), NOW())
-            ON DUPLICATE KEY UPDATE
-                steps = VALUES(steps),
-                distance_km = VALUES(distance_km),
-                calories_kcal = VALUES(calories_kcal),
-                updated_at = NOW()
-            """, nativeQuery = true)
-    int upsertEntry(String recordKey,
-                    LocalDateTime startedAt,
-                    LocalDateTime endedAt,
-                    int steps,
-                    BigDecimal distance,
-                    BigDecimal calories);
+public interface HealthEntryRepository extends JpaRepository<HealthEntry, Long>, HealthEntryBulkRepository {
+    @Query("""
+            select new com.kb.healthcare.repository.DailyAggregate(
+                cast(e.startedAtKst as LocalDate), sum(e.steps), sum(e.distanceKm), sum(e.caloriesKcal))
+            from HealthEntry e
+            where e.recordKey = :recordKey
+            group by cast(e.startedAtKst as LocalDate)
+            order by cast(e.startedAtKst as LocalDate)
+            """)
+    List<DailyAggregate> aggregateDaily(String recordKey);
 
-    List<HealthEntry> findByRecordKeyOrderByStartedAtKst(String recordKey);
+    @Query("""
+            select new com.kb.healthcare.repository.MonthlyAggregate(
+                year(e.startedAtKst), month(e.startedAtKst), sum(e.steps), sum(e.distanceKm), sum(e.caloriesKcal))
+            from HealthEntry e
+            where e.recordKey = :recordKey
+            group by year(e.startedAtKst), month(e.startedAtKst)
+            order by year(e.startedAtKst), month(e.startedAtKst)
+            """)
+    List<MonthlyAggregate> aggregateMonthly(String recordKey);
 }
@@ -0,0 +1,18 @@
+package com.kb.healthcare.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * KST로 정규화된 헬스 데이터 한 건
+ *
+ * <p>업로드 요청의 항목(entry)을 DB에 일괄 저장하기 위한 중간 표현입니다.</p>
+ */
+public record HealthEntryRow(
+        LocalDateTime startedAt,
+        LocalDateTime endedAt,
+        int steps,
+        BigDecimal distance,
+        BigDecimal calories
+) {
+}
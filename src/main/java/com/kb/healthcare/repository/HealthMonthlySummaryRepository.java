@@ -0,0 +1,35 @@
+package com.kb.healthcare.repository;
+
+import com.kb.healthcare.domain.HealthMonthlySummary;
+import com.kb.healthcare.dto.health.HealthMonthlyResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface HealthMonthlySummaryRepository extends JpaRepository<HealthMonthlySummary, Long> {
+    /**
+     * 캐시 미스 시 채우지 않은 세그먼트 구간만 조회 (복제본이 있으면 복제본에서 실행)
+     *
+     * @param from 시작 연-월 (YYYY-MM, 포함)
+     * @param to   종료 연-월 (YYYY-MM, 포함)
+     */
+    @Transactional(readOnly = true)
+    @Query("""
+            select new com.kb.healthcare.dto.health.HealthMonthlyResponse(
+                s.summaryMonth, s.steps, s.caloriesKcal, s.distanceKm, s.recordKey)
+            from HealthMonthlySummary s
+            where s.recordKey = :recordKey
+              and s.summaryMonth between :from and :to
+            order by s.summaryMonth
+            """)
+    List<HealthMonthlyResponse> findMonthlyResponses(String recordKey, String from, String to);
+
+    /**
+     * 시작 연-월 없는 조회의 하한 (YYYY-MM, 데이터가 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    @Query("select min(s.summaryMonth) from HealthMonthlySummary s where s.recordKey = :recordKey")
+    String findFirstMonth(String recordKey);
+}
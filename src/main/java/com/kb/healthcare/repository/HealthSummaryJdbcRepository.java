@@ -0,0 +1,165 @@
+package com.kb.healthcare.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일간/월간 집계 테이블({@code health_daily_summary}, {@code health_monthly_summary}) 갱신 전용 저장소
+ *
+ * <p>업로드로 발생한 변화량을 기존 집계에 더하는 방식으로 갱신하므로,
+ * 반드시 원본 항목({@code health_entry}) upsert와 같은 트랜잭션에서 호출되어야 합니다.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class HealthSummaryJdbcRepository {
+
+    private static final String APPLY_DAILY = """
+            INSERT INTO health_daily_summary
+            (record_key, summary_date, steps, distance_km, calories_kcal, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, NOW(), NOW())
+            ON DUPLICATE KEY UPDATE
+                steps = steps + VALUES(steps),
+                distance_km = distance_km + VALUES(distance_km),
+                calories_kcal = calories_kcal + VALUES(calories_kcal),
+                updated_at = NOW()
+            """;
+
+    private static final String APPLY_MONTHLY = """
+            INSERT INTO health_monthly_summary
+            (record_key, summary_month, steps, distance_km, calories_kcal, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, NOW(), NOW())
+            ON DUPLICATE KEY UPDATE
+                steps = steps + VALUES(steps),
+                distance_km = distance_km + VALUES(distance_km),
+                calories_kcal = calories_kcal + VALUES(calories_kcal),
+                updated_at = NOW()
+            """;
+
+    private static final String REBUILD_DAILY = """
+            INSERT INTO health_daily_summary
+            (record_key, summary_date, steps, distance_km, calories_kcal, created_at, updated_at)
+            SELECT record_key, summary_date, SUM(steps), SUM(distance_km), SUM(calories_kcal), NOW(), NOW()
+            FROM (
+                SELECT record_key, DATE(started_at_kst) AS summary_date, steps, distance_km, calories_kcal
+                FROM health_entry
+                UNION ALL
+                SELECT record_key, summary_date, steps, distance_km, calories_kcal
+                FROM health_entry_compacted
+            ) e
+            GROUP BY record_key, summary_date
+            ON DUPLICATE KEY UPDATE
+                steps = VALUES(steps),
+                distance_km = VALUES(distance_km),
+                calories_kcal = VALUES(calories_kcal),
+                updated_at = NOW()
+            """;
+
+    private static final String REBUILD_MONTHLY = """
+            INSERT INTO health_monthly_summary
+            (record_key, summary_month, steps, distance_km, calories_kcal, created_at, updated_at)
+            SELECT record_key, summary_month, SUM(steps), SUM(distance_km), SUM(calories_kcal), NOW(), NOW()
+            FROM (
+                SELECT record_key, DATE_FORMAT(started_at_kst, '%Y-%m') AS summary_month, steps, distance_km, calories_kcal
+                FROM health_entry
+                UNION ALL
+                SELECT record_key, DATE_FORMAT(summary_date, '%Y-%m'), steps, distance_km, calories_kcal
+                FROM health_entry_compacted
+            ) e
+            GROUP BY record_key, summary_month
+            ON DUPLICATE KEY UPDATE
+                steps = VALUES(steps),
+                distance_km = VALUES(distance_km),
+                calories_kcal = VALUES(calories_kcal),
+                updated_at = NOW()
+            """;
+
+    private static final String REPLACE_DAILY = """
+            INSERT INTO health_daily_summary
+            (record_key, summary_date, steps, distance_km, calories_kcal, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, NOW(), NOW())
+            """;
+
+    private static final String REPLACE_MONTHLY = """
+            INSERT INTO health_monthly_summary
+            (record_key, summary_month, steps, distance_km, calories_kcal, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, NOW(), NOW())
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 일간/월간 변화량을 집계 테이블에 반영합니다.
+     *
+     * @param recordKey 사용자 식별 키
+     * @param daily     날짜별 변화량
+     * @param monthly   연-월(YYYY-MM)별 변화량
+     */
+    public void applyDeltas(String recordKey, Map<LocalDate, HealthTotals> daily, Map<String, HealthTotals> monthly) {
+        var dailyArgs = new ArrayList<Object[]>(daily.size());
+        daily.forEach((date, d) -> dailyArgs.add(
+                new Object[]{recordKey, Date.valueOf(date), d.steps(), d.distance(), d.calories()}));
+
+        var monthlyArgs = new ArrayList<Object[]>(monthly.size());
+        monthly.forEach((month, d) -> monthlyArgs.add(
+                new Object[]{recordKey, month, d.steps(), d.distance(), d.calories()}));
+
+        if (!dailyArgs.isEmpty()) jdbcTemplate.batchUpdate(APPLY_DAILY, dailyArgs);
+        if (!monthlyArgs.isEmpty()) jdbcTemplate.batchUpdate(APPLY_MONTHLY, monthlyArgs);
+    }
+
+    /**
+     * 원본 항목과 압축된 날짜 합계({@code health_entry_compacted})로부터 전체 사용자의 집계 테이블을 다시 계산합니다.
+     *
+     * <p>집계 테이블 도입 이전에 저장된 데이터를 채우기 위한 용도입니다.</p>
+     */
+    public void rebuildAll() {
+        jdbcTemplate.update(REBUILD_DAILY);
+        jdbcTemplate.update(REBUILD_MONTHLY);
+    }
+
+    /**
+     * 한 사용자의 일간/월간 집계 행을 잠급니다. (행이 없는 날짜/월의 자리도 간격 잠금으로 막음)
+     *
+     * <p>{@link #replace} 전에 같은 트랜잭션에서, 원본 항목을 합산하기 전에 호출해야 합니다. 이미 변화량을 반영한
+     * 업로드는 커밋될 때까지 기다려 합산에 포함되고, 이후의 업로드는 {@link #applyDeltas}에서 기다렸다가
+     * 교체된 집계 위에 변화량을 더하므로 재계산 중인 업로드가 집계에서 빠지지 않습니다.</p>
+     *
+     * @param recordKey 사용자 식별 키
+     */
+    public void lock(String recordKey) {
+        jdbcTemplate.queryForList("SELECT summary_date FROM health_daily_summary WHERE record_key = ? FOR UPDATE",
+                recordKey);
+        jdbcTemplate.queryForList("SELECT summary_month FROM health_monthly_summary WHERE record_key = ? FOR UPDATE",
+                recordKey);
+    }
+
+    /**
+     * 한 사용자의 집계 테이블을 주어진 GROUP BY 결과로 교체합니다.
+     *
+     * <p>합산 전에 {@link #lock}으로 집계 행을 잠근 트랜잭션에서 호출해야 합니다.</p>
+     *
+     * @param recordKey 사용자 식별 키
+     * @param daily     날짜별 합계
+     * @param monthly   연-월별 합계
+     */
+    public void replace(String recordKey, List<DailyAggregate> daily, List<MonthlyAggregate> monthly) {
+        jdbcTemplate.update("DELETE FROM health_daily_summary WHERE record_key = ?", recordKey);
+        jdbcTemplate.update("DELETE FROM health_monthly_summary WHERE record_key = ?", recordKey);
+
+        jdbcTemplate.batchUpdate(REPLACE_DAILY, daily.stream()
+                .map(d -> new Object[]{recordKey, Date.valueOf(d.day()),
+                        Math.toIntExact(d.steps()), d.distance(), d.calories()})
+                .toList());
+        jdbcTemplate.batchUpdate(REPLACE_MONTHLY, monthly.stream()
+                .map(m -> new Object[]{recordKey, m.yearMonth(),
+                        Math.toIntExact(m.steps()), m.distance(), m.calories()})
+                .toList());
+    }
+}
@@ -0,0 +1,28 @@
+package com.kb.healthcare.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * 걸음 수, 이동 거리(km), 소모 칼로리(kcal)의 합계 또는 변화량
+ */
+public record HealthTotals(
+        int steps,
+        BigDecimal distance,
+        BigDecimal calories
+) {
+    public static final HealthTotals ZERO = new HealthTotals(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    public static HealthTotals of(HealthEntryRow row) {
+        return new HealthTotals(row.steps(), row.distance(), row.calories());
+    }
+
+    public HealthTotals plus(HealthTotals other) {
+        return new HealthTotals(steps + other.steps,
+                distance.add(other.distance), calories.add(other.calories));
+    }
+
+    public HealthTotals minus(HealthTotals other) {
+        return new HealthTotals(steps - other.steps,
+                distance.subtract(other.distance), calories.subtract(other.calories));
+    }
+}
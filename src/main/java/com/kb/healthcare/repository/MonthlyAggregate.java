@@ -0,0 +1,27 @@
+package com.kb.healthcare.repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * 원본 항목을 연-월별로 합산한 GROUP BY 프로젝션
+ */
+public record MonthlyAggregate(
+        Integer year,
+        Integer month,
+        Long steps,
+        BigDecimal distance,
+        BigDecimal calories
+) {
+    /**
+     * @return 연-월 (YYYY-MM 형식)
+     */
+    public String yearMonth() {
+        return YearMonth.of(year, month).toString();
+    }
+
+    public MonthlyAggregate plus(MonthlyAggregate other) {
+        return new MonthlyAggregate(year, month, steps + other.steps,
+                distance.add(other.distance), calories.add(other.calories));
+    }
+}
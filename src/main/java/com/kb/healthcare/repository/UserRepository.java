@@ -2,13 +2,38 @@ package com.kb.healthcare.repository;
 
 import com.kb.healthcare.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * 이메일로 사용자 조회 (복제본이 있으면 복제본에서 실행, 로그인은 ReplicaLagGuard#onPrimary로 원본에서 실행)
+     */
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
     boolean existsByRecordKey(String recordKey);
-}
\ No newline at end of file
+
+    /**
+     * 사용자의 토큰 버전을 1 올립니다.
+     *
+     * @return 변경된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.recordKey = :recordKey")
+    int incrementTokenVersion(@Param("recordKey") String recordKey);
+
+    /**
+     * 토큰 버전을 올린 직후 읽으므로 복제 지연이 없는 원본에서 조회합니다.
+     */
+    @Transactional
+    @Query("select u.tokenVersion from User u where u.recordKey = :recordKey")
+    Optional<Integer> findTokenVersionByRecordKey(@Param("recordKey") String recordKey);
+}
@@ -7,16 +7,43 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.Collections;
 
+/**
+ * 인증된 사용자 정보
+ *
+ * <p>로그인 시에는 DB에서 읽은 {@link User}로, 이후 요청에서는 검증된 JWT 클레임만으로 만들어지므로
+ * 요청 인증에 DB 조회가 필요 없습니다. 클레임으로 만든 경우 비밀번호는 없습니다.</p>
+ */
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final String email;
+    private final String recordKey;
+    private final String passwordHash;
+    private final int tokenVersion;
 
     public CustomUserDetails(User user) {
-        this.user = user;
+        this(user.getEmail(), user.getRecordKey(), user.getPasswordHash(), user.getTokenVersion());
+    }
+
+    /**
+     * 검증된 JWT 클레임으로 만든 사용자 정보
+     */
+    public CustomUserDetails(String email, String recordKey, int tokenVersion) {
+        this(email, recordKey, null, tokenVersion);
+    }
+
+    private CustomUserDetails(String email, String recordKey, String passwordHash, int tokenVersion) {
+        this.email = email;
+        this.recordKey = recordKey;
+        this.passwordHash = passwordHash;
+        this.tokenVersion = tokenVersion;
     }
 
     public String getRecordKey() {
-        return user.getRecordKey();
+        return recordKey;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
     }
 
     @Override
@@ -26,12 +53,12 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return passwordHash;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.kb.healthcare.security;
 
+import com.kb.healthcare.datasource.ReplicaLagGuard;
 import com.kb.healthcare.domain.User;
 import com.kb.healthcare.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +14,17 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final ReplicaLagGuard replicaLagGuard;
 
+    /**
+     * 로그인 시 사용자를 원본에서 조회합니다.
+     *
+     * <p>발급할 토큰의 버전을 읽으므로, 로그아웃 직후 복제본의 지난 버전을 읽으면 이미 폐기된 버전의 토큰이 발급됩니다.
+     * 가입 직후 아직 복제되지 않은 사용자도 같은 이유로 원본에서 찾습니다.</p>
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = replicaLagGuard.onPrimary(() -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
         return new CustomUserDetails(user);
     }
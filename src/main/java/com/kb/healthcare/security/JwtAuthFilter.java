@@ -1,5 +1,6 @@
 package com.kb.healthcare.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -22,6 +23,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final JwtDenylist jwtDenylist;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -30,22 +32,46 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String email = jwtTokenProvider.validateAndGetSubject(token);
-            if (email != null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                var authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwtTokenProvider.validateAndGetClaims(token);
+            if (claims != null) {
+                CustomUserDetails userDetails = toUserDetails(claims);
+                if (userDetails != null && !jwtDenylist.isRevoked(userDetails.getRecordKey(), userDetails.getTokenVersion())) {
+                    var authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 검증된 클레임으로 사용자 정보를 만듭니다.
+     * recordKey 클레임이 없는 이전 형식의 토큰만 DB에서 recordKey를 조회합니다.
+     *
+     * <p>토큰 버전은 항상 클레임에서 읽고, 버전 클레임이 없는 토큰은 0으로 봅니다. DB의 현재 버전을 쓰면
+     * 로그아웃 후에도 이전 형식의 토큰이 폐기 목록을 통과하므로, 한 번이라도 로그아웃한 사용자의
+     * 이전 형식 토큰은 거부됩니다.</p>
+     */
+    private CustomUserDetails toUserDetails(Claims claims) {
+        String recordKey = claims.get(JwtTokenProvider.CLAIM_RECORD_KEY, String.class);
+        if (recordKey == null) {
+            try {
+                recordKey = ((CustomUserDetails) userDetailsService.loadUserByUsername(claims.getSubject())).getRecordKey();
+            } catch (UsernameNotFoundException e) {
+                return null;
+            }
+        }
+        Integer tokenVersion = claims.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Integer.class);
+        return new CustomUserDetails(claims.getSubject(), recordKey, tokenVersion == null ? 0 : tokenVersion);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        return path.startsWith("/api/auth/") ||
+        return path.equals("/api/auth/signup") ||
+                path.equals("/api/auth/login") ||
                 path.startsWith("/swagger") ||
                 path.startsWith("/v3/api-docs");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.kb.healthcare.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 폐기된 JWT 목록 (사용자별 최소 유효 토큰 버전)
+ *
+ * <p>로그아웃하면 사용자의 토큰 버전이 올라가고, 그보다 낮은 버전의 토큰은 모두 거부됩니다.
+ * 요청 인증은 프로세스 내 Caffeine 캐시만 확인하므로 DB/Redis 조회가 없습니다.</p>
+ *
+ * <p>폐기 내역은 {@value #DENYLIST_KEY} 해시에 보관하고 {@value #REVOKE_CHANNEL} 채널로 발행하여
+ * 모든 노드에 반영합니다. 토큰은 유효기간이 지나면 어차피 거부되므로, 항목은 유효기간만큼만 유지합니다.</p>
+ */
+@Slf4j
+@Component
+public class JwtDenylist implements MessageListener {
+
+    /**
+     * 폐기 메시지 채널 (메시지 본문: "recordKey minVersion revokedAtMillis")
+     */
+    public static final String REVOKE_CHANNEL = "auth:token:revoke";
+
+    /**
+     * 폐기 내역 해시 키 (필드: recordKey, 값: "minVersion revokedAtMillis")
+     */
+    private static final String DENYLIST_KEY = "auth:token:denylist";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration retention;
+    private final Cache<String, Integer> minVersions;
+
+    public JwtDenylist(StringRedisTemplate redisTemplate, JwtTokenProvider jwtTokenProvider) {
+        this.redisTemplate = redisTemplate;
+        this.retention = jwtTokenProvider.getValidity();
+        this.minVersions = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * 시작 시 유효기간 안의 폐기 내역을 불러오고, 지난 항목은 해시에서 제거합니다.
+     */
+    @PostConstruct
+    void load() {
+        try {
+            long cutoff = System.currentTimeMillis() - retention.toMillis();
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(DENYLIST_KEY);
+            entries.forEach((recordKey, value) -> {
+                if (!apply(recordKey + " " + value, cutoff)) {
+                    redisTemplate.opsForHash().delete(DENYLIST_KEY, recordKey);
+                }
+            });
+            log.info("[DENYLIST LOAD] entries={}", minVersions.estimatedSize());
+        } catch (RuntimeException e) {
+            log.warn("[DENYLIST LOAD FAILED] reason={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 토큰이 폐기되었는지 확인합니다.
+     */
+    public boolean isRevoked(String recordKey, int tokenVersion) {
+        Integer minVersion = minVersions.getIfPresent(recordKey);
+        return minVersion != null && tokenVersion < minVersion;
+    }
+
+    /**
+     * minVersion보다 낮은 버전의 토큰을 모두 폐기하고 다른 노드에 알립니다.
+     */
+    public void revoke(String recordKey, int minVersion) {
+        String value = minVersion + " " + System.currentTimeMillis();
+        minVersions.asMap().merge(recordKey, minVersion, Math::max);
+        redisTemplate.opsForHash().put(DENYLIST_KEY, recordKey, value);
+        redisTemplate.convertAndSend(REVOKE_CHANNEL, recordKey + " " + value);
+        log.info("[TOKEN REVOKE] recordKey={} minVersion={}", recordKey, minVersion);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        apply(new String(message.getBody(), StandardCharsets.UTF_8), 0);
+    }
+
+    /**
+     * @return revokedAt이 cutoff 이후라 반영했으면 {@code true}
+     */
+    private boolean apply(String entry, long cutoff) {
+        String[] parts = entry.split(" ");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            if (Long.parseLong(parts[2]) < cutoff) {
+                return false;
+            }
+            minVersions.asMap().merge(parts[0], Integer.parseInt(parts[1]), Math::max);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.kb.healthcare.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -9,41 +13,93 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
 public class JwtTokenProvider {
 
+    /**
+     * 사용자 recordKey 클레임
+     */
+    static final String CLAIM_RECORD_KEY = "rk";
+
+    /**
+     * 토큰 버전 클레임 ({@link JwtDenylist}로 폐기 여부를 판단)
+     */
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
     private final Key key;
+    private final JwtParser parser;
     private final long validityMillis;
 
+    /**
+     * 최근 서명 검증에 성공한 토큰의 클레임 (같은 토큰의 반복 요청에서 HMAC 검증 생략)
+     */
+    private final Cache<String, Claims> verified;
+
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration-seconds}") long validitySeconds
+            @Value("${jwt.expiration-seconds}") long validitySeconds,
+            @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheSize,
+            @Value("${jwt.verified-cache.ttl:30s}") Duration verifiedCacheTtl
     ) {
         if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
             throw new IllegalArgumentException("JWT secret must be at least 256 bits (32 bytes)");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.validityMillis = validitySeconds * 1000L;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(verifiedCacheTtl)
+                .build();
     }
 
-    public String generate(String subject) {
+    /**
+     * recordKey와 토큰 버전을 클레임으로 담은 토큰을 발급합니다.
+     * 요청 인증 시 이 클레임만으로 사용자 정보를 만들므로 DB를 조회하지 않습니다.
+     */
+    public String generate(String email, String recordKey, int tokenVersion) {
         Date now = new Date();
         return Jwts.builder()
-                .setSubject(subject)
+                .setSubject(email)
+                .claim(CLAIM_RECORD_KEY, recordKey)
+                .claim(CLAIM_TOKEN_VERSION, tokenVersion)
                 .setIssuedAt(now)
                 .setExpiration(new Date(now.getTime() + validityMillis))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String validateAndGetSubject(String token) {
+    /**
+     * 서명과 만료를 검증하고 클레임을 반환합니다.
+     *
+     * <p>최근에 검증한 토큰이면 서명 검증 없이 캐시된 클레임을 반환하되, 만료 시각은 매번 확인합니다.</p>
+     *
+     * @return 클레임, 유효하지 않은 토큰이면 {@code null}
+     */
+    public Claims validateAndGetClaims(String token) {
+        Claims cached = verified.getIfPresent(token);
+        if (cached != null) {
+            Date expiration = cached.getExpiration();
+            if (expiration == null || expiration.getTime() > System.currentTimeMillis()) {
+                return cached;
+            }
+            verified.invalidate(token);
+            return null;
+        }
+
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build()
-                    .parseClaimsJws(token).getBody().getSubject();
-        } catch (JwtException e) {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verified.put(token, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
-}
\ No newline at end of file
+
+    public Duration getValidity() {
+        return Duration.ofMillis(validityMillis);
+    }
+}
@@ -0,0 +1,69 @@
+package com.kb.healthcare.security;
+
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 비밀번호 해싱(BCrypt) 전용 실행기
+ *
+ * <p>로그인/회원가입의 BCrypt 연산을 요청 스레드가 아닌 크기가 제한된 스레드 풀에서 실행하여,
+ * 로그인이 몰려도 업로드/조회 요청을 처리할 Tomcat 스레드가 고갈되지 않도록 합니다.
+ * 대기열이 가득 차면 작업을 받지 않고 {@link ErrorCode#TOO_MANY_LOGIN_REQUESTS}(429)로 거부합니다.</p>
+ *
+ * <p>BCrypt는 CPU 작업이므로 가상 스레드 모드에서도 코어 수만큼의 플랫폼 스레드를 사용합니다.</p>
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 거부 시 Retry-After로 안내할 대기 시간
+     */
+    private final Duration retryAfter;
+
+    public PasswordHashExecutor(@Value("${auth.password-hash.threads:0}") int threads,
+                                @Value("${auth.password-hash.queue-capacity:64}") int queueCapacity,
+                                @Value("${auth.password-hash.retry-after:2s}") Duration retryAfter) {
+        // 0이면 CPU 코어 수 (BCrypt는 CPU 작업이므로 그 이상은 대기 시간만 늘어남)
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * 작업을 해싱 스레드 풀에 제출합니다.
+     *
+     * @throws CustomException 대기열이 가득 찬 경우 ({@link ErrorCode#TOO_MANY_LOGIN_REQUESTS})
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("[PASSWORD HASH REJECTED] queued={} active={}", executor.getQueue().size(), executor.getActiveCount());
+            throw new CustomException(ErrorCode.TOO_MANY_LOGIN_REQUESTS, retryAfter);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
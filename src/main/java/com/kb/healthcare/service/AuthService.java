@@ -5,31 +5,68 @@ import com.kb.healthcare.dto.auth.LoginRequest;
 import com.kb.healthcare.dto.auth.LoginResponse;
 import com.kb.healthcare.dto.auth.SignupRequest;
 import com.kb.healthcare.repository.UserRepository;
+import com.kb.healthcare.security.CustomUserDetails;
+import com.kb.healthcare.security.JwtDenylist;
 import com.kb.healthcare.security.JwtTokenProvider;
+import com.kb.healthcare.security.PasswordHashExecutor;
 import com.kb.healthcare.support.CustomException;
 import com.kb.healthcare.support.ErrorCode;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * 인증/인가 관련 비즈니스 로직을 처리하는 서비스
  *
- * <p>회원가입, 로그인 기능을 제공하며 JWT 토큰 기반 인증을 처리합니다.</p>
+ * <p>회원가입, 로그인, 로그아웃 기능을 제공하며 JWT 토큰 기반 인증을 처리합니다.
+ * 비밀번호 해싱/검증({@code encode}/{@code matches})만 {@link PasswordHashExecutor}에서 실행하고, 사용자 조회는 요청 스레드에서,
+ * 해싱 이후의 저장/토큰 발급은 애플리케이션 작업 실행기에서 이어서 실행하여 결과를 {@link CompletableFuture}로 반환합니다.
+ * 해싱 스레드가 DB 커넥션을 기다리느라 BCrypt 처리량이 줄지 않도록 하기 위함입니다.</p>
  *
  */
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
+    private final UserDetailsService userDetailsService;
     private final PasswordEncoder encoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final JwtDenylist jwtDenylist;
+    private final PasswordHashExecutor passwordHashExecutor;
+
+    /**
+     * 해싱 이후 작업(DB 저장, 토큰 발급)을 실행하는 실행기 (가상 스레드 모드에서는 가상 스레드)
+     */
+    private final Executor taskExecutor;
+
+    /**
+     * 없는 이메일로 로그인해도 BCrypt 검증 시간이 들도록 비교할 해시 (처음 필요할 때 해싱 스레드에서 생성)
+     */
+    private volatile String userNotFoundHash;
 
-    public void signup(SignupRequest req) {
+    public AuthService(UserRepository userRepository,
+                       UserDetailsService userDetailsService,
+                       PasswordEncoder encoder,
+                       JwtTokenProvider jwtTokenProvider,
+                       JwtDenylist jwtDenylist,
+                       PasswordHashExecutor passwordHashExecutor,
+                       @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.encoder = encoder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.jwtDenylist = jwtDenylist;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public CompletableFuture<Void> signup(SignupRequest req) {
         // 이메일 중복 검증
         if (userRepository.existsByEmail(req.email()))
             throw new CustomException(ErrorCode.DUPLICATE_EMAIL);
@@ -38,20 +75,55 @@ public class AuthService {
         if (userRepository.existsByRecordKey(req.recordKey()))
             throw new CustomException(ErrorCode.DUPLICATE_RECORD_KEY);
 
-        // 비밀번호 암호화 후 사용자 생성 및 저장
-        User user = new User(req.recordKey(), req.name(), req.nickname(),
-                req.email(), encoder.encode(req.password()));
-        userRepository.save(user);
+        // 비밀번호 암호화(해싱 스레드) 후 사용자 생성 및 저장(작업 실행기)
+        return passwordHashExecutor.submit(() -> encoder.encode(req.password()))
+                .thenAcceptAsync(passwordHash -> userRepository.save(
+                        new User(req.recordKey(), req.name(), req.nickname(), req.email(), passwordHash)), taskExecutor);
+    }
+
+    public CompletableFuture<LoginResponse> login(LoginRequest req) {
+        // 사용자 조회는 요청 스레드에서 (원본 DB)
+        CustomUserDetails user = findUser(req.email());
+
+        // BCrypt 검증만 해싱 스레드 풀에서 실행 (없는 사용자도 같은 시간이 들도록 더미 해시와 비교)
+        return passwordHashExecutor.submit(() -> encoder.matches(req.password(),
+                        user != null ? user.getPassword() : userNotFoundHash()))
+                .thenApplyAsync(matches -> {
+                    if (user == null || !matches) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+                    // 인증 성공 시 recordKey와 토큰 버전을 담은 JWT 토큰 생성 및 반환
+                    String token = jwtTokenProvider.generate(user.getUsername(), user.getRecordKey(), user.getTokenVersion());
+                    return new LoginResponse(token);
+                }, taskExecutor);
+    }
+
+    private CustomUserDetails findUser(String email) {
+        try {
+            return (CustomUserDetails) userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private String userNotFoundHash() {
+        String hash = userNotFoundHash;
+        if (hash == null) {
+            hash = encoder.encode("userNotFoundPassword");
+            userNotFoundHash = hash;
+        }
+        return hash;
     }
 
-    public LoginResponse login(LoginRequest req) {
-        // Spring Security를 통한 인증 처리
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.email(), req.password())
-        );
+    /**
+     * 사용자의 토큰 버전을 올려 지금까지 발급된 토큰을 모두 폐기합니다.
+     */
+    public void logout(CustomUserDetails user) {
+        // DB의 토큰 버전을 먼저 올려야 이후 로그인에서 새 버전의 토큰이 발급됨
+        userRepository.incrementTokenVersion(user.getRecordKey());
+        int tokenVersion = userRepository.findTokenVersionByRecordKey(user.getRecordKey())
+                .orElseThrow(() -> new CustomException(ErrorCode.FORBIDDEN));
 
-        // 인증 성공 시 JWT 토큰 생성 및 반환
-        String token = jwtTokenProvider.generate(req.email());
-        return new LoginResponse(token);
+        jwtDenylist.revoke(user.getRecordKey(), tokenVersion);
     }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.repository.HealthEntryRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 하루치 원본 항목을 {@code health_entry_compacted.entries} 한 컬럼에 담는 바이너리 형식
+ *
+ * <pre>
+ * version(1) count(varint)
+ * 항목마다: 시작 초 증가분(varint) 길이 초(zigzag) 걸음 수(zigzag) 거리 unscaled(zigzag) 칼로리 unscaled(zigzag)
+ * </pre>
+ *
+ * <p>항목은 (시작, 종료) 순으로 정렬하여 시작 시각을 직전 항목과의 차이로 기록하므로, 10분 단위 항목 하나가
+ * 보통 8~12바이트입니다. 값은 컬럼 스케일(거리 3자리, 칼로리 2자리)의 unscaled long으로 기록하여 그대로 복원됩니다.</p>
+ */
+final class CompactedSlots {
+
+    private static final byte VERSION = 1;
+    private static final int DISTANCE_SCALE = 3;
+    private static final int CALORIES_SCALE = 2;
+
+    private static final Comparator<HealthEntryRow> ORDER =
+            Comparator.comparing(HealthEntryRow::startedAt).thenComparing(HealthEntryRow::endedAt);
+
+    private CompactedSlots() {
+    }
+
+    /**
+     * @return 압축한 바이트, 그 날짜에 시작하지 않거나 초 미만 단위/컬럼 스케일이 아닌 값이 있어 그대로 복원할 수 없으면 {@code null}
+     */
+    static byte[] encode(LocalDate day, List<HealthEntryRow> rows) {
+        var sorted = new ArrayList<>(rows);
+        sorted.sort(ORDER);
+
+        var out = new Writer(16 + sorted.size() * 12);
+        out.buffer[out.size++] = VERSION;
+        out.varint(sorted.size());
+
+        long previous = day.toEpochDay() * 86_400L;
+        for (var row : sorted) {
+            if (!row.startedAt().toLocalDate().equals(day)
+                    || row.startedAt().getNano() != 0 || row.endedAt().getNano() != 0
+                    || !hasScale(row.distance(), DISTANCE_SCALE) || !hasScale(row.calories(), CALORIES_SCALE)) {
+                return null;
+            }
+            long started = epochSecond(row.startedAt());
+            out.varint(started - previous);
+            out.zigzag(epochSecond(row.endedAt()) - started);
+            out.zigzag(row.steps());
+            out.zigzag(row.distance().unscaledValue().longValueExact());
+            out.zigzag(row.calories().unscaledValue().longValueExact());
+            previous = started;
+        }
+        return Arrays.copyOf(out.buffer, out.size);
+    }
+
+    static List<HealthEntryRow> decode(LocalDate day, byte[] bytes) {
+        var in = new Reader(bytes);
+        if (in.bytes[in.position++] != VERSION) {
+            throw new IllegalArgumentException("Unsupported compacted entries version: " + bytes[0]);
+        }
+        int count = Math.toIntExact(in.varint());
+
+        var rows = new ArrayList<HealthEntryRow>(count);
+        long started = day.toEpochDay() * 86_400L;
+        for (int i = 0; i < count; i++) {
+            started += in.varint();
+            long ended = started + in.zigzag();
+            rows.add(new HealthEntryRow(
+                    LocalDateTime.ofEpochSecond(started, 0, ZoneOffset.UTC),
+                    LocalDateTime.ofEpochSecond(ended, 0, ZoneOffset.UTC),
+                    Math.toIntExact(in.zigzag()),
+                    BigDecimal.valueOf(in.zigzag(), DISTANCE_SCALE),
+                    BigDecimal.valueOf(in.zigzag(), CALORIES_SCALE)));
+        }
+        return rows;
+    }
+
+    private static boolean hasScale(BigDecimal value, int scale) {
+        return value != null && value.scale() == scale && value.unscaledValue().bitLength() < 64;
+    }
+
+    /**
+     * KST 로컬 시각을 그대로 UTC로 간주한 epoch 초 (날짜 경계 계산용)
+     */
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int size;
+
+        Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void varint(long value) {
+            if (buffer.length - size < 10) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2 + 10);
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long varint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.repository.HealthTotals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 고정 소수점(long) 기반 일간/월간 집계 변화량 계산
+ *
+ * <p>거리/칼로리는 컬럼 스케일(소수점 3자리/2자리)로 정규화되어 저장되므로, unscaled 값을 long으로 더하면
+ * {@link BigDecimal#add}와 같은 합계를 항목마다 BigDecimal을 만들지 않고 얻을 수 있습니다.
+ * 슬롯(시작/종료 시간)과 날짜는 박싱 없는 해시로 버킷 번호를 찾고, 항목은 한 번만 순회하며 버킷의 primitive 배열에
+ * 누적합니다. 월 합계는 항목이 아니라 날짜 버킷을 묶어 계산합니다.</p>
+ *
+ * <p>스케일이 컬럼과 다르거나 null 또는 초 단위 미만 시간이 있거나 long 합계가 넘칠 수 있는 입력은 계산하지 않고 {@code null}을 반환하며,
+ * 이때 {@link HealthRollupDelta}는 BigDecimal 계산으로 처리합니다.</p>
+ */
+final class FixedPointRollup {
+
+    static final int DISTANCE_SCALE = 3;
+    static final int CALORIES_SCALE = 2;
+
+    /**
+     * 항목 하나의 unscaled 값 크기 한도 (컬럼 precision 10 &lt; 2^34)
+     */
+    private static final int MAX_VALUE_BITS = 40;
+
+    /**
+     * 한 번에 계산하는 항목 수 한도 (2^21 × 2^41 &lt; 2^63 이므로 합계가 넘치지 않음)
+     */
+    private static final int MAX_ROWS = 1 << 21;
+
+    private FixedPointRollup() {
+    }
+
+    /**
+     * @return {@link HealthRollupDelta#between}와 같은 변화량, 고정 소수점으로 정확히 계산할 수 없는 입력이면 {@code null}
+     */
+    static HealthRollupDelta between(List<HealthEntryRow> existing, List<HealthEntryRow> rows) {
+        if (existing.size() + rows.size() > MAX_ROWS) {
+            return null;
+        }
+
+        // 슬롯별 현재 값 (같은 슬롯이 여러 번 나오면 마지막 값)
+        var slots = new PairIndex(existing.size() + rows.size());
+        var current = new Sums(existing.size() + rows.size());
+        for (var row : existing) {
+            if (!fits(row)) return null;
+            int slot = slots.intern(epochSecond(row.startedAt()), epochSecond(row.endedAt()));
+            current.set(slot, row.steps(), unscaled(row.distance()), unscaled(row.calories()));
+        }
+
+        // 항목마다 이전 값과의 차이를 날짜 버킷에 누적
+        var days = new PairIndex(16);
+        var daily = new Sums(16);
+        for (var row : rows) {
+            if (!fits(row)) return null;
+            long steps = row.steps();
+            long distance = unscaled(row.distance());
+            long calories = unscaled(row.calories());
+
+            int known = slots.size();
+            int slot = slots.intern(epochSecond(row.startedAt()), epochSecond(row.endedAt()));
+            int day = days.intern(row.startedAt().toLocalDate().toEpochDay(), 0);
+            if (slot < known) {
+                daily.add(day, steps - current.steps[slot], distance - current.distance[slot],
+                        calories - current.calories[slot]);
+            } else {
+                daily.add(day, steps, distance, calories);
+            }
+            current.set(slot, steps, distance, calories);
+        }
+
+        // 날짜 버킷을 월 버킷으로 묶음
+        var dailyTotals = new TreeMap<LocalDate, HealthTotals>();
+        var months = new PairIndex(16);
+        var monthly = new Sums(16);
+        for (int day = 0; day < days.size(); day++) {
+            LocalDate date = LocalDate.ofEpochDay(days.first(day));
+            dailyTotals.put(date, daily.totals(day));
+            int month = months.intern(date.getYear() * 12L + date.getMonthValue() - 1, 0);
+            monthly.add(month, daily.steps[day], daily.distance[day], daily.calories[day]);
+        }
+
+        var monthlyTotals = new TreeMap<String, HealthTotals>();
+        for (int month = 0; month < months.size(); month++) {
+            long epochMonth = months.first(month);
+            YearMonth yearMonth = YearMonth.of((int) Math.floorDiv(epochMonth, 12), (int) Math.floorMod(epochMonth, 12) + 1);
+            monthlyTotals.put(yearMonth.toString(), monthly.totals(month));
+        }
+
+        return new HealthRollupDelta(dailyTotals, monthlyTotals);
+    }
+
+    private static boolean fits(HealthEntryRow row) {
+        return row.startedAt().getNano() == 0 && row.endedAt().getNano() == 0
+                && fits(row.distance(), DISTANCE_SCALE) && fits(row.calories(), CALORIES_SCALE);
+    }
+
+    private static boolean fits(BigDecimal value, int scale) {
+        return value != null && value.scale() == scale && value.unscaledValue().bitLength() <= MAX_VALUE_BITS;
+    }
+
+    private static long unscaled(BigDecimal value) {
+        return value.unscaledValue().longValue();
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 버킷별 걸음 수, unscaled 거리/칼로리 합계
+     */
+    private static final class Sums {
+
+        long[] steps;
+        long[] distance;
+        long[] calories;
+
+        Sums(int capacity) {
+            steps = new long[Math.max(capacity, 1)];
+            distance = new long[steps.length];
+            calories = new long[steps.length];
+        }
+
+        void add(int bucket, long steps, long distance, long calories) {
+            ensure(bucket);
+            this.steps[bucket] += steps;
+            this.distance[bucket] += distance;
+            this.calories[bucket] += calories;
+        }
+
+        void set(int bucket, long steps, long distance, long calories) {
+            ensure(bucket);
+            this.steps[bucket] = steps;
+            this.distance[bucket] = distance;
+            this.calories[bucket] = calories;
+        }
+
+        /**
+         * 걸음 수는 기존 int 합계와 같게 하위 32비트만 사용
+         */
+        HealthTotals totals(int bucket) {
+            return new HealthTotals((int) steps[bucket],
+                    BigDecimal.valueOf(distance[bucket], DISTANCE_SCALE),
+                    BigDecimal.valueOf(calories[bucket], CALORIES_SCALE));
+        }
+
+        private void ensure(int bucket) {
+            if (bucket < steps.length) return;
+            int capacity = Math.max(bucket + 1, steps.length * 2);
+            steps = Arrays.copyOf(steps, capacity);
+            distance = Arrays.copyOf(distance, capacity);
+            calories = Arrays.copyOf(calories, capacity);
+        }
+    }
+
+    /**
+     * (long, long) 키에 추가된 순서대로 0부터 번호를 매기는 open addressing 해시
+     */
+    private static final class PairIndex {
+
+        private long[] firsts;
+        private long[] seconds;
+        private int size;
+
+        /**
+         * 키 번호 + 1 (0은 빈 칸)
+         */
+        private int[] table;
+
+        PairIndex(int expected) {
+            int capacity = Math.max(expected, 8);
+            firsts = new long[capacity];
+            seconds = new long[capacity];
+            table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        }
+
+        int size() {
+            return size;
+        }
+
+        long first(int index) {
+            return firsts[index];
+        }
+
+        /**
+         * @return 키의 번호, 처음 나온 키면 새 번호({@link #size()} - 1)
+         */
+        int intern(long first, long second) {
+            int mask = table.length - 1;
+            int i = hash(first, second) & mask;
+            for (int entry; (entry = table[i]) != 0; i = (i + 1) & mask) {
+                if (firsts[entry - 1] == first && seconds[entry - 1] == second) {
+                    return entry - 1;
+                }
+            }
+
+            if (size == firsts.length) {
+                firsts = Arrays.copyOf(firsts, size * 2);
+                seconds = Arrays.copyOf(seconds, size * 2);
+            }
+            firsts[size] = first;
+            seconds[size] = second;
+            table[i] = ++size;
+            if (size * 2 > table.length) {
+                rehash();
+            }
+            return size - 1;
+        }
+
+        private void rehash() {
+            table = new int[table.length * 2];
+            int mask = table.length - 1;
+            for (int index = 0; index < size; index++) {
+                int i = hash(firsts[index], seconds[index]) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = index + 1;
+            }
+        }
+
+        private static int hash(long first, long second) {
+            long h = first * 0x9E3779B97F4A7C15L + second;
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return (int) h;
+        }
+    }
+}
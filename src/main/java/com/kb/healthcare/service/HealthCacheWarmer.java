@@ -0,0 +1,135 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.cache.HealthAggregateCache;
+import com.kb.healthcare.cache.HealthSeriesLoader;
+import com.kb.healthcare.datasource.HealthShards;
+import com.kb.healthcare.datasource.ReplicaLagGuard;
+import com.kb.healthcare.repository.HealthDailySummaryRepository;
+import com.kb.healthcare.repository.HealthMonthlySummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 커밋 후 사용자의 일간/월간 캐시를 백그라운드에서 미리 채우는 작업 대기열
+ *
+ * <p>업로드는 이미 있는 해시의 바뀐 필드만 패치하므로, 해시가 없는 사용자(첫 동기화, TTL 만료, 집계 재계산 후
+ * 무효화)는 동기화 직후의 첫 조회가 DB를 읽게 됩니다. 커밋되면 {@link #schedule}로 recordKey를 등록하고,
+ * 작업 스레드가 집계 테이블에서 최근 세그먼트(일간은 이번 달과 지난달, 월간은 올해와 작년)만 읽어 없는 부분을 채웁니다.</p>
+ *
+ * <p>대기열은 크기가 제한되며 recordKey 단위로 중복을 제거합니다 (아직 시작하지 않은 작업이 있으면 다시 등록하지 않음).
+ * 가득 차면 작업을 버리고, 해당 사용자는 다음 조회 때 채워집니다.</p>
+ */
+@Slf4j
+@Component
+public class HealthCacheWarmer implements DisposableBean {
+
+    private final HealthAggregateCache cache;
+    private final HealthDailySummaryRepository dailySummaryRepository;
+    private final HealthMonthlySummaryRepository monthlySummaryRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final HealthShards shards;
+    private final boolean enabled;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * 대기 중인 (아직 시작하지 않은) recordKey
+     */
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final Counter warmed;
+    private final Counter skipped;
+    private final Counter dropped;
+
+    public HealthCacheWarmer(HealthAggregateCache cache,
+                             HealthDailySummaryRepository dailySummaryRepository,
+                             HealthMonthlySummaryRepository monthlySummaryRepository,
+                             ReplicaLagGuard replicaLagGuard,
+                             HealthShards shards,
+                             MeterRegistry meterRegistry,
+                             @Value("${health.cache.warm.enabled:true}") boolean enabled,
+                             @Value("${health.cache.warm.threads:2}") int threads,
+                             @Value("${health.cache.warm.queue-capacity:1000}") int queueCapacity) {
+        this.cache = cache;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.replicaLagGuard = replicaLagGuard;
+        this.shards = shards;
+        this.enabled = enabled;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("health-cache-warm-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.warmed = counter(meterRegistry, "warmed");
+        this.skipped = counter(meterRegistry, "skipped");
+        this.dropped = counter(meterRegistry, "dropped");
+    }
+
+    /**
+     * @param result warmed: 해시를 채움, skipped: 해시가 이미 있거나 다른 곳에서 채우는 중, dropped: 대기열이 가득 차 버림
+     */
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("health.cache.warm")
+                .description("업로드 커밋 후 캐시 미리 채우기 결과별 횟수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 사용자의 캐시 채우기를 예약합니다. 이미 대기 중이면 무시합니다.
+     */
+    public void schedule(String recordKey) {
+        if (!enabled || !queued.add(recordKey)) return;
+        try {
+            executor.execute(() -> warm(recordKey));
+        } catch (RejectedExecutionException e) {
+            queued.remove(recordKey);
+            dropped.increment();
+            log.debug("[CACHE WARM DROPPED] recordKey={} (대기열 가득 참)", recordKey);
+        }
+    }
+
+    private void warm(String recordKey) {
+        // 실행 중에 커밋된 업로드는 다시 예약될 수 있도록 시작 시점에 대기 목록에서 제거
+        queued.remove(recordKey);
+        try (var ignored = shards.bind(recordKey)) {
+            // 커밋 직후이므로 복제본에 아직 반영되지 않았을 수 있음 (원본에서 읽음)
+            boolean daily = cache.warmDaily(recordKey, HealthSeriesLoader.of(
+                    (from, to) -> replicaLagGuard.read(recordKey,
+                            () -> dailySummaryRepository.findDailyResponses(recordKey, from, to)),
+                    () -> replicaLagGuard.read(recordKey, () -> dailySummaryRepository.findFirstDate(recordKey))));
+            boolean monthly = cache.warmMonthly(recordKey, HealthSeriesLoader.of(
+                    (from, to) -> replicaLagGuard.read(recordKey,
+                            () -> monthlySummaryRepository.findMonthlyResponses(recordKey, from.toString(), to.toString())),
+                    () -> replicaLagGuard.read(recordKey, () -> {
+                        String first = monthlySummaryRepository.findFirstMonth(recordKey);
+                        return first == null ? null : YearMonth.parse(first);
+                    })));
+            if (daily || monthly) {
+                warmed.increment();
+                log.debug("[CACHE WARM] recordKey={} daily={} monthly={}", recordKey, daily, monthly);
+            } else {
+                skipped.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("[CACHE WARM FAILED] recordKey={} reason={}", recordKey, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,259 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.datasource.HealthShards;
+import com.kb.healthcare.repository.HealthEntryCompactionRepository;
+import com.kb.healthcare.repository.HealthEntryCompactionRepository.CompactedDay;
+import com.kb.healthcare.repository.HealthEntryCompactionRepository.UserDay;
+import com.kb.healthcare.repository.HealthEntryRepository;
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.repository.HealthTotals;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 보존 기간이 지난 원본 항목을 사용자/날짜 단위 압축 레코드로 옮기는 작업
+ *
+ * <p>{@code health.entry.compaction.enabled=true}이면 {@code health.entry.compaction.cron}마다
+ * {@code retention-days}일 이전의 날짜를 {@code batch-days}개씩 나누어, 배치마다 한 트랜잭션에서
+ * 하루치 원본 항목을 {@code health_entry_compacted} 한 행({@link CompactedSlots})으로 옮기고 원본을 삭제합니다.
+ * 배치 사이에는 {@code pause}만큼 쉬어 업로드와 복제 지연에 주는 영향을 제한합니다.</p>
+ *
+ * <p>일간/월간 집계 테이블은 건드리지 않으므로 조회 결과는 압축 전후로 같습니다.
+ * 집계 재계산은 원본 항목과 압축 레코드를 함께 합산합니다.</p>
+ *
+ * <p>압축된 날짜에 늦은 업로드가 들어오면 업로드 트랜잭션 안에서 {@link #restore}가 그 날짜를 원본 항목으로 되돌리므로,
+ * 덮어쓴 항목의 이전 값을 빼는 변화량 계산이 압축 전과 똑같이 동작합니다. 되돌린 날짜는 다음 실행에서 다시 압축됩니다.</p>
+ */
+@Slf4j
+@Component
+public class HealthEntryCompactor {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final UserDay FIRST = new UserDay("", LocalDate.EPOCH);
+
+    private final HealthEntryCompactionRepository compactionRepository;
+    private final HealthEntryRepository entryRepository;
+    private final HealthShards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int batchDays;
+    private final Duration pause;
+
+    /**
+     * 실행 중인 압축 작업 (한 노드에서 겹쳐 실행하지 않음)
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter compactedDays;
+    private final Counter skippedDays;
+    private final Counter deletedEntries;
+    private final Counter restoredDays;
+
+    public HealthEntryCompactor(HealthEntryCompactionRepository compactionRepository,
+                                HealthEntryRepository entryRepository,
+                                HealthShards shards,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${health.entry.compaction.enabled:false}") boolean enabled,
+                                @Value("${health.entry.compaction.retention-days:90}") int retentionDays,
+                                @Value("${health.entry.compaction.batch-days:100}") int batchDays,
+                                @Value("${health.entry.compaction.pause:200ms}") Duration pause) {
+        if (retentionDays < 1 || batchDays < 1) {
+            throw new IllegalArgumentException("health.entry.compaction.retention-days and batch-days must be positive");
+        }
+        this.compactionRepository = compactionRepository;
+        this.entryRepository = entryRepository;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.batchDays = batchDays;
+        this.pause = pause;
+
+        this.compactedDays = dayCounter(meterRegistry, "compacted");
+        this.skippedDays = dayCounter(meterRegistry, "skipped");
+        this.restoredDays = dayCounter(meterRegistry, "restored");
+        this.deletedEntries = Counter.builder("health.compaction.entries.deleted")
+                .description("압축 후 삭제한 원본 항목 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param result compacted: 압축함, skipped: 그대로 복원할 수 없는 값이 있어 원본으로 남김, restored: 늦은 업로드로 원본으로 되돌림
+     */
+    private static Counter dayCounter(MeterRegistry registry, String result) {
+        return Counter.builder("health.compaction.days")
+                .description("원본 항목 압축 결과별 사용자-날짜 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 보존 기간이 지난 날짜를 모두 압축합니다. 여러 노드에서 동시에 실행되어도 같은 날짜는 잠금으로 한 번만 옮겨집니다.
+     */
+    @Scheduled(cron = "${health.entry.compaction.cron:0 30 3 * * *}", zone = "Asia/Seoul")
+    public void compact() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+        try {
+            compactBefore(LocalDate.now(KST).minusDays(retentionDays));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * {@code before} 이전(미포함) 날짜를 샤드마다 차례로 압축합니다.
+     */
+    void compactBefore(LocalDate before) {
+        for (int shard = 0; shard < shards.count() && !Thread.currentThread().isInterrupted(); shard++) {
+            try (var ignored = shards.bindShard(shard)) {
+                compactShard(shard, before);
+            }
+        }
+    }
+
+    private void compactShard(int shard, LocalDate before) {
+        long started = System.currentTimeMillis();
+        long days = 0;
+        long deleted = 0;
+
+        UserDay cursor = FIRST;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<UserDay> batch = compactionRepository.findCandidates(before, cursor, batchDays);
+            if (batch.isEmpty()) break;
+            cursor = batch.get(batch.size() - 1);
+
+            // 같은 사용자의 연속된 날짜를 한 구간으로 묶어 배치 전체를 한 트랜잭션에서 처리
+            var ranges = new LinkedHashMap<String, LocalDate[]>();
+            for (UserDay userDay : batch) {
+                ranges.computeIfAbsent(userDay.recordKey(), k -> new LocalDate[]{userDay.day(), userDay.day()})[1] = userDay.day();
+            }
+            try {
+                Integer removed = transactionTemplate.execute(status -> {
+                    int count = 0;
+                    for (var range : ranges.entrySet()) {
+                        count += compactDays(range.getKey(), range.getValue()[0], range.getValue()[1]);
+                    }
+                    return count;
+                });
+                days += batch.size();
+                deleted += removed == null ? 0 : removed;
+            } catch (DataAccessException e) {
+                // 업로드와 잠금이 엇갈린 배치는 다음 실행에서 다시 시도
+                log.warn("[COMPACTION BATCH FAILED] shard={} from={} reason={}", shard, batch.get(0), e.getMessage());
+            }
+
+            if (!sleep(pause)) break;
+        }
+
+        log.info("[COMPACTION] shard={} before={} days={} deletedEntries={} ({}ms)",
+                shard, before, days, deleted, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * 한 사용자의 날짜 구간(양 끝 포함)을 압축합니다. 압축 레코드 → 원본 항목 순서로 잠가 {@link #restore}와 잠금 순서를 맞춥니다.
+     *
+     * @return 삭제한 원본 항목 수
+     */
+    private int compactDays(String recordKey, LocalDate from, LocalDate to) {
+        var existing = new TreeMap<LocalDate, CompactedDay>();
+        for (var day : compactionRepository.lockDays(recordKey, from, to)) {
+            existing.put(day.day(), day);
+        }
+
+        var rawByDay = new TreeMap<LocalDate, List<HealthEntryRow>>();
+        for (var row : compactionRepository.lockRaw(recordKey, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            rawByDay.computeIfAbsent(row.startedAt().toLocalDate(), d -> new ArrayList<>()).add(row);
+        }
+
+        var compacted = new ArrayList<CompactedDay>(rawByDay.size());
+        for (var entry : rawByDay.entrySet()) {
+            LocalDate day = entry.getKey();
+            var rows = merge(existing.get(day), entry.getValue());
+            byte[] encoded = CompactedSlots.encode(day, rows);
+            if (encoded == null) {
+                skippedDays.increment();
+                log.debug("[COMPACTION SKIP] recordKey={} day={} (그대로 복원할 수 없는 항목)", recordKey, day);
+                continue;
+            }
+            var totals = rows.stream().map(HealthTotals::of).reduce(HealthTotals::plus).orElse(HealthTotals.ZERO);
+            compacted.add(new CompactedDay(day, totals, rows.size(), encoded));
+        }
+        if (compacted.isEmpty()) return 0;
+
+        compactionRepository.save(recordKey, compacted);
+        int deleted = compactionRepository.deleteRaw(recordKey, compacted.stream().map(CompactedDay::day).toList());
+        compactedDays.increment(compacted.size());
+        deletedEntries.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * 이미 압축된 항목에 원본 항목을 합칩니다. 같은 (시작, 종료) 항목은 원본 값이 우선합니다.
+     */
+    private static List<HealthEntryRow> merge(CompactedDay compacted, List<HealthEntryRow> raw) {
+        if (compacted == null) return raw;
+        var merged = new LinkedHashMap<List<LocalDateTime>, HealthEntryRow>();
+        for (var row : CompactedSlots.decode(compacted.day(), compacted.entries())) {
+            merged.put(List.of(row.startedAt(), row.endedAt()), row);
+        }
+        for (var row : raw) {
+            merged.put(List.of(row.startedAt(), row.endedAt()), row);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * 시작 시각이 {@code [from, to]}에 걸친 날짜 중 압축된 날짜를 원본 항목으로 되돌립니다.
+     *
+     * <p>업로드 트랜잭션 안에서 기존 항목을 잠금 조회하기 전에 호출해야 하며, 집계 테이블은 바뀌지 않습니다.
+     * 압축된 날짜가 없으면 압축 테이블의 인덱스 구간 잠금 조회 한 번으로 끝납니다.</p>
+     */
+    public void restore(String recordKey, LocalDateTime from, LocalDateTime to) {
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate lastDay = to.toLocalDate();
+        var days = compactionRepository.lockDays(recordKey, firstDay, lastDay);
+        if (days.isEmpty()) return;
+
+        var rows = new ArrayList<HealthEntryRow>();
+        for (var day : days) {
+            rows.addAll(CompactedSlots.decode(day.day(), day.entries()));
+        }
+        entryRepository.bulkUpsert(recordKey, rows);
+        compactionRepository.deleteDays(recordKey, firstDay, lastDay);
+        restoredDays.increment(days.size());
+        log.debug("[COMPACTION RESTORE] recordKey={} days={} entries={}", recordKey, days.size(), rows.size());
+    }
+
+    /**
+     * @return 대기 중 인터럽트되면 {@code false}
+     */
+    private static boolean sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) return true;
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.datasource.HealthShards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * {@code health_entry} 월 단위 파티션 관리 작업
+ *
+ * <p>기동 시와 매일 {@code health.entry.partition.cron}마다, 이번 달부터 {@code health.entry.partition.months-ahead}개월
+ * 뒤까지의 파티션이 없으면 비어 있는 {@value #FUTURE} 파티션을 나누어 미리 만듭니다.
+ * 업로드가 들어오기 전에 만들어 두므로 재구성할 데이터가 없어 빠르게 끝납니다.</p>
+ *
+ * <p>{@code health.entry.partition.enabled=true}일 때만 등록되며, 테이블이 파티션 테이블이 아니면
+ * 경고만 남깁니다 ({@code db/health_entry_partitioned.sql} 참고).</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "health.entry.partition.enabled", havingValue = "true")
+public class HealthEntryPartitionManager {
+
+    private static final String TABLE = "health_entry";
+
+    /**
+     * 마지막 월 파티션 이후의 모든 값을 받는 파티션
+     */
+    private static final String FUTURE = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final String SELECT_PARTITIONS = """
+            SELECT PARTITION_NAME, PARTITION_DESCRIPTION
+            FROM information_schema.PARTITIONS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+            ORDER BY PARTITION_ORDINAL_POSITION
+            """;
+
+    private record Partition(String name, String description) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HealthShards shards;
+    private final int monthsAhead;
+
+    public HealthEntryPartitionManager(JdbcTemplate jdbcTemplate,
+                                       HealthShards shards,
+                                       @Value("${health.entry.partition.months-ahead:3}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = shards;
+        this.monthsAhead = monthsAhead;
+    }
+
+    /**
+     * 샤드마다 필요한 월 파티션을 만듭니다. 여러 노드가 동시에 실행해 먼저 만든 노드가 있으면 나머지는 실패 로그만 남깁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${health.entry.partition.cron:0 0 3 * * *}", zone = "Asia/Seoul")
+    public void ensurePartitions() {
+        for (int shard = 0; shard < shards.count(); shard++) {
+            try (var ignored = shards.bindShard(shard)) {
+                ensurePartitions(shard);
+            }
+        }
+    }
+
+    private void ensurePartitions(int shard) {
+        List<Partition> partitions = jdbcTemplate.query(SELECT_PARTITIONS,
+                (rs, i) -> new Partition(rs.getString(1), rs.getString(2)), TABLE);
+        if (partitions.size() < 2 || !FUTURE.equals(partitions.get(partitions.size() - 1).name())) {
+            log.warn("[PARTITION SKIP] shard={} {}가 {} 파티션으로 끝나는 파티션 테이블이 아님 (db/health_entry_partitioned.sql 참고)",
+                    shard, TABLE, FUTURE);
+            return;
+        }
+
+        // 마지막 월 파티션의 상한이 다음에 만들 파티션의 시작
+        YearMonth next = YearMonth.from(boundary(partitions.get(partitions.size() - 2).description()));
+        YearMonth until = YearMonth.now(KST).plusMonths(monthsAhead);
+        if (next.isAfter(until)) {
+            return;
+        }
+
+        var definitions = new StringJoiner(", ");
+        for (YearMonth month = next; !month.isAfter(until); month = month.plusMonths(1)) {
+            definitions.add("PARTITION %s VALUES LESS THAN ('%s')".formatted(
+                    month.format(PARTITION_NAME), month.plusMonths(1).atDay(1)));
+        }
+        definitions.add("PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE)");
+
+        try {
+            long started = System.currentTimeMillis();
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE + " INTO (" + definitions + ")");
+            log.info("[PARTITION CREATE] shard={} {} {} ~ {} ({}ms)", shard, TABLE, next, until, System.currentTimeMillis() - started);
+        } catch (DataAccessException e) {
+            log.warn("[PARTITION CREATE FAILED] shard={} {} {} ~ {} reason={}", shard, TABLE, next, until, e.getMessage());
+        }
+    }
+
+    /**
+     * @param description RANGE COLUMNS 파티션 상한 (예: {@code '2026-11-01'} 또는 {@code '2026-11-01 00:00:00'})
+     */
+    private static LocalDate boundary(String description) {
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+}
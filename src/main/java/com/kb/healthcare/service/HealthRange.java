@@ -0,0 +1,37 @@
+package com.kb.healthcare.service;
+
+import java.util.Objects;
+
+/**
+ * 일간/월간 통계 조회 구간과 키셋(keyset) 페이지 조건
+ *
+ * @param from  조회 시작 (포함, null이면 제한 없음)
+ * @param to    조회 종료 (포함, null이면 제한 없음)
+ * @param after 이전 페이지의 마지막 날짜/월 커서 (제외, null이면 첫 페이지)
+ * @param limit 최대 조회 개수 (null이면 제한 없음)
+ * @param <T>   날짜({@link java.time.LocalDate}) 또는 연-월({@link java.time.YearMonth})
+ */
+public record HealthRange<T>(T from, T to, T after, Integer limit) {
+
+    private static final HealthRange<?> ALL = new HealthRange<>(null, null, null, null);
+
+    @SuppressWarnings("unchecked")
+    public static <T> HealthRange<T> all() {
+        return (HealthRange<T>) ALL;
+    }
+
+    /**
+     * @return 전체 기간 조회 여부
+     */
+    public boolean isAll() {
+        return from == null && to == null && after == null && limit == null;
+    }
+
+    /**
+     * @return 구간별 캐시 키에 붙일 접미사
+     */
+    public String cacheSuffix() {
+        return "::" + Objects.toString(from, "") + "~" + Objects.toString(to, "")
+                + "@" + Objects.toString(after, "") + "#" + Objects.toString(limit, "");
+    }
+}
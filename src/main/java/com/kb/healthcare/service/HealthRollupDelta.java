@@ -0,0 +1,74 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.repository.HealthTotals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 업로드 항목이 일간/월간 집계에 주는 변화량
+ *
+ * <p>이미 저장된 슬롯(시작/종료 시간이 같은 항목)을 덮어쓰는 경우 이전 값을 빼고 새 값을 더하므로,
+ * 변화량을 집계 테이블에 더하면 원본 항목을 다시 합산한 결과와 정확히 일치합니다.</p>
+ *
+ * <p>계산은 {@link FixedPointRollup}의 고정 소수점 합산으로 하며, 컬럼 스케일이 아닌 값이 섞인 경우에만
+ * 항목마다 BigDecimal로 더합니다.</p>
+ */
+record HealthRollupDelta(
+        Map<LocalDate, HealthTotals> daily,
+        Map<String, HealthTotals> monthly
+) {
+
+    private record Slot(LocalDateTime startedAt, LocalDateTime endedAt) {
+    }
+
+    /**
+     * @param existing upsert 전에 저장되어 있던 항목
+     * @param rows     upsert 할 항목 (같은 슬롯이 여러 번 나오면 마지막 값이 저장됨)
+     */
+    static HealthRollupDelta between(List<HealthEntryRow> existing, List<HealthEntryRow> rows) {
+        var delta = FixedPointRollup.between(existing, rows);
+        return delta != null ? delta : betweenDecimal(existing, rows);
+    }
+
+    /**
+     * {@link #between}의 BigDecimal 계산 (고정 소수점으로 계산할 수 없는 입력 및 동등성 검증용)
+     */
+    static HealthRollupDelta betweenDecimal(List<HealthEntryRow> existing, List<HealthEntryRow> rows) {
+        var current = new HashMap<Slot, HealthTotals>(existing.size() * 2);
+        for (var row : existing) {
+            current.put(new Slot(row.startedAt(), row.endedAt()), HealthTotals.of(row));
+        }
+
+        var daily = new TreeMap<LocalDate, HealthTotals>();
+        var monthly = new TreeMap<String, HealthTotals>();
+        for (var row : rows) {
+            var next = HealthTotals.of(row);
+            var prev = current.put(new Slot(row.startedAt(), row.endedAt()), next);
+            var delta = prev == null ? next : next.minus(prev);
+
+            LocalDate date = row.startedAt().toLocalDate();
+            daily.merge(date, delta, HealthTotals::plus);
+            monthly.merge(YearMonth.from(date).toString(), delta, HealthTotals::plus);
+        }
+
+        return new HealthRollupDelta(daily, monthly);
+    }
+
+    /**
+     * 순서대로 적용한 두 변화량의 합 (청크 단위로 나누어 저장한 업로드의 전체 변화량)
+     */
+    HealthRollupDelta plus(HealthRollupDelta other) {
+        var daily = new TreeMap<>(this.daily);
+        other.daily.forEach((date, delta) -> daily.merge(date, delta, HealthTotals::plus));
+        var monthly = new TreeMap<>(this.monthly);
+        other.monthly.forEach((month, delta) -> monthly.merge(month, delta, HealthTotals::plus));
+        return new HealthRollupDelta(daily, monthly);
+    }
+}
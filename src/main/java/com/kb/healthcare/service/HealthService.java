@@ -1,23 +1,51 @@
 package com.kb.healthcare.service;
 
-import com.kb.healthcare.domain.HealthEntry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.cache.HealthAggregateCache;
+import com.kb.healthcare.cache.HealthSeriesLoader;
+import com.kb.healthcare.cache.HealthUploadGate;
+import com.kb.healthcare.datasource.HealthShards;
+import com.kb.healthcare.datasource.ReplicaLagGuard;
 import com.kb.healthcare.dto.health.HealthDailyResponse;
 import com.kb.healthcare.dto.health.HealthMonthlyResponse;
 import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.repository.DailyAggregate;
+import com.kb.healthcare.repository.HealthDailySummaryRepository;
+import com.kb.healthcare.repository.HealthEntryCompactionRepository;
 import com.kb.healthcare.repository.HealthEntryRepository;
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.repository.HealthMonthlySummaryRepository;
+import com.kb.healthcare.repository.MonthlyAggregate;
+import com.kb.healthcare.repository.HealthSummaryJdbcRepository;
+import com.kb.healthcare.repository.HealthTotals;
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
 import com.kb.healthcare.util.HealthNormalizer;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
-import java.time.Duration;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * 헬스 데이터 관리 서비스
@@ -25,222 +53,632 @@ import java.util.stream.Collectors;
  * <p>사용자의 헬스 데이터(걸음 수, 이동 거리, 소모 칼로리)를 업로드하고,
  * 일간/월간 단위로 집계된 통계 데이터를 조회하는 기능을 제공합니다.</p>
  *
- * <p>성능 최적화를 위해 Redis 캐싱을 활용하며, 데이터 업로드 시 관련 캐시를 자동으로 무효화합니다.</p>
+ * <p>일간/월간 통계는 업로드 시 변화량으로 갱신되는 집계 테이블에서 조회하며,
+ * 성능 최적화를 위해 로컬(L1) + Redis(L2) 2단계 캐싱을 활용하고, 데이터 업로드 시
+ * Redis 해시의 바뀐 날짜/월 필드만 갱신합니다. 해시가 없는 사용자는 커밋 후 {@link HealthCacheWarmer}가
+ * 백그라운드에서 채워, 동기화 직후의 첫 조회도 캐시에서 응답합니다.</p>
+ *
+ * <p>업로드 시간/항목 수, lastUpdate로 건너뛴 업로드 수, DB 작업 시간, 집계 계산 시간을
+ * Micrometer로 기록합니다 ({@code health.upload.*}, {@code health.db.duration}, {@code health.aggregation.duration}).</p>
  *
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class HealthService {
 
     private final HealthEntryRepository entryRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final HealthDailySummaryRepository dailySummaryRepository;
+    private final HealthMonthlySummaryRepository monthlySummaryRepository;
+    private final HealthSummaryJdbcRepository summaryRepository;
+    private final HealthAggregateCache cache;
+    private final HealthUploadGate uploadGate;
+    private final HealthCacheWarmer cacheWarmer;
+    private final HealthEntryCompactor compactor;
+    private final HealthEntryCompactionRepository compactionRepository;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final HealthShards shards;
     private final HealthNormalizer normalizer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
-    /**
-     * 일간 데이터 캐시 키 접두사
-     */
-    private static final String DAILY_KEY = "health:daily::";
+    private final Timer uploadTimer;
+    private final Timer streamUploadTimer;
+    private final DistributionSummary uploadEntries;
+    private final Counter skippedUploads;
+    private final Timer findForUpdateTimer;
+    private final Timer upsertTimer;
+    private final Timer applyDeltasTimer;
 
     /**
-     * 월간 데이터 캐시 키 접두사
+     * 집계 계산 시간 타이머 (계산에 들어간 기존 + 새 항목 수 구간: 1천 미만, 1만 미만, 10만 미만, 그 이상)
      */
-    private static final String MONTHLY_KEY = "health:monthly::";
+    private final Timer[] aggregationTimers;
 
     /**
-     * 마지막 업데이트 시간 캐시 키 접두사
+     * 스트리밍 업로드에서 한 번에 메모리에 모아 저장하는 항목 수
      */
-    private static final String LASTUPDATE_KEY = "health:lastUpdate::";
+    @Value("${health.upload.stream-chunk-size:2000}")
+    private int streamChunkSize;
+
+    public HealthService(HealthEntryRepository entryRepository,
+                         HealthDailySummaryRepository dailySummaryRepository,
+                         HealthMonthlySummaryRepository monthlySummaryRepository,
+                         HealthSummaryJdbcRepository summaryRepository,
+                         HealthAggregateCache cache,
+                         HealthUploadGate uploadGate,
+                         HealthCacheWarmer cacheWarmer,
+                         HealthEntryCompactor compactor,
+                         HealthEntryCompactionRepository compactionRepository,
+                         ReplicaLagGuard replicaLagGuard,
+                         HealthShards shards,
+                         HealthNormalizer normalizer,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.entryRepository = entryRepository;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.summaryRepository = summaryRepository;
+        this.cache = cache;
+        this.uploadGate = uploadGate;
+        this.cacheWarmer = cacheWarmer;
+        this.compactor = compactor;
+        this.compactionRepository = compactionRepository;
+        this.replicaLagGuard = replicaLagGuard;
+        this.shards = shards;
+        this.normalizer = normalizer;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+
+        this.uploadTimer = uploadTimer(meterRegistry, "sync");
+        this.streamUploadTimer = uploadTimer(meterRegistry, "stream");
+        this.uploadEntries = DistributionSummary.builder("health.upload.entries")
+                .description("업로드 한 번에 저장한 항목 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.skippedUploads = Counter.builder("health.upload.skipped")
+                .description("lastUpdate가 반영된 값이나 진행 중인 업로드보다 새롭지 않아 건너뛴 업로드 수")
+                .register(meterRegistry);
+        this.findForUpdateTimer = dbTimer(meterRegistry, "find_for_update");
+        this.upsertTimer = dbTimer(meterRegistry, "bulk_upsert");
+        this.applyDeltasTimer = dbTimer(meterRegistry, "apply_deltas");
+        this.aggregationTimers = new Timer[]{
+                aggregationTimer(meterRegistry, "lt1k"),
+                aggregationTimer(meterRegistry, "lt10k"),
+                aggregationTimer(meterRegistry, "lt100k"),
+                aggregationTimer(meterRegistry, "ge100k")};
+    }
+
+    private static Timer uploadTimer(MeterRegistry registry, String mode) {
+        return Timer.builder("health.upload.duration")
+                .description("업로드 처리 시간 (커밋 후처리 제외)")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer dbTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("health.db.duration")
+                .description("업로드 DB 작업 시간")
+                .tag("op", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer aggregationTimer(MeterRegistry registry, String history) {
+        return Timer.builder("health.aggregation.duration")
+                .description("업로드 항목의 일간/월간 집계 변화량 계산 시간")
+                .tag("history", history)
+                .register(registry);
+    }
 
     /**
      * 헬스 데이터를 업로드하고 저장합니다.
      *
      * <p>주요 처리 과정:</p>
      * <ol>
-     *   <li>clientLastUpdate와 cache의 lastUpdate를 비교</li>
+     *   <li>clientLastUpdate를 이미 반영된 lastUpdate, 진행 중인 업로드와 비교하고 업로드를 예약 (Redis 스크립트 1회)</li>
      *   <li>각 헬스 데이터 항목(entry)을 순회하며 처리</li>
      *   <li>시작/종료 시간을 KST(한국 표준시)로 정규화</li>
      *   <li>걸음 수를 정수로 변환</li>
-     *   <li>중복 데이터는 업데이트(upsert) 처리</li>
-     *   <li>업로드 완료 후 해당 사용자의 일간/월간 캐시 무효화</li>
+     *   <li>중복 데이터는 업데이트(upsert) 처리하며, {@code health.upload.batch-size} 단위로 묶어 저장</li>
+     *   <li>덮어쓴 항목의 이전 값을 빼고 새 값을 더해 일간/월간 집계 테이블 갱신</li>
+     *   <li>커밋 후 lastUpdate 반영, 예약 해제, 바뀐 날짜/월 캐시 필드 패치를 한 번에 수행 (Redis 스크립트 1회)</li>
+     *   <li>캐시 해시가 없으면 백그라운드에서 채우도록 예약</li>
      * </ol>
      *
+     * <p>같은 lastUpdate로 동시에 들어온 중복 동기화는 하나만 예약에 성공하고,
+     * 나머지는 DB 작업 없이 0을 반환합니다.</p>
+     *
      * @param req 헬스 데이터 업로드 요청 (recordKey, 데이터 항목 리스트 포함)
      * @return 성공적으로 저장/업데이트된 데이터 항목 개수
      */
     @Transactional
     public int upload(HealthUploadRequest req) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (var ignored = shards.bind(req.recordKey())) {
+            return doUpload(req);
+        } finally {
+            sample.stop(uploadTimer);
+        }
+    }
+
+    private int doUpload(HealthUploadRequest req) {
         String recordKey = req.recordKey();
-        int count = 0;
 
         // 업데이트 시간을 KST로 정규화
         ZonedDateTime clientLastUpdate = normalizer.toKst(req.lastUpdate());
 
-        // 이전 업로드 시간 조회
-        ZonedDateTime lastUploadedAt = null;
-        Object raw = redisTemplate.opsForValue().get(LASTUPDATE_KEY + recordKey);
-        if (raw instanceof String s) {
-            lastUploadedAt = ZonedDateTime.parse(s);
-        }
-
-        // 이전보다 같거나 오래된 데이터면 스킵
-        if (lastUploadedAt != null && !clientLastUpdate.isAfter(lastUploadedAt)) {
-            log.info("[SKIP UPLOAD] 기존 lastUpdate={} >= 요청 lastUpdate={} (recordKey={})",
-                    lastUploadedAt, clientLastUpdate, recordKey);
+        // 이전보다 같거나 오래된 데이터, 진행 중인 업로드와 중복된 데이터면 스킵
+        var completion = reserve(recordKey, clientLastUpdate);
+        if (completion == null) {
             return 0;
         }
 
-        // 각 헬스 데이터 항목을 순회하며 저장
+        // 각 헬스 데이터 항목의 시작/종료 시간을 KST로, 거리/칼로리를 컬럼 스케일로 정규화
+        var rows = new ArrayList<HealthEntryRow>(req.data().entries().size());
         for (var entry : req.data().entries()) {
-            // 시작/종료 시간을 KST로 정규화
-            var start = normalizer.toKst(entry.period().from()).toLocalDateTime();
-            var end = normalizer.toKst(entry.period().to()).toLocalDateTime();
-
-            // DB에 upsert (중복 시 업데이트, 없으면 삽입)
-            count += entryRepository.upsertEntry(
-                    req.recordKey(),
-                    start,
-                    end,
-                    normalizer.toSteps(entry.steps()),
-                    entry.distance().value(),
-                    entry.calories().value()
-            );
+            rows.add(toRow(entry));
         }
 
-        // 데이터 변경으로 인한 캐시 무효화
-        redisTemplate.delete(DAILY_KEY + req.recordKey());
-        redisTemplate.delete(MONTHLY_KEY + req.recordKey());
-        log.info("[CACHE EVICT] recordKey={}", req.recordKey());
-
-        // 데이터 변경으로 인한 lastUpdate 최신화
-        redisTemplate.opsForValue().set(LASTUPDATE_KEY + recordKey, clientLastUpdate);
-        log.info("[LASTUPDATE SYNC] recordKey={} newLastUpdate={}", recordKey, clientLastUpdate);
-
-        return count;
+        // DB 저장 및 집계 테이블 갱신
+        completion.finish(rows.isEmpty() ? null : writeChunk(recordKey, rows));
+        uploadEntries.record(rows.size());
+        return rows.size();
     }
 
     /**
-     * 특정 사용자의 일간 헬스 데이터 통계를 조회합니다.
+     * 요청 본문을 스트리밍으로 읽으며 헬스 데이터를 업로드합니다.
      *
-     * <p>데이터 처리 과정:</p>
+     * <p>{@link #upload(HealthUploadRequest)}와 결과는 같지만, 요청 전체를 객체로 바인딩하지 않고
+     * 항목을 읽는 대로 정규화하여 {@code health.upload.stream-chunk-size} 단위로 저장하므로
+     * 본문 크기와 관계없이 메모리 사용량이 일정합니다.</p>
+     *
+     * <p>주요 처리 과정:</p>
      * <ol>
-     *   <li>Redis 캐시에서 먼저 조회 시도 (TTL: 6시간)</li>
-     *   <li>캐시 미스 시 DB에서 전체 항목 조회</li>
-     *   <li>날짜별로 그룹화하여 걸음 수, 거리, 칼로리 합산</li>
-     *   <li>날짜 오름차순으로 정렬</li>
-     *   <li>결과를 Redis에 캐싱</li>
+     *   <li>{@code recordkey}가 나오면 인증된 사용자와 비교 (다르면 FORBIDDEN, 이미 저장한 청크는 롤백)</li>
+     *   <li>{@code lastUpdate}가 항목보다 먼저 나오면 바로 업로드를 예약하여, 오래된 요청이면 남은 항목을 읽지 않고 건너뜀</li>
+     *   <li>항목을 청크 단위로 저장하고 집계 변화량을 누적</li>
+     *   <li>{@code lastUpdate}가 항목 뒤에 나오면 마지막에 예약하여, 오래된 요청이면 저장한 청크를 롤백</li>
+     *   <li>커밋 후 누적된 변화량으로 캐시 해시를 갱신하고 lastUpdate 최신화, 해시가 없으면 백그라운드에서 채우도록 예약</li>
      * </ol>
      *
-     * @param recordKey 사용자 식별 키
-     * @return 일간 헬스 데이터 응답 리스트 (날짜별 집계 데이터)
-     * 데이터가 없으면 빈 리스트 반환
+     * <p>JSON, 항목, 날짜 형식이 잘못되면 {@link ErrorCode#INVALID_UPLOAD_BODY}이며 이미 저장한 청크도 롤백합니다.</p>
+     *
+     * @param recordKey 인증된 사용자의 식별 키
+     * @param body      {@link HealthUploadRequest} 형식의 JSON 본문
+     * @return 성공적으로 저장/업데이트된 데이터 항목 개수
      */
-    public List<HealthDailyResponse> getDaily(String recordKey) {
-        String key = DAILY_KEY + recordKey;
+    @Transactional
+    public int uploadStream(String recordKey, InputStream body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        var upload = new StreamingUpload(recordKey);
+        try (var ignored = shards.bind(recordKey)) {
+            HealthUploadStreamReader.read(objectMapper, body, upload);
+            return upload.complete();
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.INVALID_UPLOAD_BODY);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sample.stop(streamUploadTimer);
+        }
+    }
 
-        // 1. 캐시 조회 시도
-        @SuppressWarnings("unchecked")
-        var cached = (List<HealthDailyResponse>) redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            log.info("[CACHE HIT] key={}", key);
-            return cached;
+    /**
+     * 스트리밍 업로드 한 건의 진행 상태
+     */
+    private final class StreamingUpload implements HealthUploadStreamReader.Handler {
+
+        private final String recordKey;
+        private final List<HealthEntryRow> chunk = new ArrayList<>(streamChunkSize);
+
+        private boolean recordKeyChecked;
+        private ZonedDateTime clientLastUpdate;
+        private boolean gated;
+        private UploadCompletion completion;
+        private HealthRollupDelta delta;
+        private int count;
+
+        StreamingUpload(String recordKey) {
+            this.recordKey = recordKey;
         }
 
-        log.info("[CACHE MISS] key={}", key);
+        @Override
+        public void recordKey(String value) {
+            if (!recordKey.equals(value)) {
+                throw new CustomException(ErrorCode.FORBIDDEN);
+            }
+            recordKeyChecked = true;
+        }
 
-        // 2. DB에서 데이터 조회
-        var entries = entryRepository.findByRecordKeyOrderByStartedAtKst(recordKey);
-        if (entries.isEmpty()) return List.of();
+        @Override
+        public void lastUpdate(String value) {
+            clientLastUpdate = parse(() -> normalizer.toKst(value));
+            // 아직 읽은 항목이 없으면 바로 예약하여 오래된 요청의 항목은 읽지 않음
+            if (!gated && count == 0 && chunk.isEmpty()) {
+                gated = true;
+                completion = reserve(recordKey, clientLastUpdate);
+            }
+        }
+
+        @Override
+        public boolean wantsEntries() {
+            return !gated || completion != null;
+        }
+
+        @Override
+        public void entry(HealthUploadRequest.Entry entry) {
+            if (entry.period() == null || entry.distance() == null || entry.calories() == null) {
+                throw new CustomException(ErrorCode.INVALID_UPLOAD_BODY);
+            }
+            chunk.add(parse(() -> toRow(entry)));
+            if (chunk.size() >= streamChunkSize) {
+                flush();
+            }
+        }
+
+        int complete() {
+            if (!recordKeyChecked) {
+                throw new CustomException(ErrorCode.FORBIDDEN);
+            }
+            if (clientLastUpdate == null) {
+                // lastUpdate가 없으면 일반 업로드와 같이 형식 오류
+                lastUpdate(null);
+            }
+
+            // 항목 뒤에 lastUpdate가 온 경우: 오래된 요청이면 이미 저장한 청크를 롤백
+            if (!gated) {
+                completion = reserve(recordKey, clientLastUpdate);
+                if (completion == null) {
+                    TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                    return 0;
+                }
+            }
+            if (completion == null) {
+                return 0;
+            }
+
+            flush();
+            completion.finish(delta);
+            uploadEntries.record(count);
+            log.debug("[STREAM UPLOAD] recordKey={} count={}", recordKey, count);
+            return count;
+        }
+
+        /**
+         * 날짜/시간 형식 오류를 요청 본문 형식 오류(400)로 바꿉니다.
+         */
+        private static <R> R parse(Supplier<R> value) {
+            try {
+                return value.get();
+            } catch (IllegalArgumentException e) {
+                throw new CustomException(ErrorCode.INVALID_UPLOAD_BODY);
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) return;
+            var chunkDelta = writeChunk(recordKey, chunk);
+            delta = (delta == null) ? chunkDelta : delta.plus(chunkDelta);
+            count += chunk.size();
+            chunk.clear();
+        }
+    }
+
+    /**
+     * 업로드를 예약하고, 트랜잭션이 끝나면 예약을 마무리하도록 등록합니다.
+     *
+     * @return 예약한 업로드의 후처리, 같거나 오래된 요청이면 {@code null}
+     */
+    private UploadCompletion reserve(String recordKey, ZonedDateTime clientLastUpdate) {
+        var reservation = uploadGate.reserve(recordKey, clientLastUpdate.toInstant().toEpochMilli());
+        if (reservation == null) {
+            skippedUploads.increment();
+            log.debug("[SKIP UPLOAD] 요청 lastUpdate={}가 반영되었거나 진행 중인 업로드보다 새롭지 않음 (recordKey={})",
+                    clientLastUpdate, recordKey);
+            return null;
+        }
 
-        // 3. 날짜별로 그룹화
-        var grouped = entries.stream()
-                .collect(Collectors.groupingBy(e -> e.getStartedAtKst().toLocalDate()));
+        var completion = new UploadCompletion(reservation, clientLastUpdate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(completion);
+        }
+        return completion;
+    }
+
+    /**
+     * 시작/종료 시간을 KST로, 걸음 수를 정수로, 거리/칼로리를 컬럼 스케일로 정규화합니다.
+     */
+    private HealthEntryRow toRow(HealthUploadRequest.Entry entry) {
+        return new HealthEntryRow(
+                normalizer.toKstLocal(entry.period().from()),
+                normalizer.toKstLocal(entry.period().to()),
+                normalizer.toSteps(entry.steps()),
+                normalizer.toDistanceKm(entry.distance().value()),
+                normalizer.toCaloriesKcal(entry.calories().value())
+        );
+    }
+
+    /**
+     * 항목 묶음을 저장하고 같은 트랜잭션에서 일간/월간 집계 테이블을 갱신합니다.
+     *
+     * @return 이 묶음이 집계에 준 변화량
+     */
+    private HealthRollupDelta writeChunk(String recordKey, List<HealthEntryRow> rows) {
+        var from = rows.stream().map(HealthEntryRow::startedAt).min(Comparator.naturalOrder()).orElseThrow();
+        var to = rows.stream().map(HealthEntryRow::startedAt).max(Comparator.naturalOrder()).orElseThrow();
 
-        // 4. 각 날짜별로 걸음 수, 거리, 칼로리 합산
-        var result = grouped.entrySet().stream()
-                .map(e -> {
-                    var list = e.getValue();
-                    // 걸음 수 합산
-                    int steps = list.stream().mapToInt(HealthEntry::getSteps).sum();
-                    // 이동 거리 합산 (km)
-                    BigDecimal distance = list.stream()
-                            .map(HealthEntry::getDistanceKm)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 소모 칼로리 합산 (kcal)
-                    BigDecimal calories = list.stream()
-                            .map(HealthEntry::getCaloriesKcal)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new HealthDailyResponse(e.getKey(), steps, calories, distance, recordKey);
-                })
-                .sorted(Comparator.comparing(HealthDailyResponse::getDaily))
-                .toList();
+        // 덮어쓸 기존 항목을 잠금 조회하여 일간/월간 집계 변화량 계산 (압축된 날짜는 먼저 원본 항목으로 되돌림)
+        var existing = findForUpdateTimer.record(() -> {
+            compactor.restore(recordKey, from, to);
+            return entryRepository.findForUpdate(recordKey, from, to);
+        });
+        var delta = aggregationTimer(existing.size() + rows.size())
+                .record(() -> HealthRollupDelta.between(existing, rows));
 
-        // 5. Redis에 캐싱 (6시간 TTL)
-        redisTemplate.opsForValue().set(key, result, Duration.ofHours(6));
-        return result;
+        // DB에 청크 단위 upsert (중복 시 업데이트, 없으면 삽입)
+        upsertTimer.record(() -> entryRepository.bulkUpsert(recordKey, rows));
+
+        // 같은 트랜잭션에서 집계 테이블에 변화량 반영
+        applyDeltasTimer.record(() -> summaryRepository.applyDeltas(recordKey, delta.daily(), delta.monthly()));
+        return delta;
+    }
+
+    /**
+     * @return 계산에 들어간 기존 + 새 항목 수 구간의 집계 계산 시간 타이머
+     */
+    private Timer aggregationTimer(int entries) {
+        return aggregationTimers[entries < 1_000 ? 0 : entries < 10_000 ? 1 : entries < 100_000 ? 2 : 3];
+    }
+
+    /**
+     * 특정 사용자의 전체 기간 일간 헬스 데이터 통계를 조회합니다.
+     *
+     * @param recordKey 사용자 식별 키
+     * @return 일간 헬스 데이터 응답 리스트 (날짜별 집계 데이터)
+     * 데이터가 없으면 빈 리스트 반환
+     * @see #getDaily(String, HealthRange)
+     */
+    public List<HealthDailyResponse> getDaily(String recordKey) {
+        return getDaily(recordKey, HealthRange.all());
     }
 
     /**
-     * 특정 사용자의 월간 헬스 데이터 통계를 조회합니다.
+     * 특정 사용자의 일간 헬스 데이터 통계를 구간/페이지 단위로 조회합니다.
      *
      * <p>데이터 처리 과정:</p>
      * <ol>
-     *   <li>Redis 캐시에서 먼저 조회 시도 (TTL: 24시간)</li>
-     *   <li>캐시 미스 시 DB에서 전체 항목 조회</li>
-     *   <li>연-월(YYYY-MM) 형식으로 그룹화하여 걸음 수, 거리, 칼로리 합산</li>
-     *   <li>월 오름차순으로 정렬</li>
-     *   <li>결과를 Redis에 캐싱</li>
+     *   <li>로컬(L1) 캐시 조회 (구간별 키)</li>
+     *   <li>Redis 해시에서 구간에 걸친 월(세그먼트)의 날짜 필드만 조회 (TTL: 6시간)
+     *   (종료일이 없으면 오늘까지, 시작일과 커서가 없으면 첫 기록일부터, 개수 제한이 있으면 필요한 월까지만)</li>
+     *   <li>해시에 없는 월만 일간 집계 테이블에서 그 구간으로 조회하여 Redis 해시를 채움
+     *   (복제본에서 읽되, 방금 업로드한 사용자는 원본에서 읽음)</li>
+     *   <li>구간/커서/개수 조건에 맞는 날짜만 오름차순으로 반환</li>
      * </ol>
      *
      * @param recordKey 사용자 식별 키
+     * @param range     조회 구간 및 키셋 페이지 조건
+     * @return 일간 헬스 데이터 응답 리스트 (날짜별 집계 데이터)
+     * 데이터가 없으면 빈 리스트 반환
+     */
+    public List<HealthDailyResponse> getDaily(String recordKey, HealthRange<LocalDate> range) {
+        return cache.getDaily(recordKey, range, HealthSeriesLoader.of(
+                (from, to) -> read(recordKey, () -> dailySummaryRepository.findDailyResponses(recordKey, from, to)),
+                () -> read(recordKey, () -> dailySummaryRepository.findFirstDate(recordKey))));
+    }
+
+    /**
+     * 특정 사용자의 전체 기간 월간 헬스 데이터 통계를 조회합니다.
+     *
+     * @param recordKey 사용자 식별 키
      * @return 월간 헬스 데이터 응답 리스트 (월별 집계 데이터)
      * 데이터가 없으면 빈 리스트 반환
+     * @see #getMonthly(String, HealthRange)
      */
     public List<HealthMonthlyResponse> getMonthly(String recordKey) {
-        String key = MONTHLY_KEY + recordKey;
-
-        // 1. 캐시 조회 시도
-        @SuppressWarnings("unchecked")
-        var cached = (List<HealthMonthlyResponse>) redisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            log.info("[CACHE HIT] key={}", key);
-            return cached;
-        }
-
-        log.info("[CACHE MISS] key={}", key);
-
-        // 2. DB에서 데이터 조회
-        var entries = entryRepository.findByRecordKeyOrderByStartedAtKst(recordKey);
-        if (entries.isEmpty()) return List.of();
-
-        // 3. 연-월(YYYY-MM) 형식으로 그룹화
-        var grouped = entries.stream()
-                .collect(Collectors.groupingBy(e ->
-                        e.getStartedAtKst().getYear() + "-" +
-                                String.format("%02d", e.getStartedAtKst().getMonthValue())
-                ));
-
-        // 4. 각 월별로 걸음 수, 거리, 칼로리 합산
-        var result = grouped.entrySet().stream()
-                .map(e -> {
-                    var list = e.getValue();
-                    // 걸음 수 합산
-                    int steps = list.stream().mapToInt(HealthEntry::getSteps).sum();
-                    // 이동 거리 합산 (km)
-                    BigDecimal distance = list.stream()
-                            .map(HealthEntry::getDistanceKm)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 소모 칼로리 합산 (kcal)
-                    BigDecimal calories = list.stream()
-                            .map(HealthEntry::getCaloriesKcal)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new HealthMonthlyResponse(e.getKey(), steps, calories, distance, recordKey);
-                })
-                .sorted(Comparator.comparing(HealthMonthlyResponse::getMonthly))
-                .toList();
-
-        // 5. Redis에 캐싱 (24시간 TTL)
-        redisTemplate.opsForValue().set(key, result, Duration.ofHours(24));
-        return result;
-    }
-}
\ No newline at end of file
+        return getMonthly(recordKey, HealthRange.all());
+    }
+
+    /**
+     * 특정 사용자의 월간 헬스 데이터 통계를 구간/페이지 단위로 조회합니다.
+     *
+     * <p>데이터 처리 과정:</p>
+     * <ol>
+     *   <li>로컬(L1) 캐시 조회 (구간별 키)</li>
+     *   <li>Redis 해시에서 구간에 걸친 연도(세그먼트)의 연-월 필드만 조회 (TTL: 24시간)
+     *   (종료가 없으면 이번 달까지, 시작과 커서가 없으면 첫 기록 월부터, 개수 제한이 있으면 필요한 연도까지만)</li>
+     *   <li>해시에 없는 연도만 월간 집계 테이블에서 그 구간으로 조회하여 Redis 해시를 채움
+     *   (복제본에서 읽되, 방금 업로드한 사용자는 원본에서 읽음)</li>
+     *   <li>구간/커서/개수 조건에 맞는 연-월(YYYY-MM)만 오름차순으로 반환</li>
+     * </ol>
+     *
+     * @param recordKey 사용자 식별 키
+     * @param range     조회 구간 및 키셋 페이지 조건
+     * @return 월간 헬스 데이터 응답 리스트 (월별 집계 데이터)
+     * 데이터가 없으면 빈 리스트 반환
+     */
+    public List<HealthMonthlyResponse> getMonthly(String recordKey, HealthRange<YearMonth> range) {
+        return cache.getMonthly(recordKey, range, HealthSeriesLoader.of(
+                (from, to) -> read(recordKey, () -> monthlySummaryRepository.findMonthlyResponses(recordKey,
+                        from.toString(), to.toString())),
+                () -> read(recordKey, () -> {
+                    String first = monthlySummaryRepository.findFirstMonth(recordKey);
+                    return first == null ? null : YearMonth.parse(first);
+                })));
+    }
+
+    /**
+     * 사용자의 샤드에서 조회합니다. (복제본에서 읽되, 방금 업로드한 사용자는 원본에서 읽음)
+     */
+    private <R> R read(String recordKey, Supplier<R> query) {
+        return shards.on(recordKey, () -> replicaLagGuard.read(recordKey, query));
+    }
+
+    /**
+     * 원본 항목의 GROUP BY 합계로 특정 사용자의 일간/월간 집계 테이블을 다시 계산합니다.
+     *
+     * <p>원본 항목을 엔티티로 읽지 않고 DB에서 날짜/월 단위로 합산한 프로젝션만 사용하며,
+     * 보존 기간이 지나 압축된 날짜의 합계({@link HealthEntryCompactor})를 더합니다.
+     * 합산 전에 사용자의 집계 행을 잠가 동시에 진행 중인 업로드는 재계산이 끝난 뒤 변화량을 반영합니다.
+     * 재계산 후 해당 사용자의 캐시를 무효화하고 백그라운드에서 다시 채웁니다.</p>
+     *
+     * @param recordKey 사용자 식별 키
+     */
+    @Transactional
+    public void rebuildSummaries(String recordKey) {
+        try (var ignored = shards.bind(recordKey)) {
+            // 합산(일관된 읽기) 전에 집계 행을 잠가, 그 사이 커밋되는 업로드의 변화량이 교체로 사라지지 않도록 함
+            summaryRepository.lock(recordKey);
+            summaryRepository.replace(recordKey,
+                    plusDaily(entryRepository.aggregateDaily(recordKey), compactionRepository.aggregateDaily(recordKey)),
+                    plusMonthly(entryRepository.aggregateMonthly(recordKey), compactionRepository.aggregateMonthly(recordKey)));
+        }
+
+        afterCommit(() -> {
+            replicaLagGuard.written(recordKey);
+            cache.evict(recordKey);
+            cacheWarmer.schedule(recordKey);
+        });
+        log.info("[SUMMARY REBUILD] recordKey={}", recordKey);
+    }
+
+    /**
+     * 대량 가져오기({@link com.kb.healthcare.ingest.HealthBulkImporter})로 읽은 항목을 저장합니다.
+     *
+     * <p>업로드와 달리 덮어쓴 항목의 변화량을 계산하지 않고 원본 항목만 upsert하므로,
+     * 사용자의 항목을 모두 저장한 뒤 {@link #rebuildSummaries}로 집계와 캐시를 한 번에 갱신해야 합니다.
+     * 압축된 날짜는 업로드와 마찬가지로 먼저 원본 항목으로 되돌립니다.</p>
+     *
+     * @param recordKey 사용자 식별 키
+     * @param rows      KST로 정규화된 항목 리스트
+     * @return 저장/업데이트된 항목 개수
+     */
+    @Transactional
+    public int importEntries(String recordKey, List<HealthEntryRow> rows) {
+        if (rows.isEmpty()) return 0;
+        try (var ignored = shards.bind(recordKey)) {
+            var from = rows.stream().map(HealthEntryRow::startedAt).min(Comparator.naturalOrder()).orElseThrow();
+            var to = rows.stream().map(HealthEntryRow::startedAt).max(Comparator.naturalOrder()).orElseThrow();
+            compactor.restore(recordKey, from, to);
+            return upsertTimer.record(() -> entryRepository.bulkUpsert(recordKey, rows));
+        }
+    }
+
+    private static List<DailyAggregate> plusDaily(List<DailyAggregate> raw, List<DailyAggregate> compacted) {
+        if (compacted.isEmpty()) return raw;
+        var merged = new TreeMap<LocalDate, DailyAggregate>();
+        for (var d : raw) merged.merge(d.day(), d, DailyAggregate::plus);
+        for (var d : compacted) merged.merge(d.day(), d, DailyAggregate::plus);
+        return new ArrayList<>(merged.values());
+    }
+
+    private static List<MonthlyAggregate> plusMonthly(List<MonthlyAggregate> raw, List<MonthlyAggregate> compacted) {
+        if (compacted.isEmpty()) return raw;
+        var merged = new TreeMap<String, MonthlyAggregate>();
+        for (var m : raw) merged.merge(m.yearMonth(), m, MonthlyAggregate::plus);
+        for (var m : compacted) merged.merge(m.yearMonth(), m, MonthlyAggregate::plus);
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * 예약한 업로드의 트랜잭션 후처리
+     *
+     * <p>커밋 직전에 캐시 채우기를 막고, 커밋되면 lastUpdate 반영/예약 해제/캐시 패치를 한 번에 수행하며,
+     * 롤백되면 예약과 막은 것을 해제합니다. 트랜잭션 밖에서는 {@link #finish} 시점에 바로 커밋 처리합니다.</p>
+     */
+    private final class UploadCompletion implements TransactionSynchronization {
+
+        private final HealthUploadGate.Reservation reservation;
+        private final ZonedDateTime clientLastUpdate;
+        private HealthRollupDelta delta;
+        private boolean patchBegun;
+
+        UploadCompletion(HealthUploadGate.Reservation reservation, ZonedDateTime clientLastUpdate) {
+            this.reservation = reservation;
+            this.clientLastUpdate = clientLastUpdate;
+        }
+
+        /**
+         * @param delta 저장한 항목의 집계 변화량, 저장한 항목이 없으면 {@code null}
+         */
+        void finish(HealthRollupDelta delta) {
+            this.delta = delta;
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                committed();
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // 커밋~패치 사이의 캐시 채우기가 변화량을 이중 반영하지 않도록 막음
+            if (delta != null) {
+                cache.beginPatch(reservation.recordKey());
+                patchBegun = true;
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                committed();
+            } else {
+                rolledBack();
+            }
+        }
+
+        /**
+         * 이미 커밋된 업로드를 실패시키지 않도록, 패치에 실패하면 캐시를 삭제하여
+         * 다음 조회 때 DB에서 다시 채우게 하고 lastUpdate 반영만 다시 시도합니다.
+         */
+        private void committed() {
+            String recordKey = reservation.recordKey();
+            var daily = delta == null ? Map.<LocalDate, HealthTotals>of() : delta.daily();
+            var monthly = delta == null ? Map.<String, HealthTotals>of() : delta.monthly();
+            try {
+                cache.commit(recordKey, daily, monthly, patchBegun, reservation);
+                log.debug("[LASTUPDATE SYNC] recordKey={} newLastUpdate={}", recordKey, clientLastUpdate);
+            } catch (RuntimeException e) {
+                log.warn("[CACHE PATCH FAILED] recordKey={} reason={}", recordKey, e.getMessage());
+                try {
+                    cache.evict(recordKey);
+                    cache.commit(recordKey, Map.of(), Map.of(), false, reservation);
+                } catch (RuntimeException retryFailure) {
+                    log.error("[CACHE EVICT FAILED] recordKey={}", recordKey, retryFailure);
+                }
+            }
+
+            // 패치할 해시가 없었거나 무효화된 경우 동기화 직후 조회 전에 채움 (복제 지연 동안은 원본에서 읽음)
+            if (delta != null) {
+                replicaLagGuard.written(recordKey);
+                cacheWarmer.schedule(recordKey);
+            }
+        }
+
+        private void rolledBack() {
+            try {
+                uploadGate.release(reservation);
+                if (patchBegun) {
+                    cache.cancelPatch(reservation.recordKey());
+                }
+            } catch (RuntimeException e) {
+                log.warn("[UPLOAD RELEASE FAILED] recordKey={} reason={}", reservation.recordKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 이후에, 아니면 즉시 실행합니다.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
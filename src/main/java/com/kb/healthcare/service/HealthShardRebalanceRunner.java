@@ -0,0 +1,72 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.config.DataSourceConfig.ShardDataSources;
+import com.kb.healthcare.datasource.HealthShardProperties;
+import com.kb.healthcare.datasource.HealthShardRebalancer;
+import com.kb.healthcare.datasource.ShardMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 샤드 재분배를 실행하고 종료하는 오프라인 작업
+ *
+ * <p>업로드를 멈추고 {@code --health.sharding.rebalance.enabled=true --spring.main.web-application-type=none}으로 기동합니다.</p>
+ * <ul>
+ *   <li>{@code --health.sharding.rebalance.record-key=<key> --health.sharding.rebalance.target=<shard>}:
+ *   한 사용자를 지정한 샤드로 옮기고, 설정에 추가할 {@code health.sharding.overrides} 항목을 출력</li>
+ *   <li>recordKey 없이 실행: 샤드를 늘리거나 overrides를 바꾼 설정 기준으로, 다른 샤드를 가리키는 사용자를 모두 옮김</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "health.sharding.rebalance.enabled", havingValue = "true")
+public class HealthShardRebalanceRunner implements ApplicationRunner {
+
+    private final ShardDataSources shardDataSources;
+    private final HealthShardProperties shardProperties;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${health.sharding.rebalance.record-key:}")
+    private String recordKey;
+
+    @Value("${health.sharding.rebalance.target:-1}")
+    private int target;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var rebalancer = new HealthShardRebalancer(shardDataSources.dataSources());
+        ShardMap shardMap = shardProperties.shardMap();
+        long started = System.currentTimeMillis();
+        int moved = 0;
+
+        if (!recordKey.isBlank()) {
+            int destination = target >= 0 ? target : shardMap.shardOf(recordKey);
+            for (int source : rebalancer.locate(recordKey)) {
+                if (source == destination) continue;
+                rebalancer.move(recordKey, source, destination);
+                moved++;
+            }
+            if (destination != shardMap.shardOf(recordKey)) {
+                log.warn("[SHARD REBALANCE] 설정에 추가 필요: health.sharding.overrides.{}: {}", recordKey, destination);
+            }
+        } else {
+            for (int source = 0; source < shardMap.shardCount(); source++) {
+                for (String key : rebalancer.misplaced(source, shardMap)) {
+                    rebalancer.move(key, source, shardMap.shardOf(key));
+                    moved++;
+                }
+            }
+        }
+
+        log.info("[SHARD REBALANCE] 완료 moved={} ({}ms)", moved, System.currentTimeMillis() - started);
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
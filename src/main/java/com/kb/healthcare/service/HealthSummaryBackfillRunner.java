@@ -0,0 +1,41 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.datasource.HealthShards;
+import com.kb.healthcare.repository.HealthSummaryJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 기존 원본 항목으로 일간/월간 집계 테이블을 채우는 1회성 작업
+ *
+ * <p>{@code health.summary.backfill-on-startup=true}일 때만 애플리케이션 기동 시 실행됩니다.
+ * 샤드마다 한 트랜잭션에서 다시 계산합니다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "health.summary.backfill-on-startup", havingValue = "true")
+public class HealthSummaryBackfillRunner implements ApplicationRunner {
+
+    private final HealthSummaryJdbcRepository summaryRepository;
+    private final HealthShards shards;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int shard = 0; shard < shards.count(); shard++) {
+            long started = System.currentTimeMillis();
+            try (var ignored = shards.bindShard(shard)) {
+                transactionTemplate.executeWithoutResult(status -> summaryRepository.rebuildAll());
+            }
+            log.info("[SUMMARY BACKFILL] shard={} 완료 ({}ms)", shard, System.currentTimeMillis() - started);
+        }
+    }
+}
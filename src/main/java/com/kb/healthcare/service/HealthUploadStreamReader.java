@@ -0,0 +1,92 @@
+package com.kb.healthcare.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 업로드 요청 본문을 Jackson 스트리밍 파서로 읽는 리더
+ *
+ * <p>{@link HealthUploadRequest} 전체를 객체로 바인딩하지 않고, 최상위 필드({@code recordkey}, {@code lastUpdate})와
+ * {@code data.entries}의 항목을 본문에 나오는 순서대로 하나씩 {@link Handler}에 전달합니다.
+ * 한 번에 메모리에 올라가는 것은 항목 하나뿐입니다. {@code null}인 {@code data}, {@code entries}, 항목은 건너뜁니다.</p>
+ */
+final class HealthUploadStreamReader {
+
+    interface Handler {
+
+        void recordKey(String recordKey);
+
+        void lastUpdate(String lastUpdate);
+
+        void entry(HealthUploadRequest.Entry entry);
+
+        /**
+         * {@code false}면 남은 항목은 바인딩하지 않고 건너뜁니다.
+         */
+        boolean wantsEntries();
+    }
+
+    private HealthUploadStreamReader() {
+    }
+
+    static void read(ObjectMapper mapper, InputStream body, Handler handler) throws IOException {
+        try (JsonParser parser = mapper.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "recordkey" -> handler.recordKey(parser.getValueAsString());
+                    case "lastUpdate" -> handler.lastUpdate(parser.getValueAsString());
+                    case "data" -> readData(mapper, parser, value, handler);
+                    default -> parser.skipChildren();
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+        }
+    }
+
+    private static void readData(ObjectMapper mapper, JsonParser parser, JsonToken token, Handler handler)
+            throws IOException {
+        if (token == JsonToken.VALUE_NULL) return;
+        expect(parser, token, JsonToken.START_OBJECT);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"entries".equals(field) || value == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+
+            expect(parser, value, JsonToken.START_ARRAY);
+            JsonToken item;
+            while ((item = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (item == JsonToken.VALUE_NULL) {
+                    // null 항목은 저장할 내용이 없으므로 건너뜀
+                    continue;
+                }
+                if (handler.wantsEntries()) {
+                    handler.entry(mapper.readValue(parser, HealthUploadRequest.Entry.class));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser,
+                    "Expected " + expected + " but was " + actual);
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.kb.healthcare.support;
 
+import java.time.Duration;
+
 public class CustomException extends RuntimeException {
     private final ErrorCode code;
+    private final Duration retryAfter;
 
     public CustomException(ErrorCode code) {
+        this(code, null);
+    }
+
+    /**
+     * @param retryAfter 응답의 Retry-After 헤더로 안내할 대기 시간
+     */
+    public CustomException(ErrorCode code, Duration retryAfter) {
         super(code.message);
         this.code = code;
+        this.retryAfter = retryAfter;
     }
 
     public ErrorCode getCode() {
         return code;
     }
-}
\ No newline at end of file
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
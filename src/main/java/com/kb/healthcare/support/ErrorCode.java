@@ -5,7 +5,12 @@ import org.springframework.http.HttpStatus;
 public enum ErrorCode {
     DUPLICATE_EMAIL(HttpStatus.CONFLICT, "이미 사용 중인 이메일입니다."),
     DUPLICATE_RECORD_KEY(HttpStatus.CONFLICT, "이미 사용 중인 recordKey 입니다."),
-    FORBIDDEN(HttpStatus.FORBIDDEN, "권한이 없습니다.");
+    FORBIDDEN(HttpStatus.FORBIDDEN, "권한이 없습니다."),
+    INVALID_RANGE(HttpStatus.BAD_REQUEST, "조회 시작(from)은 종료(to)보다 늦을 수 없습니다."),
+    INVALID_UPLOAD_BODY(HttpStatus.BAD_REQUEST, "업로드 요청 본문 형식이 올바르지 않습니다."),
+    UPLOAD_NOT_FOUND(HttpStatus.NOT_FOUND, "업로드 요청을 찾을 수 없습니다."),
+    UPLOAD_IN_PROGRESS(HttpStatus.CONFLICT, "이전 업로드를 처리 중입니다. 잠시 후 다시 시도해 주세요."),
+    TOO_MANY_LOGIN_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "로그인 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
 
     public final HttpStatus status;
     public final String message;
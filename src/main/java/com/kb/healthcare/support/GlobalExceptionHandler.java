@@ -2,11 +2,14 @@ package com.kb.healthcare.support;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.Map;
 
@@ -16,11 +19,15 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<?> handleApi(CustomException e) {
-        return ResponseEntity.status(e.getCode().status)
-                .body(Map.of("error", e.getCode().name(), "message", e.getMessage()));
+        var response = ResponseEntity.status(e.getCode().status);
+        if (e.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())));
+        }
+        return response.body(Map.of("error", e.getCode().name(), "message", e.getMessage()));
     }
 
-    @ExceptionHandler({MethodArgumentNotValidException.class, ConstraintViolationException.class})
+    @ExceptionHandler({MethodArgumentNotValidException.class, ConstraintViolationException.class,
+            HandlerMethodValidationException.class, MethodArgumentTypeMismatchException.class})
     public ResponseEntity<?> handleValidation(Exception e) {
         return ResponseEntity.badRequest()
                 .body(Map.of("error", "VALIDATION_FAILED", "message", e.getMessage()));
@@ -2,59 +2,225 @@ package com.kb.healthcare.util;
 
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 
 /**
  * 헬스 데이터 정규화 유틸리티
  * <p>
  * 외부에서 입력된 다양한 형식의 날짜/시간과 숫자 데이터를
  * 시스템 내부 표준 형식으로 변환합니다.
- *
+ * <p>
+ * 지원하는 날짜/시간 형식
+ * <ul>
+ *     <li>{@code 2024-12-15 12:40:00 +0000}</li>
+ *     <li>{@code 2024-12-16 20:40:00} (KST 로컬 시각)</li>
+ *     <li>{@code 2024-12-15T11:30:00+0000}</li>
+ * </ul>
+ * 정규식/{@code DateTimeFormatter} 대신 한 번의 스캔으로 숫자 필드를 읽어 epoch 초로 변환합니다.
+ * 허용/거부 기준은 {@code DateTimeFormatter}(SMART) 파싱과 동일합니다.
+ * <ul>
+ *     <li>없는 날짜(예: 04-31, 02-30)는 해당 월의 마지막 날로 보정</li>
+ *     <li>{@code 24:00:00}은 다음 날 자정, 그 밖의 24시는 거부</li>
+ *     <li>연도 {@code 0000}, 월/일 {@code 00}, 분/초 60 이상, ±18시간 초과 오프셋은 거부</li>
+ * </ul>
  */
 @Component
 public class HealthNormalizer {
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final ZoneRules KST_RULES = KST.getRules();
+
+    /**
+     * 마지막 서머타임 전환 이후 KST 고정 오프셋(+09:00)과 적용 시작 시각(epoch 초)
+     * <p>
+     * 이 시각 이후로는 규칙 조회 없이 고정 오프셋으로 계산하고, 그 이전은 {@link ZoneRules}로 처리합니다.
+     */
+    private static final ZoneOffset KST_OFFSET;
+    private static final long KST_FIXED_SINCE;
+
+    static {
+        ZoneOffsetTransition last = KST_RULES.getTransitionRules().isEmpty()
+                ? KST_RULES.previousTransition(Instant.MAX)
+                : null;
+        KST_OFFSET = (last != null) ? last.getOffsetAfter() : KST_RULES.getOffset(Instant.EPOCH);
+        KST_FIXED_SINCE = (last != null) ? last.toEpochSecond() : Long.MAX_VALUE;
+    }
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
 
-    private static final DateTimeFormatter FORMAT_1 =
-            new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd HH:mm:ss Z").toFormatter();  // 2024-12-15 12:40:00 +0000
-    private static final DateTimeFormatter FORMAT_2 =
-            new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd HH:mm:ss").toFormatter();    // 2024-12-16 20:40:00
-    private static final DateTimeFormatter FORMAT_3 =
-            new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd'T'HH:mm:ssZ").toFormatter(); // 2024-12-15T11:30:00+0000
+    /**
+     * {@code health_entry.distance_km}, {@code health_entry.calories_kcal} 컬럼 스케일
+     */
+    private static final int DISTANCE_SCALE = 3;
+    private static final int CALORIES_SCALE = 2;
 
     public ZonedDateTime toKst(String raw) {
-        String s = (raw == null) ? "" : raw.trim();
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(toEpochSecond(raw)), KST);
+    }
 
-        try {
-            if (s.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} [+-]\\d{4}")) {
-                OffsetDateTime odt = OffsetDateTime.parse(s, FORMAT_1);
-                return odt.atZoneSameInstant(KST);
-            }
+    /**
+     * {@link #toKst(String)}의 KST 로컬 시각 버전
+     * <p>
+     * 고정 오프셋 구간에서는 {@code ZonedDateTime}을 거치지 않고 바로 {@code LocalDateTime}을 만듭니다.
+     */
+    public LocalDateTime toKstLocal(String raw) {
+        long epochSecond = toEpochSecond(raw);
+        if (epochSecond >= KST_FIXED_SINCE) {
+            return LocalDateTime.ofEpochSecond(epochSecond, 0, KST_OFFSET);
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), KST);
+    }
 
-            if (s.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
-                LocalDateTime ldt = LocalDateTime.parse(s, FORMAT_2);
-                return ldt.atZone(KST);
-            }
+    /**
+     * 지원 형식의 문자열을 epoch 초로 변환합니다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 형식이거나 존재할 수 없는 날짜/시간인 경우
+     */
+    public long toEpochSecond(String raw) {
+        if (raw == null) throw invalid(null);
 
-            if (s.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}[+-]\\d{4}")) {
-                OffsetDateTime odt = OffsetDateTime.parse(s, FORMAT_3);
-                return odt.atZoneSameInstant(KST);
-            }
+        // 1. 앞뒤 공백 제외 (String.trim 과 동일한 기준, 복사 없음)
+        int begin = 0;
+        int end = raw.length();
+        while (begin < end && raw.charAt(begin) <= ' ') begin++;
+        while (end > begin && raw.charAt(end - 1) <= ' ') end--;
+        int length = end - begin;
+
+        // 2. 형식 판별: 공통 접두부 yyyy-MM-dd?HH:mm:ss 이후 오프셋 유무
+        int offsetAt;
+        if (length == 19 && raw.charAt(begin + 10) == ' ') {
+            offsetAt = -1;                                   // 2024-12-16 20:40:00
+        } else if (length == 25 && raw.charAt(begin + 10) == ' ' && raw.charAt(begin + 19) == ' ') {
+            offsetAt = begin + 20;                           // 2024-12-15 12:40:00 +0000
+        } else if (length == 24 && raw.charAt(begin + 10) == 'T') {
+            offsetAt = begin + 19;                           // 2024-12-15T11:30:00+0000
+        } else {
+            throw invalid(raw);
+        }
 
-            throw new IllegalArgumentException("Invalid date format: " + raw);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Invalid date format: " + raw, e);
+        if (raw.charAt(begin + 4) != '-' || raw.charAt(begin + 7) != '-'
+                || raw.charAt(begin + 13) != ':' || raw.charAt(begin + 16) != ':') {
+            throw invalid(raw);
         }
+
+        // 3. 숫자 필드 (자리마다 0-9 검사, 실패 시 음수)
+        int year = digits(raw, begin, 4);
+        int month = digits(raw, begin + 5, 2);
+        int day = digits(raw, begin + 8, 2);
+        int hour = digits(raw, begin + 11, 2);
+        int minute = digits(raw, begin + 14, 2);
+        int second = digits(raw, begin + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) throw invalid(raw);
+
+        // 4. 날짜/시간 범위 검사 (SMART 규칙)
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) throw invalid(raw);
+        day = Math.min(day, lengthOfMonth(year, month));
+
+        long secondOfDay;
+        if (hour == 24 && minute == 0 && second == 0) {
+            secondOfDay = SECONDS_PER_DAY;
+        } else if (hour < 24 && minute < 60 && second < 60) {
+            secondOfDay = hour * 3600L + minute * 60L + second;
+        } else {
+            throw invalid(raw);
+        }
+        long localSecond = epochDay(year, month, day) * SECONDS_PER_DAY + secondOfDay;
+
+        // 5. 오프셋 적용 (없으면 KST 로컬 시각으로 해석)
+        if (offsetAt < 0) {
+            return fromKstLocal(localSecond);
+        }
+
+        char sign = raw.charAt(offsetAt);
+        int offsetHours = digits(raw, offsetAt + 1, 2);
+        int offsetMinutes = digits(raw, offsetAt + 3, 2);
+        if ((sign != '+' && sign != '-') || (offsetHours | offsetMinutes) < 0 || offsetMinutes > 59) {
+            throw invalid(raw);
+        }
+        int offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+        if (offsetSeconds > MAX_OFFSET_SECONDS) throw invalid(raw);
+
+        return (sign == '+') ? localSecond - offsetSeconds : localSecond + offsetSeconds;
+    }
+
+    /**
+     * KST 로컬 시각(epoch 기준 로컬 초)을 epoch 초로 변환합니다.
+     * <p>
+     * 서머타임이 있던 구간은 {@code LocalDateTime.atZone}과 같은 규칙(갭은 뒤로 이동, 겹침은 이른 오프셋)을 따릅니다.
+     */
+    private static long fromKstLocal(long localSecond) {
+        long fixed = localSecond - KST_OFFSET.getTotalSeconds();
+        if (fixed - SECONDS_PER_DAY >= KST_FIXED_SINCE) {
+            return fixed;
+        }
+        return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC).atZone(KST).toEpochSecond();
+    }
+
+    private static int digits(String s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 1970-01-01 기준 일 수 (proleptic Gregorian, {@code LocalDate.toEpochDay}와 동일)
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static IllegalArgumentException invalid(String raw) {
+        return new IllegalArgumentException("Invalid date format: " + raw);
     }
 
     public int toSteps(Double raw) {
         if (raw == null) return 0;
         return (int) Math.round(raw);
     }
+
+    /**
+     * 이동 거리를 DB 컬럼 스케일(소수점 3자리)로 반올림합니다.
+     */
+    public BigDecimal toDistanceKm(BigDecimal raw) {
+        if (raw == null) return null;
+        return raw.setScale(DISTANCE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 소모 칼로리를 DB 컬럼 스케일(소수점 2자리)로 반올림합니다.
+     */
+    public BigDecimal toCaloriesKcal(BigDecimal raw) {
+        if (raw == null) return null;
+        return raw.setScale(CALORIES_SCALE, RoundingMode.HALF_UP);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+-- health_entry 월 단위 파티션 레이아웃 (MySQL 8)
+--
+-- ddl-auto는 파티션 테이블을 만들지 못하므로 이 스크립트로 한 번 전환한 뒤
+-- health.entry.partition.enabled=true로 설정하면 HealthEntryPartitionManager가 앞으로의 월 파티션을 미리 만듦
+--
+-- * 파티션 테이블의 모든 유니크 키(PK 포함)는 파티션 키를 포함해야 하므로 PK를 (id, started_at_kst)로 바꿈
+--   (uq_entry는 이미 started_at_kst를 포함하므로 사용자/슬롯 단위 유일성은 그대로 보장됨)
+-- * ix_entry_record_started: 사용자별 시간순 조회, 구간 조회(잠금 조회 포함), 날짜/월 GROUP BY를
+--   테이블 접근 없이 인덱스만으로 처리하는 커버링 인덱스 (기존 record_key 단일 컬럼 인덱스를 대체)
+-- * 전환 시점(@cutover, 실행한 달의 다음 달 1일, KST) 이전 데이터는 p_past 하나에 두고,
+--   그 이후 월 파티션은 HealthEntryPartitionManager가 p_past의 상한부터 이어서 추가
+
+-- 1. 기존 record_key 단일 컬럼 인덱스 제거
+--    ddl-auto: update는 ix_entry_record_started를 추가만 하고 이전 인덱스를 지우지 않아 쓰기마다 인덱스가 하나 더 갱신됨
+--    (이름은 Hibernate가 만든 IDX...이므로 information_schema에서 찾음, 파티션으로 전환하지 않는 환경도 이 단계는 실행)
+SET @old_index = (SELECT INDEX_NAME
+                  FROM information_schema.STATISTICS
+                  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'health_entry'
+                  GROUP BY INDEX_NAME
+                  HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'record_key' AND MAX(NON_UNIQUE) = 1
+                  LIMIT 1);
+SET @drop_old_index = IF(@old_index IS NULL, 'DO 0', CONCAT('DROP INDEX `', @old_index, '` ON health_entry'));
+PREPARE drop_old_index FROM @drop_old_index;
+EXECUTE drop_old_index;
+DEALLOCATE PREPARE drop_old_index;
+
+-- 2. 파티션 테이블 생성 (파티션 상한에는 변수를 쓸 수 없으므로 문장을 만들어 실행)
+--    전환 시점을 직접 정하려면 @cutover를 'YYYY-MM-01'로 바꿔 실행 (p_future가 비도록 가장 늦은 started_at_kst보다 뒤의 월 1일)
+SET @cutover = DATE_FORMAT(UTC_TIMESTAMP() + INTERVAL 9 HOUR + INTERVAL 1 MONTH, '%Y-%m-01');
+SET @create_partitioned = CONCAT('
+CREATE TABLE health_entry_partitioned
+(
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    record_key     VARCHAR(64)    NOT NULL,
+    started_at_kst DATETIME(6)    NOT NULL,
+    ended_at_kst   DATETIME(6)    NOT NULL,
+    steps          INT            NOT NULL,
+    distance_km    DECIMAL(10, 3) NOT NULL,
+    calories_kcal  DECIMAL(10, 2) NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id, started_at_kst),
+    UNIQUE KEY uq_entry (record_key, started_at_kst, ended_at_kst),
+    KEY ix_entry_record_started (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal)
+) ENGINE = InnoDB
+    PARTITION BY RANGE COLUMNS (started_at_kst) (
+        PARTITION p_past VALUES LESS THAN (''', @cutover, '''),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+        )');
+PREPARE create_partitioned FROM @create_partitioned;
+EXECUTE create_partitioned;
+DEALLOCATE PREPARE create_partitioned;
+
+-- 3. 기존 데이터 복사: 큰 테이블은 id 구간으로 나누어 반복 실행 (또는 pt-online-schema-change / gh-ost 사용)
+INSERT INTO health_entry_partitioned
+(id, record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
+SELECT id, record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at
+FROM health_entry;
+
+-- 4. 업로드를 멈춘 상태에서 교체
+RENAME TABLE health_entry TO health_entry_unpartitioned, health_entry_partitioned TO health_entry;
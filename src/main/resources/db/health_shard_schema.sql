@@ -0,0 +1,66 @@
+-- 1번 이후 샤드의 스키마 (MySQL 8)
+--
+-- ddl-auto는 기본 DataSource(0번 샤드)에만 적용되므로, health.sharding.shards에 추가하는 DB에는 이 스크립트로
+-- 사용자 단위 헬스 테이블만 만듦 (users 등 나머지 테이블은 0번 샤드에만 있음)
+-- 엔티티(HealthEntry, HealthEntryCompacted, HealthDailySummary, HealthMonthlySummary)를 바꾸면 함께 바꿔야 함
+-- health_entry를 월 단위로 나누려면 health_entry 대신 db/health_entry_partitioned.sql의 정의를 사용
+
+CREATE TABLE health_entry
+(
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    record_key     VARCHAR(64)    NOT NULL,
+    started_at_kst DATETIME(6)    NOT NULL,
+    ended_at_kst   DATETIME(6)    NOT NULL,
+    steps          INT            NOT NULL,
+    distance_km    DECIMAL(10, 3) NOT NULL,
+    calories_kcal  DECIMAL(10, 2) NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uq_entry (record_key, started_at_kst, ended_at_kst),
+    KEY ix_entry_record_started (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal)
+) ENGINE = InnoDB;
+
+CREATE TABLE health_entry_compacted
+(
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    record_key    VARCHAR(64)    NOT NULL,
+    summary_date  DATE           NOT NULL,
+    steps         INT            NOT NULL,
+    distance_km   DECIMAL(15, 3) NOT NULL,
+    calories_kcal DECIMAL(15, 2) NOT NULL,
+    entry_count   INT            NOT NULL,
+    entries       MEDIUMBLOB     NOT NULL,
+    created_at    DATETIME(6)    NOT NULL,
+    updated_at    DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uq_entry_compacted (record_key, summary_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE health_daily_summary
+(
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    record_key    VARCHAR(64)    NOT NULL,
+    summary_date  DATE           NOT NULL,
+    steps         INT            NOT NULL,
+    distance_km   DECIMAL(15, 3) NOT NULL,
+    calories_kcal DECIMAL(15, 2) NOT NULL,
+    created_at    DATETIME(6)    NOT NULL,
+    updated_at    DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uq_daily_summary (record_key, summary_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE health_monthly_summary
+(
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    record_key    VARCHAR(64)    NOT NULL,
+    summary_month VARCHAR(7)     NOT NULL,
+    steps         INT            NOT NULL,
+    distance_km   DECIMAL(15, 3) NOT NULL,
+    calories_kcal DECIMAL(15, 2) NOT NULL,
+    created_at    DATETIME(6)    NOT NULL,
+    updated_at    DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uq_monthly_summary (record_key, summary_month)
+) ENGINE = InnoDB;
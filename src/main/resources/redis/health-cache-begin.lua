@@ -0,0 +1,10 @@
+-- 업로드 커밋 직전에 호출: 커밋~패치 사이에 DB를 읽은 채우기가 변화량을 이중 반영하지 않도록
+-- 진행 중인 쓰기 수를 늘리고 버전을 올림 (채우기는 진행 중인 쓰기가 있으면 건너뜀)
+--
+-- KEYS[1] 사용자 캐시 버전, KEYS[2] 진행 중인 쓰기 수
+-- ARGV[1] 버전 TTL(초), ARGV[2] 진행 중 표시 TTL(초)
+redis.call('INCR', KEYS[1])
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+redis.call('INCR', KEYS[2])
+redis.call('EXPIRE', KEYS[2], ARGV[2])
+return 1
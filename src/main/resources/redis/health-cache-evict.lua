@@ -0,0 +1,9 @@
+-- 사용자의 일간/월간 해시를 삭제하고 버전을 올린 뒤 L1 무효화를 발행
+--
+-- KEYS[1] 일간 해시, KEYS[2] 월간 해시, KEYS[3] 사용자 캐시 버전
+-- ARGV[1] L1 무효화 채널, ARGV[2] recordKey, ARGV[3] 버전 TTL(초)
+redis.call('DEL', KEYS[1], KEYS[2])
+redis.call('INCR', KEYS[3])
+redis.call('EXPIRE', KEYS[3], ARGV[3])
+redis.call('PUBLISH', ARGV[1], ARGV[2])
+return 1
@@ -0,0 +1,19 @@
+-- 캐시 미스 후 DB에서 읽은 세그먼트의 집계(또는 첫 기간 필드)로 해시를 채움
+-- 조회 시작 이후 업로드(패치/무효화)로 버전이 바뀌었거나 커밋 후 패치 전인 업로드가 있으면 채우지 않음
+-- 다른 세그먼트의 필드는 그대로 두며, 해시 TTL은 채울 때마다 다시 설정
+--
+-- KEYS[1] 집계 해시, KEYS[2] 사용자 캐시 버전, KEYS[3] 진행 중인 쓰기 수
+-- ARGV[1] 조회 시작 시점의 버전 (없으면 빈 문자열), ARGV[2] TTL(초), ARGV[3..] field, value 쌍
+local version = redis.call('GET', KEYS[2]) or ''
+if version ~= ARGV[1] then
+    return 0
+end
+if tonumber(redis.call('GET', KEYS[3]) or '0') > 0 then
+    return 0
+end
+
+for i = 3, #ARGV, 2 do
+    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return 1
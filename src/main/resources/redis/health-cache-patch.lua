@@ -0,0 +1,54 @@
+-- 업로드 커밋 후 호출: lastUpdate 반영/예약 해제와 바뀐 날짜/월 필드의 변화량 반영을 한 번에 수행
+-- 변화량은 그 기간의 세그먼트(일간은 YYYY-MM, 월간은 YYYY)가 채워져 있을 때만 더하며(~{세그먼트} 필드),
+-- 덧셈은 순서와 무관하므로 동시 업로드의 커밋/패치 순서가 뒤바뀌어도 결과가 같음
+-- 첫 기간 필드(^)가 있으면 더 이른 기간이 업로드되었을 때 갱신
+--
+-- KEYS[1] 일간 해시, KEYS[2] 월간 해시, KEYS[3] 사용자 캐시 버전, KEYS[4] 진행 중인 쓰기 수
+-- KEYS[5] lastUpdate, KEYS[6] 업로드 예약 해시 (업로드 커밋일 때만)
+-- ARGV[1] L1 무효화 채널, ARGV[2] recordKey, ARGV[3] 버전 TTL(초)
+-- ARGV[4] 진행 중인 쓰기 수를 늘렸는지 여부(1/0), ARGV[5] 예약 토큰, ARGV[6] 요청 lastUpdate(epoch 밀리초)
+-- ARGV[7] 일간 field/increment 쌍 개수, ARGV[8..] 일간 field, increment 쌍에 이어 월간 field, increment 쌍
+if #KEYS >= 6 then
+    -- 예약이 만료된 뒤 커밋되었더라도 lastUpdate는 더 새로운 값일 때만 반영
+    local last = tonumber(redis.call('GET', KEYS[5]) or '')
+    if not last or tonumber(ARGV[6]) > last then
+        redis.call('SET', KEYS[5], ARGV[6])
+    end
+    if redis.call('HGET', KEYS[6], 'token') == ARGV[5] then
+        redis.call('DEL', KEYS[6])
+    end
+end
+
+local begun = ARGV[4] == '1'
+if not begun and #ARGV < 8 then
+    return 1
+end
+
+redis.call('INCR', KEYS[3])
+redis.call('EXPIRE', KEYS[3], ARGV[3])
+if begun and tonumber(redis.call('GET', KEYS[4]) or '0') > 0 then
+    redis.call('DECR', KEYS[4])
+end
+
+local function apply(hash, segmentLength, field, increment)
+    local period = string.sub(field, 1, #field - 2)
+    if redis.call('HEXISTS', hash, '~' .. string.sub(period, 1, segmentLength)) == 1 then
+        redis.call('HINCRBY', hash, field, increment)
+    end
+    local first = redis.call('HGET', hash, '^')
+    if first and (first == '' or period < first) then
+        redis.call('HSET', hash, '^', period)
+    end
+end
+
+local dailyEnd = 7 + tonumber(ARGV[7]) * 2
+for i = 8, #ARGV, 2 do
+    if i <= dailyEnd then
+        apply(KEYS[1], 7, ARGV[i], ARGV[i + 1])
+    else
+        apply(KEYS[2], 4, ARGV[i], ARGV[i + 1])
+    end
+end
+
+redis.call('PUBLISH', ARGV[1], ARGV[2])
+return 1
@@ -0,0 +1,9 @@
+-- 캐시 채우기 락 해제 (락이 만료된 뒤 다른 노드가 얻은 락은 건드리지 않도록 토큰이 같을 때만)
+--
+-- KEYS[1] 채우기 락
+-- ARGV[1] 락 토큰
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 1
+end
+return 0
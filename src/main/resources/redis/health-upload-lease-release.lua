@@ -0,0 +1,9 @@
+-- 업로드 파티션 소유권 반납 (다른 인스턴스가 얻은 소유권은 건드리지 않도록 소유자가 같을 때만)
+--
+-- KEYS[1] 파티션 소유권 키
+-- ARGV[1] 소유 인스턴스 ID
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 1
+end
+return 0
@@ -0,0 +1,10 @@
+-- 업로드 파티션 소유권 연장 (만료 뒤 다른 인스턴스가 얻은 소유권은 건드리지 않도록 소유자가 같을 때만)
+--
+-- KEYS[1] 파티션 소유권 키
+-- ARGV[1] 소유 인스턴스 ID
+-- ARGV[2] 소유권 TTL (밀리초)
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+return 0
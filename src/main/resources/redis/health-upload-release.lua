@@ -0,0 +1,9 @@
+-- 롤백된 업로드의 예약 해제 (다른 업로드의 예약은 건드리지 않도록 토큰이 같을 때만)
+--
+-- KEYS[1] 진행 중인 업로드 예약 해시
+-- ARGV[1] 예약 토큰
+if redis.call('HGET', KEYS[1], 'token') == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return 1
+end
+return 0
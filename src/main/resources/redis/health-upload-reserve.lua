@@ -0,0 +1,25 @@
+-- 업로드 게이트: lastUpdate 비교와 업로드 예약을 한 번에 수행 (DB 작업 전에 호출)
+-- 이미 반영된 lastUpdate 또는 진행 중인 업로드의 lastUpdate보다 같거나 오래된 요청은 거부하고,
+-- 진행 중인 업로드보다 새로운 요청은 진행 중인 업로드가 끝난 뒤 재시도하도록 -1을 반환
+-- (숫자가 아닌 이전 형식의 lastUpdate 값은 없는 것으로 처리하며 커밋 시 덮어씀)
+--
+-- KEYS[1] lastUpdate(epoch 밀리초), KEYS[2] 진행 중인 업로드 예약 해시
+-- ARGV[1] 요청 lastUpdate(epoch 밀리초), ARGV[2] 예약 토큰, ARGV[3] 예약 TTL(밀리초)
+-- 반환: 1 예약 성공, 0 오래된 요청, -1 다른 업로드 진행 중
+local client = tonumber(ARGV[1])
+local last = tonumber(redis.call('GET', KEYS[1]) or '')
+if last and client <= last then
+    return 0
+end
+
+local held = redis.call('HGET', KEYS[2], 'lastUpdate')
+if held then
+    if client <= tonumber(held) then
+        return 0
+    end
+    return -1
+end
+
+redis.call('HSET', KEYS[2], 'token', ARGV[2], 'lastUpdate', ARGV[1])
+redis.call('PEXPIRE', KEYS[2], ARGV[3])
+return 1
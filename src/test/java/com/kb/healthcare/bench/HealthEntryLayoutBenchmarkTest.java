@@ -0,0 +1,214 @@
+package com.kb.healthcare.bench;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기존 {@code health_entry} 레이아웃과 월 단위 파티션 + 커버링 인덱스 레이아웃의 조회 지연 시간 비교
+ *
+ * <p>로컬 MySQL이 필요하며 {@code ./gradlew bench}로 실행합니다. 같은 합성 데이터를 두 벤치마크 테이블
+ * ({@code bench_entry_flat}, {@code bench_entry_partitioned})에 만든 뒤 조회 유형별 p50/p99와 실행 계획을 출력합니다.</p>
+ *
+ * <ul>
+ *   <li>{@code -Pbench.entry.rows} 전체 행 수 (기본 1억)</li>
+ *   <li>{@code -Pbench.entry.users} 사용자 수 (기본 2,000, 사용자마다 10분 단위 연속 이력)</li>
+ *   <li>{@code -Pbench.entry.reuse=false} 이미 만든 테이블이 있어도 다시 생성 (기본은 행 수가 같으면 재사용)</li>
+ * </ul>
+ */
+@Tag("bench")
+@SpringBootTest
+class HealthEntryLayoutBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("bench.entry.rows", 100_000_000L);
+    private static final int USERS = Integer.getInteger("bench.entry.users", 2_000);
+    private static final boolean REUSE = Boolean.parseBoolean(System.getProperty("bench.entry.reuse", "true"));
+
+    private static final int QUERIES = 200;
+    private static final int USERS_PER_INSERT = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String FLAT = "bench_entry_flat";
+    private static final String PARTITIONED = "bench_entry_partitioned";
+
+    /**
+     * 현재 JPA 엔티티가 만드는 레이아웃
+     */
+    private static final String CREATE_FLAT = """
+            CREATE TABLE bench_entry_flat (
+                id BIGINT NOT NULL AUTO_INCREMENT,
+                record_key VARCHAR(64) NOT NULL,
+                started_at_kst DATETIME(6) NOT NULL,
+                ended_at_kst DATETIME(6) NOT NULL,
+                steps INT NOT NULL,
+                distance_km DECIMAL(10, 3) NOT NULL,
+                calories_kcal DECIMAL(10, 2) NOT NULL,
+                created_at DATETIME(6) NOT NULL,
+                updated_at DATETIME(6) NOT NULL,
+                PRIMARY KEY (id),
+                UNIQUE KEY uq_entry (record_key, started_at_kst, ended_at_kst),
+                KEY ix_record_key (record_key)
+            ) ENGINE = InnoDB
+            """;
+
+    /**
+     * {@code db/health_entry_partitioned.sql}과 같은 레이아웃 (합성 이력 기간 전체를 월 파티션으로)
+     */
+    private static final String CREATE_PARTITIONED = """
+            CREATE TABLE bench_entry_partitioned (
+                id BIGINT NOT NULL AUTO_INCREMENT,
+                record_key VARCHAR(64) NOT NULL,
+                started_at_kst DATETIME(6) NOT NULL,
+                ended_at_kst DATETIME(6) NOT NULL,
+                steps INT NOT NULL,
+                distance_km DECIMAL(10, 3) NOT NULL,
+                calories_kcal DECIMAL(10, 2) NOT NULL,
+                created_at DATETIME(6) NOT NULL,
+                updated_at DATETIME(6) NOT NULL,
+                PRIMARY KEY (id, started_at_kst),
+                UNIQUE KEY uq_entry (record_key, started_at_kst, ended_at_kst),
+                KEY ix_entry_record_started (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal)
+            ) ENGINE = InnoDB
+            PARTITION BY RANGE COLUMNS (started_at_kst) (%s)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void flatVersusPartitionedLayout() {
+        long rowsPerUser = ROWS / USERS;
+        prepare(FLAT, CREATE_FLAT, rowsPerUser);
+        prepare(PARTITIONED, CREATE_PARTITIONED.formatted(partitions(rowsPerUser)), rowsPerUser);
+
+        LocalDateTime end = START.plusMinutes(10 * rowsPerUser);
+        var queries = Map.of(
+                "ordered", "SELECT started_at_kst, ended_at_kst, steps, distance_km, calories_kcal FROM %s WHERE record_key = ? ORDER BY started_at_kst",
+                "range-1d", "SELECT started_at_kst, ended_at_kst, steps, distance_km, calories_kcal FROM %s WHERE record_key = ? AND started_at_kst BETWEEN ? AND ?",
+                "range-30d", "SELECT started_at_kst, ended_at_kst, steps, distance_km, calories_kcal FROM %s WHERE record_key = ? AND started_at_kst BETWEEN ? AND ?",
+                "daily-agg", "SELECT DATE(started_at_kst), SUM(steps), SUM(distance_km), SUM(calories_kcal) FROM %s WHERE record_key = ? GROUP BY DATE(started_at_kst)",
+                "all-users-1d", "SELECT COUNT(*), SUM(steps) FROM %s WHERE started_at_kst >= ? AND started_at_kst < ?");
+
+        System.out.printf("[BENCH layout] rows=%d users=%d rowsPerUser=%d%n", ROWS, USERS, rowsPerUser);
+        for (String name : List.of("ordered", "range-1d", "range-30d", "daily-agg", "all-users-1d")) {
+            for (String table : List.of(FLAT, PARTITIONED)) {
+                String sql = queries.get(name).formatted(table);
+                explain(name, table, sql, args(name, end));
+
+                run(sql, args(name, end));  // 워밍업
+                long[] nanos = new long[QUERIES];
+                for (int i = 0; i < QUERIES; i++) {
+                    Object[] args = args(name, end);
+                    long started = System.nanoTime();
+                    run(sql, args);
+                    nanos[i] = System.nanoTime() - started;
+                }
+                Arrays.sort(nanos);
+                System.out.printf("[BENCH layout] query=%-12s table=%-24s p50=%8.2fms p99=%8.2fms%n",
+                        name, table, nanos[QUERIES / 2] / 1_000_000.0, nanos[QUERIES * 99 / 100] / 1_000_000.0);
+            }
+        }
+    }
+
+    private void run(String sql, Object[] args) {
+        jdbcTemplate.query(sql, rs -> {
+            while (rs.next()) {
+                rs.getObject(1);
+            }
+            return null;
+        }, args);
+    }
+
+    private void explain(String name, String table, String sql, Object[] args) {
+        for (var row : jdbcTemplate.queryForList("EXPLAIN " + sql, args)) {
+            System.out.printf("[BENCH layout] explain query=%-12s table=%-24s partitions=%s key=%s rows=%s extra=%s%n",
+                    name, table, row.get("partitions"), row.get("key"), row.get("rows"), row.get("Extra"));
+        }
+    }
+
+    private static Object[] args(String name, LocalDateTime end) {
+        var random = ThreadLocalRandom.current();
+        String recordKey = "bench-entry-" + random.nextInt(USERS);
+        long minutes = java.time.Duration.between(START, end).toMinutes();
+        LocalDateTime from = START.plusMinutes(random.nextLong(Math.max(1, minutes - 30L * 24 * 60)) / 10 * 10);
+        return switch (name) {
+            case "ordered", "daily-agg" -> new Object[]{recordKey};
+            case "range-1d" -> new Object[]{recordKey, Timestamp.valueOf(from), Timestamp.valueOf(from.plusDays(1))};
+            case "range-30d" -> new Object[]{recordKey, Timestamp.valueOf(from), Timestamp.valueOf(from.plusDays(30))};
+            case "all-users-1d" -> new Object[]{Timestamp.valueOf(from), Timestamp.valueOf(from.plusDays(1))};
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    /**
+     * 행 수가 같은 테이블이 있으면 재사용하고, 없으면 사용자 묶음 단위 INSERT ... SELECT로 합성 이력을 만듭니다.
+     */
+    private void prepare(String table, String ddl, long rowsPerUser) {
+        if (REUSE && exists(table)) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+            if (count != null && count == rowsPerUser * USERS) {
+                System.out.printf("[BENCH layout] reuse table=%s rows=%d%n", table, count);
+                return;
+            }
+        }
+
+        long started = System.nanoTime();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute(ddl);
+
+        // 0..rowsPerUser-1 슬롯 번호 테이블
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_entry_seq");
+        jdbcTemplate.execute("CREATE TABLE bench_entry_seq (n INT NOT NULL PRIMARY KEY)");
+        jdbcTemplate.execute("SET SESSION cte_max_recursion_depth = " + Math.max(1000, rowsPerUser));
+        jdbcTemplate.execute("""
+                INSERT INTO bench_entry_seq
+                WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < %d)
+                SELECT n FROM seq
+                """.formatted(rowsPerUser - 1));
+
+        for (int user = 0; user < USERS; user += USERS_PER_INSERT) {
+            jdbcTemplate.update("""
+                    INSERT INTO %s (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
+                    SELECT CONCAT('bench-entry-', u.n),
+                           TIMESTAMPADD(MINUTE, s.n * 10, ?), TIMESTAMPADD(MINUTE, s.n * 10 + 10, ?),
+                           (s.n * 7 + u.n) %% 300, ((s.n + u.n) %% 500) / 1000, ((s.n * 3 + u.n) %% 2000) / 100, NOW(), NOW()
+                    FROM (SELECT n FROM bench_entry_seq WHERE n >= ? AND n < ?) u
+                    CROSS JOIN bench_entry_seq s
+                    """.formatted(table),
+                    Timestamp.valueOf(START), Timestamp.valueOf(START), user, Math.min(user + USERS_PER_INSERT, USERS));
+        }
+        jdbcTemplate.execute("DROP TABLE bench_entry_seq");
+        jdbcTemplate.execute("ANALYZE TABLE " + table);
+        System.out.printf("[BENCH layout] created table=%s rows=%d in %.0fs%n",
+                table, rowsPerUser * USERS, (System.nanoTime() - started) / 1e9);
+    }
+
+    private boolean exists(String table) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    /**
+     * 합성 이력 기간을 덮는 월 파티션 정의
+     */
+    private static String partitions(long rowsPerUser) {
+        var definitions = new StringBuilder();
+        LocalDateTime end = START.plusMinutes(10 * rowsPerUser);
+        for (var month = START.toLocalDate().withDayOfMonth(1); !month.isAfter(end.toLocalDate()); month = month.plusMonths(1)) {
+            definitions.append("PARTITION p%d%02d VALUES LESS THAN ('%s'), ".formatted(
+                    month.getYear(), month.getMonthValue(), month.plusMonths(1)));
+        }
+        return definitions.append("PARTITION p_future VALUES LESS THAN (MAXVALUE)").toString();
+    }
+}
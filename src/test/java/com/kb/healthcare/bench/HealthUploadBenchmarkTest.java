@@ -0,0 +1,118 @@
+package com.kb.healthcare.bench;
+
+import com.kb.healthcare.repository.HealthEntryRepository;
+import com.kb.healthcare.repository.HealthEntryRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 건별 upsert 루프와 청크 단위 bulk upsert의 처리량(rows/sec) 비교
+ *
+ * <p>로컬 MySQL이 필요하며 {@code ./gradlew bench}로 실행합니다.</p>
+ */
+@Tag("bench")
+@SpringBootTest
+class HealthUploadBenchmarkTest {
+
+    private static final int ROWS = 144 * 30;  // 10분 단위 30일치
+    private static final int ROUNDS = 3;
+
+    /**
+     * 비교 기준인 건별 upsert (업로드 경로에서는 더 이상 쓰지 않음)
+     */
+    private static final String UPSERT_ROW = """
+            INSERT INTO health_entry
+            (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW())
+            ON DUPLICATE KEY UPDATE
+                steps = VALUES(steps),
+                distance_km = VALUES(distance_km),
+                calories_kcal = VALUES(calories_kcal),
+                updated_at = NOW()
+            """;
+
+    @Autowired
+    private HealthEntryRepository entryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<String> recordKeys = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        recordKeys.forEach(k -> jdbcTemplate.update("DELETE FROM health_entry WHERE record_key = ?", k));
+    }
+
+    @Test
+    void perRowLoopVersusBulkUpsert() {
+        var rows = syntheticRows();
+
+        // 워밍업
+        perRow(newRecordKey(), rows);
+        bulk(newRecordKey(), rows);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long perRowNanos = perRow(newRecordKey(), rows);
+            long bulkNanos = bulk(newRecordKey(), rows);
+
+            System.out.printf("[BENCH upload] round=%d rows=%d perRow=%.0f rows/s bulk=%.0f rows/s (x%.1f)%n",
+                    round, ROWS,
+                    rowsPerSecond(perRowNanos), rowsPerSecond(bulkNanos),
+                    (double) perRowNanos / bulkNanos);
+        }
+    }
+
+    private long perRow(String recordKey, List<HealthEntryRow> rows) {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> rows.forEach(r ->
+                jdbcTemplate.update(UPSERT_ROW, recordKey, r.startedAt(), r.endedAt(),
+                        r.steps(), r.distance(), r.calories())));
+        return System.nanoTime() - started;
+    }
+
+    private long bulk(String recordKey, List<HealthEntryRow> rows) {
+        long started = System.nanoTime();
+        Integer count = transactionTemplate.execute(status -> entryRepository.bulkUpsert(recordKey, rows));
+        long elapsed = System.nanoTime() - started;
+        assertThat(count).isEqualTo(rows.size());
+        return elapsed;
+    }
+
+    private String newRecordKey() {
+        String recordKey = "bench-" + UUID.randomUUID();
+        recordKeys.add(recordKey);
+        return recordKey;
+    }
+
+    private static List<HealthEntryRow> syntheticRows() {
+        var start = LocalDateTime.of(2024, 11, 1, 0, 0);
+        var rows = new ArrayList<HealthEntryRow>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            var from = start.plusMinutes(10L * i);
+            rows.add(new HealthEntryRow(from, from.plusMinutes(10), i % 300,
+                    new BigDecimal("0.215"), new BigDecimal("8.31")));
+        }
+        return rows;
+    }
+
+    private static double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+}
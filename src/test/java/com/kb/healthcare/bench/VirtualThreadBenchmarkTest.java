@@ -0,0 +1,248 @@
+package com.kb.healthcare.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 플랫폼 스레드 풀(Tomcat 기본 200개)과 가상 스레드의 동시 조회/업로드 처리량 및 지연 시간 비교
+ *
+ * <p>로컬 MySQL/Redis가 필요하며 {@code ./gradlew bench}로 실행합니다. 애플리케이션을 실제 포트로 띄우고
+ * {@code spring.threads.virtual.enabled}만 다른 두 컨텍스트({@link Platform}, {@link Virtual})에
+ * 같은 HTTP 부하를 보냅니다. 요청의 80%는 임의 구간의 {@code /api/health/daily} 조회,
+ * 20%는 사용자마다 새 {@code /api/health/upload}이며, 모드마다 측정 라운드 전체의 결과를 한 줄로 출력합니다.</p>
+ */
+@Tag("bench")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.org.hibernate.SQL=WARN")
+abstract class VirtualThreadBenchmarkTest {
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    static class Platform extends VirtualThreadBenchmarkTest {
+    }
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    static class Virtual extends VirtualThreadBenchmarkTest {
+    }
+
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 1_000;  // Tomcat 플랫폼 스레드 수보다 많은 동시 요청
+    private static final int READERS = 50;
+    private static final int ENTRIES_PER_UPLOAD = 144;  // 10분 단위 하루치
+    private static final int ROUNDS = 3;
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final LocalDate START = LocalDate.of(2024, 11, 1);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final List<String> recordKeys = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        for (String recordKey : recordKeys) {
+            jdbcTemplate.update("DELETE FROM health_entry WHERE record_key = ?", recordKey);
+            jdbcTemplate.update("DELETE FROM health_daily_summary WHERE record_key = ?", recordKey);
+            jdbcTemplate.update("DELETE FROM health_monthly_summary WHERE record_key = ?", recordKey);
+        }
+    }
+
+    @Test
+    void dailyAndUploadOverHttp() throws Exception {
+        var readers = new ArrayList<User>();
+        for (int i = 0; i < READERS; i++) {
+            User reader = newUser();
+            for (int day = 0; day < 30; day++) {
+                assertThat(send(upload(reader, START.plusDays(day)))).isEqualTo(200);
+            }
+            readers.add(reader);
+        }
+
+        // 워밍업
+        run(readers, new Result());
+
+        var result = new Result();
+        for (int round = 0; round < ROUNDS; round++) {
+            run(readers, result);
+        }
+
+        System.out.printf("[BENCH threads] mode=%-8s requests=%d %.0f req/s daily p50=%.1fms p99=%.1fms upload p50=%.1fms p99=%.1fms errors=%d%n",
+                virtualThreads ? "virtual" : "platform", result.count(),
+                result.count() / (result.elapsedNanos / 1_000_000_000.0),
+                percentile(result.readNanos, result.reads, 0.50), percentile(result.readNanos, result.reads, 0.99),
+                percentile(result.writeNanos, result.writes, 0.50), percentile(result.writeNanos, result.writes, 0.99),
+                result.errors);
+    }
+
+    /**
+     * 요청 {@value #REQUESTS}개를 최대 {@value #CONCURRENCY}개씩 동시에 보내고 결과를 더합니다.
+     */
+    private void run(List<User> readers, Result result) throws Exception {
+        var futures = new ArrayList<Future<long[]>>(REQUESTS);
+        var permits = new Semaphore(CONCURRENCY);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                HttpRequest request = i % 5 == 0
+                        ? upload(newUser(), START)
+                        : daily(readers.get(ThreadLocalRandom.current().nextInt(readers.size())));
+                long kind = i % 5 == 0 ? 1 : 0;
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        long sent = System.nanoTime();
+                        int status = send(request);
+                        return new long[]{kind, System.nanoTime() - sent, status};
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (var future : futures) {
+                result.record(future.get());
+            }
+        }
+        result.elapsedNanos += System.nanoTime() - started;
+    }
+
+    private int send(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private HttpRequest daily(User user) {
+        int from = ThreadLocalRandom.current().nextInt(30);
+        int to = from + ThreadLocalRandom.current().nextInt(30 - from);
+        return HttpRequest.newBuilder(uri("/api/health/daily?from=" + START.plusDays(from) + "&to=" + START.plusDays(to)))
+                .header("Authorization", "Bearer " + user.token())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest upload(User user, LocalDate day) throws IOException {
+        return HttpRequest.newBuilder(uri("/api/health/upload"))
+                .header("Authorization", "Bearer " + user.token())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request(user.recordKey(), day))))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * 회원가입/로그인(BCrypt) 비용이 섞이지 않도록 토큰을 직접 발급한 사용자
+     */
+    private User newUser() {
+        String recordKey = "bench-" + UUID.randomUUID();
+        recordKeys.add(recordKey);
+        return new User(recordKey, jwtTokenProvider.generate(recordKey + "@example.com", recordKey, 0));
+    }
+
+    private static HealthUploadRequest request(String recordKey, LocalDate day) {
+        var entries = new ArrayList<HealthUploadRequest.Entry>(ENTRIES_PER_UPLOAD);
+        LocalDateTime from = day.atStartOfDay();
+        for (int i = 0; i < ENTRIES_PER_UPLOAD; i++) {
+            entries.add(new HealthUploadRequest.Entry(
+                    new HealthUploadRequest.Period(from.format(FORMAT), from.plusMinutes(10).format(FORMAT)),
+                    new HealthUploadRequest.Metric("km", new BigDecimal("0.215")),
+                    new HealthUploadRequest.Metric("kcal", new BigDecimal("8.31")),
+                    (double) (i % 300)));
+            from = from.plusMinutes(10);
+        }
+        String lastUpdate = day.plusDays(1).atStartOfDay().format(FORMAT);
+        return new HealthUploadRequest(recordKey, new HealthUploadRequest.Data(entries), lastUpdate);
+    }
+
+    private static double percentile(long[] nanos, int count, double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, (int) Math.ceil(p * count) - 1)] / 1_000_000.0;
+    }
+
+    private record User(String recordKey, String token) {
+    }
+
+    /**
+     * 측정 라운드 전체의 응답 시간 (2xx가 아닌 응답은 실패 수로만 집계)
+     */
+    private static final class Result {
+        private final long[] readNanos = new long[REQUESTS * ROUNDS];
+        private final long[] writeNanos = new long[REQUESTS * ROUNDS];
+        private int reads;
+        private int writes;
+        private int errors;
+        private long elapsedNanos;
+
+        void record(long[] response) {
+            if (response[2] / 100 != 2) {
+                errors++;
+            } else if (response[0] == 1) {
+                writeNanos[writes++] = response[1];
+            } else {
+                readNanos[reads++] = response[1];
+            }
+        }
+
+        int count() {
+            return reads + writes + errors;
+        }
+    }
+}
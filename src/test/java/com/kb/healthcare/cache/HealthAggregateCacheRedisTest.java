@@ -0,0 +1,284 @@
+package com.kb.healthcare.cache;
+
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import com.kb.healthcare.dto.health.HealthMonthlyResponse;
+import com.kb.healthcare.service.HealthRange;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 캐시 미스 single-flight, 만료 전 미리 채우기, 사용자 단위 L1 무효화, 구간 단위 채우기, 구간 경계 테스트
+ *
+ * <p>로컬 Redis(localhost:6379)의 15번 DB를 사용하며, 연결할 수 없으면 건너뜁니다.</p>
+ */
+class HealthAggregateCacheRedisTest {
+
+    private static final String RECORD_KEY = "cache-test-user";
+    private static final int CONCURRENCY = 16;
+    private static final HealthRange<LocalDate> DECEMBER =
+            new HealthRange<>(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31), null, null);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final List<HealthAggregateCache> caches = new ArrayList<>();
+
+    @BeforeAll
+    static void connect() {
+        var config = new RedisStandaloneConfiguration("localhost", 6379);
+        config.setDatabase(15);
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        boolean available;
+        try (var connection = connectionFactory.getConnection()) {
+            available = "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            available = false;
+        }
+        assumeTrue(available, "로컬 Redis(localhost:6379)가 없어 건너뜁니다.");
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        caches.forEach(HealthAggregateCache::destroy);
+    }
+
+    @Test
+    void 여러_노드의_동시_캐시_미스는_DB를_한_번만_읽는다() throws Exception {
+        // 노드 두 개가 같은 Redis를 공유
+        var nodes = List.of(cache(0), cache(0));
+        var loads = new AtomicInteger();
+        var loader = loader((from, to) -> {
+            loads.incrementAndGet();
+            sleep(300);
+            return List.of(daily(LocalDate.of(2024, 12, 16), 612));
+        });
+
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            var futures = new ArrayList<Future<List<HealthDailyResponse>>>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                var node = nodes.get(i % nodes.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return node.getDaily(RECORD_KEY, DECEMBER, loader);
+                }));
+            }
+            start.countDown();
+
+            for (var future : futures) {
+                assertThat(future.get()).singleElement()
+                        .extracting(HealthDailyResponse::getSteps).isEqualTo(612);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void 만료가_가까운_해시는_조회_시_백그라운드에서_다시_채운다() {
+        // beta가 매우 크면 L2 적중마다 미리 채움
+        var cache = cache(1_000_000_000);
+        var loads = new AtomicInteger();
+        var day = LocalDate.of(2024, 12, 16);
+
+        var loader = loader((from, to) -> List.of(daily(day, loads.incrementAndGet())));
+
+        cache.getDaily(RECORD_KEY, DECEMBER, loader);
+        var hit = cache.getDaily(RECORD_KEY, new HealthRange<>(day, day, null, null), loader);
+
+        assertThat(hit).singleElement().extracting(HealthDailyResponse::getSteps).isEqualTo(1);
+        String hashKey = HealthCacheFamily.DAILY.prefix + RECORD_KEY;
+        for (int i = 0; i < 100 && !"2".equals(redisTemplate.opsForHash().get(hashKey, day + ":s")); i++) {
+            sleep(50);
+        }
+        assertThat(loads).hasValue(2);
+        assertThat(redisTemplate.opsForHash().get(hashKey, day + ":s")).isEqualTo("2");
+    }
+
+    @Test
+    void 무효화는_해당_사용자의_L1_항목만_제거한다() {
+        var cache = cache(0);
+        var day = LocalDate.of(2024, 12, 16);
+        var other = "cache-test-other";
+        var loader = loader((from, to) -> List.of(daily(day, 612)));
+
+        // 해시를 채운 뒤 두 사용자의 L1을 채움 (L2 적중 결과만 L1에 남음)
+        for (String recordKey : List.of(RECORD_KEY, other)) {
+            cache.getDaily(recordKey, DECEMBER, loader);
+            cache.getDaily(recordKey, DECEMBER, loader);
+            cache.getDaily(recordKey, new HealthRange<>(day, day, null, null), loader);
+        }
+
+        cache.onMessage(new DefaultMessage(HealthAggregateCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                RECORD_KEY.getBytes(StandardCharsets.UTF_8)), null);
+
+        long l1Hits = cache.stats().l1Hits();
+        cache.getDaily(other, DECEMBER, loader);
+        cache.getDaily(RECORD_KEY, DECEMBER, loader);
+        // 다른 사용자는 L1에서, 무효화된 사용자는 L2에서 읽음
+        assertThat(cache.stats().l1Hits()).isEqualTo(l1Hits + 1);
+    }
+
+    @Test
+    void 시작일만_준_조회는_그_구간의_세그먼트만_DB에서_읽는다() {
+        var cache = cache(0);
+        var today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        var from = today.minusDays(29);
+        var loads = new CopyOnWriteArrayList<List<LocalDate>>();
+        var firstReads = new AtomicInteger();
+        var loader = HealthSeriesLoader.<LocalDate, HealthDailyResponse>of((f, t) -> {
+            loads.add(List.of(f, t));
+            return List.of(daily(today, 612));
+        }, () -> {
+            firstReads.incrementAndGet();
+            return LocalDate.of(2015, 1, 1);
+        });
+
+        var result = cache.getDaily(RECORD_KEY, new HealthRange<>(from, null, null, null), loader);
+
+        // 종료일은 오늘, 전체 이력(2015년부터)이 아니라 from이 속한 달부터 이번 달까지만 읽음
+        assertThat(result).singleElement().extracting(HealthDailyResponse::getSteps).isEqualTo(612);
+        assertThat(firstReads).hasValue(0);
+        assertThat(loads).containsExactly(List.of(from.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth())));
+    }
+
+    @Test
+    void 커서_페이지는_페이지_크기만큼의_세그먼트만_읽는다() {
+        var cache = cache(0);
+        var cursor = LocalDate.of(2024, 12, 16);
+        var loads = new CopyOnWriteArrayList<List<LocalDate>>();
+        var loader = loader((from, to) -> {
+            loads.add(List.of(from, to));
+            var days = new ArrayList<HealthDailyResponse>();
+            for (var d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                days.add(daily(d, d.getDayOfMonth()));
+            }
+            return days;
+        });
+
+        var page = cache.getDaily(RECORD_KEY, new HealthRange<>(null, null, cursor, 3), loader);
+
+        assertThat(page).extracting(HealthDailyResponse::getDaily)
+                .containsExactly(cursor.plusDays(1), cursor.plusDays(2), cursor.plusDays(3));
+        assertThat(loads).containsExactly(List.of(LocalDate.of(2024, 12, 1), LocalDate.of(2025, 1, 31)));
+    }
+
+    @Test
+    void 구간_조회는_시작과_종료를_포함하고_구간_밖의_날짜는_반환하지_않는다() {
+        var cache = cache(0);
+        var loader = loader((from, to) -> {
+            var days = new ArrayList<HealthDailyResponse>();
+            for (var d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                days.add(daily(d, d.getDayOfMonth()));
+            }
+            return days;
+        });
+        var from = LocalDate.of(2024, 12, 10);
+        var to = LocalDate.of(2024, 12, 12);
+
+        // 첫 조회는 DB(세그먼트 전체), 두 번째는 Redis 해시에서 같은 구간만 반환
+        for (int i = 0; i < 2; i++) {
+            assertThat(cache.getDaily(RECORD_KEY, new HealthRange<>(from, to, null, null), loader))
+                    .extracting(HealthDailyResponse::getDaily)
+                    .containsExactly(from, from.plusDays(1), to);
+        }
+        assertThat(cache.getDaily(RECORD_KEY, new HealthRange<>(to, to, null, null), loader))
+                .extracting(HealthDailyResponse::getDaily).containsExactly(to);
+    }
+
+    @Test
+    void 월간_구간_조회는_시작_월과_종료_월을_포함한다() {
+        var cache = cache(0);
+        var loader = HealthSeriesLoader.<YearMonth, HealthMonthlyResponse>of((from, to) -> {
+            var months = new ArrayList<HealthMonthlyResponse>();
+            for (var m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+                months.add(new HealthMonthlyResponse(m.toString(), m.getMonthValue(), new BigDecimal("459.00"),
+                        new BigDecimal("12.600"), RECORD_KEY));
+            }
+            return months;
+        }, () -> YearMonth.of(2024, 1));
+        var from = YearMonth.of(2024, 3);
+        var to = YearMonth.of(2024, 5);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(cache.getMonthly(RECORD_KEY, new HealthRange<>(from, to, null, null), loader))
+                    .extracting(HealthMonthlyResponse::getMonthly)
+                    .containsExactly("2024-03", "2024-04", "2024-05");
+        }
+        // 커서(제외) 다음 달부터 종료 월까지
+        assertThat(cache.getMonthly(RECORD_KEY, new HealthRange<>(from, to, YearMonth.of(2024, 4), 12), loader))
+                .extracting(HealthMonthlyResponse::getMonthly).containsExactly("2024-05");
+    }
+
+    private static HealthSeriesLoader<LocalDate, HealthDailyResponse> loader(
+            BiFunction<LocalDate, LocalDate, List<HealthDailyResponse>> load) {
+        return HealthSeriesLoader.of(load, () -> LocalDate.of(2024, 12, 16));
+    }
+
+    private HealthAggregateCache cache(double earlyRefreshBeta) {
+        var cache = new HealthAggregateCache(redisTemplate, new SimpleMeterRegistry(), 100, Duration.ofSeconds(30),
+                Duration.ofSeconds(10), Duration.ofSeconds(3), earlyRefreshBeta, 1);
+        caches.add(cache);
+        return cache;
+    }
+
+    private static HealthDailyResponse daily(LocalDate day, int steps) {
+        return new HealthDailyResponse(day, steps, new BigDecimal("15.30"), new BigDecimal("0.420"), RECORD_KEY);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.kb.healthcare.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.datasource.HealthShardProperties;
+import com.kb.healthcare.datasource.HealthShards;
+import com.kb.healthcare.datasource.ReplicaLagGuard;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.repository.HealthDailySummaryRepository;
+import com.kb.healthcare.repository.HealthEntryCompactionRepository;
+import com.kb.healthcare.repository.HealthEntryRepository;
+import com.kb.healthcare.repository.HealthMonthlySummaryRepository;
+import com.kb.healthcare.repository.HealthSummaryJdbcRepository;
+import com.kb.healthcare.service.HealthCacheWarmer;
+import com.kb.healthcare.service.HealthEntryCompactor;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import com.kb.healthcare.util.HealthNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 업로드 게이트 동시성 테스트
+ *
+ * <p>로컬 Redis(localhost:6379)의 15번 DB를 사용하며, 연결할 수 없으면 건너뜁니다.</p>
+ */
+class HealthUploadGateRedisTest {
+
+    private static final String RECORD_KEY = "gate-test-user";
+    private static final long LAST_UPDATE = 1_734_350_400_000L;  // 2024-12-16 21:00:00 KST
+    private static final int CONCURRENCY = 16;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private HealthUploadGate gate;
+    private HealthAggregateCache cache;
+
+    @BeforeAll
+    static void connect() {
+        var config = new RedisStandaloneConfiguration("localhost", 6379);
+        config.setDatabase(15);
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        boolean available;
+        try (var connection = connectionFactory.getConnection()) {
+            available = "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            available = false;
+        }
+        assumeTrue(available, "로컬 Redis(localhost:6379)가 없어 건너뜁니다.");
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        gate = new HealthUploadGate(redisTemplate, Duration.ofMinutes(1));
+        cache = new HealthAggregateCache(redisTemplate, new SimpleMeterRegistry(), 100, Duration.ofSeconds(30),
+                Duration.ofSeconds(10), Duration.ofSeconds(3), 1.0, 1);
+    }
+
+    @Test
+    void 동시에_들어온_같은_lastUpdate는_하나만_예약된다() throws Exception {
+        var reservations = concurrently(() -> gate.reserve(RECORD_KEY, LAST_UPDATE));
+
+        assertThat(reservations.stream().filter(Objects::nonNull)).hasSize(1);
+    }
+
+    @Test
+    void 커밋된_lastUpdate보다_같거나_오래된_요청은_거부된다() {
+        var reservation = gate.reserve(RECORD_KEY, LAST_UPDATE);
+        cache.commit(RECORD_KEY, Map.of(), Map.of(), false, reservation);
+
+        assertThat(gate.reserve(RECORD_KEY, LAST_UPDATE)).isNull();
+        assertThat(gate.reserve(RECORD_KEY, LAST_UPDATE - 1)).isNull();
+        assertThat(gate.reserve(RECORD_KEY, LAST_UPDATE + 1)).isNotNull();
+    }
+
+    @Test
+    void 진행_중인_업로드보다_새로운_요청은_BUSY_롤백되면_다시_예약된다() {
+        var inFlight = gate.reserve(RECORD_KEY, LAST_UPDATE);
+
+        assertThatThrownBy(() -> gate.reserve(RECORD_KEY, LAST_UPDATE + 1))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getCode())
+                .isEqualTo(ErrorCode.UPLOAD_IN_PROGRESS);
+
+        // 롤백은 lastUpdate를 바꾸지 않으므로 같은 lastUpdate도 다시 예약 가능
+        gate.release(inFlight);
+        assertThat(gate.reserve(RECORD_KEY, LAST_UPDATE)).isNotNull();
+    }
+
+    @Test
+    void 동시_중복_업로드는_한_번만_DB에_저장된다() throws Exception {
+        var entryRepository = mock(HealthEntryRepository.class);
+        var summaryRepository = mock(HealthSummaryJdbcRepository.class);
+        when(entryRepository.bulkUpsert(eq(RECORD_KEY), anyList())).thenAnswer(invocation -> {
+            Thread.sleep(200);  // 예약 후 DB 작업이 진행되는 동안 다른 요청이 들어오도록
+            return 2;
+        });
+        var warmer = mock(HealthCacheWarmer.class);
+        var service = new HealthService(entryRepository, mock(HealthDailySummaryRepository.class),
+                mock(HealthMonthlySummaryRepository.class), summaryRepository, cache, gate, warmer,
+                mock(HealthEntryCompactor.class), mock(HealthEntryCompactionRepository.class), mock(ReplicaLagGuard.class),
+                new HealthShards(new HealthShardProperties(false, List.of(), Map.of())),
+                new HealthNormalizer(), new ObjectMapper(), new SimpleMeterRegistry());
+
+        var results = concurrently(() -> service.upload(request("2024-12-16 21:00:00")));
+
+        assertThat(results).containsOnlyOnce(2);
+        assertThat(results.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+        verify(entryRepository, times(1)).findForUpdate(eq(RECORD_KEY), any(), any());
+        verify(entryRepository, times(1)).bulkUpsert(eq(RECORD_KEY), anyList());
+        verify(summaryRepository, times(1)).applyDeltas(eq(RECORD_KEY), any(), any());
+        verify(warmer, times(1)).schedule(RECORD_KEY);
+
+        // 커밋 후 재전송된 같은 요청도 DB 작업 없이 스킵
+        assertThat(service.upload(request("2024-12-16 21:00:00"))).isZero();
+        verify(entryRepository, times(1)).bulkUpsert(eq(RECORD_KEY), anyList());
+        verify(warmer, times(1)).schedule(RECORD_KEY);
+    }
+
+    private static <T> List<T> concurrently(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<T>>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            var results = new ArrayList<T>();
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static HealthUploadRequest request(String lastUpdate) {
+        var entries = List.of(
+                entry("2024-12-16 20:40:00", "2024-12-16 20:50:00"),
+                entry("2024-12-16 20:50:00", "2024-12-16 21:00:00"));
+        return new HealthUploadRequest(RECORD_KEY, new HealthUploadRequest.Data(entries), lastUpdate);
+    }
+
+    private static HealthUploadRequest.Entry entry(String from, String to) {
+        return new HealthUploadRequest.Entry(
+                new HealthUploadRequest.Period(from, to),
+                new HealthUploadRequest.Metric("km", new BigDecimal("0.42")),
+                new HealthUploadRequest.Metric("kcal", new BigDecimal("15.3")),
+                612.0);
+    }
+}
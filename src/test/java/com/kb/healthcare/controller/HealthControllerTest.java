@@ -0,0 +1,210 @@
+package com.kb.healthcare.controller;
+
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import com.kb.healthcare.dto.health.HealthMonthlyResponse;
+import com.kb.healthcare.ingest.HealthUploadQueue;
+import com.kb.healthcare.security.CustomUserDetails;
+import com.kb.healthcare.service.HealthRange;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.support.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 일간/월간 조회의 구간 검증, 페이지 크기 검증, 다음 페이지 커서(X-Next-Cursor) 테스트
+ */
+class HealthControllerTest {
+
+    private static final String RECORD_KEY = "controller-test-user";
+
+    private final HealthService healthService = mock(HealthService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<HealthUploadQueue> uploadQueue = mock(ObjectProvider.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new HealthController(healthService, uploadQueue))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        var user = new CustomUserDetails("user@kb.com", RECORD_KEY, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void 조건이_없으면_전체_기간을_조회하고_커서를_반환하지_않는다() throws Exception {
+        when(healthService.getDaily(eq(RECORD_KEY), any())).thenReturn(days(LocalDate.of(2024, 12, 1), 40));
+
+        mockMvc.perform(get("/api/health/daily"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(40))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        verify(healthService).getDaily(RECORD_KEY, HealthRange.all());
+    }
+
+    @Test
+    void 일간_조회는_구간과_커서를_그대로_넘기고_한_개_더_조회한다() throws Exception {
+        var from = LocalDate.of(2024, 12, 1);
+        var to = LocalDate.of(2024, 12, 31);
+        var cursor = LocalDate.of(2024, 12, 10);
+        when(healthService.getDaily(eq(RECORD_KEY), any())).thenReturn(days(cursor.plusDays(1), 4));
+
+        mockMvc.perform(get("/api/health/daily")
+                        .param("from", "2024-12-01").param("to", "2024-12-31")
+                        .param("cursor", "2024-12-10").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].daily").value("2024-12-13"))
+                .andExpect(header().string("X-Next-Cursor", "2024-12-13"));
+        verify(healthService).getDaily(RECORD_KEY, new HealthRange<>(from, to, cursor, 4));
+    }
+
+    @Test
+    void 시작일과_종료일이_같은_일간_조회를_허용한다() throws Exception {
+        var day = LocalDate.of(2024, 12, 16);
+        when(healthService.getDaily(eq(RECORD_KEY), any())).thenReturn(days(day, 1));
+
+        mockMvc.perform(get("/api/health/daily").param("from", "2024-12-16").param("to", "2024-12-16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].daily").value("2024-12-16"));
+        verify(healthService).getDaily(RECORD_KEY, new HealthRange<>(day, day, null, null));
+    }
+
+    @Test
+    void 일간_마지막_페이지에는_다음_커서가_없다() throws Exception {
+        when(healthService.getDaily(eq(RECORD_KEY), any())).thenReturn(days(LocalDate.of(2024, 12, 30), 2));
+
+        mockMvc.perform(get("/api/health/daily").param("cursor", "2024-12-29").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void 일간_마지막_페이지가_페이지_크기와_같아도_다음_커서가_없다() throws Exception {
+        when(healthService.getDaily(eq(RECORD_KEY), any())).thenReturn(days(LocalDate.of(2024, 12, 29), 3));
+
+        mockMvc.perform(get("/api/health/daily").param("cursor", "2024-12-28").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void 일간_시작일이_종료일보다_늦으면_400() throws Exception {
+        mockMvc.perform(get("/api/health/daily").param("from", "2024-12-31").param("to", "2024-12-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_RANGE"));
+        verifyNoInteractions(healthService);
+    }
+
+    @Test
+    void 페이지_크기가_범위를_벗어나면_400() throws Exception {
+        for (String size : List.of("0", "1001")) {
+            mockMvc.perform(get("/api/health/daily").param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+            mockMvc.perform(get("/api/health/monthly").param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        }
+        verifyNoInteractions(healthService);
+    }
+
+    @Test
+    void 날짜_형식이_잘못되면_400() throws Exception {
+        mockMvc.perform(get("/api/health/daily").param("from", "2024-13-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        mockMvc.perform(get("/api/health/monthly").param("cursor", "2024-12-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_FAILED"));
+        verifyNoInteractions(healthService);
+    }
+
+    @Test
+    void 월간_조회는_구간과_커서를_그대로_넘기고_한_개_더_조회한다() throws Exception {
+        var from = YearMonth.of(2024, 1);
+        var to = YearMonth.of(2024, 12);
+        var cursor = YearMonth.of(2024, 3);
+        when(healthService.getMonthly(eq(RECORD_KEY), any())).thenReturn(months(cursor.plusMonths(1), 3));
+
+        mockMvc.perform(get("/api/health/monthly")
+                        .param("from", "2024-01").param("to", "2024-12")
+                        .param("cursor", "2024-03").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].monthly").value("2024-05"))
+                .andExpect(header().string("X-Next-Cursor", "2024-05"));
+        verify(healthService).getMonthly(RECORD_KEY, new HealthRange<>(from, to, cursor, 3));
+    }
+
+    @Test
+    void 월간_마지막_페이지에는_다음_커서가_없다() throws Exception {
+        when(healthService.getMonthly(eq(RECORD_KEY), any())).thenReturn(months(YearMonth.of(2024, 11), 2));
+
+        mockMvc.perform(get("/api/health/monthly").param("cursor", "2024-10").param("size", "12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void 월간_시작이_종료보다_늦으면_400() throws Exception {
+        mockMvc.perform(get("/api/health/monthly").param("from", "2024-12").param("to", "2024-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_RANGE"));
+        verifyNoInteractions(healthService);
+    }
+
+    private static List<HealthDailyResponse> days(LocalDate first, int count) {
+        var days = new ArrayList<HealthDailyResponse>(count);
+        for (int i = 0; i < count; i++) {
+            days.add(new HealthDailyResponse(first.plusDays(i), 612, new BigDecimal("15.30"),
+                    new BigDecimal("0.420"), RECORD_KEY));
+        }
+        return days;
+    }
+
+    private static List<HealthMonthlyResponse> months(YearMonth first, int count) {
+        var months = new ArrayList<HealthMonthlyResponse>(count);
+        for (int i = 0; i < count; i++) {
+            months.add(new HealthMonthlyResponse(first.plusMonths(i).toString(), 18_360, new BigDecimal("459.00"),
+                    new BigDecimal("12.600"), RECORD_KEY));
+        }
+        return months;
+    }
+}
@@ -0,0 +1,155 @@
+package com.kb.healthcare.datasource;
+
+import com.kb.healthcare.repository.DailyAggregate;
+import com.kb.healthcare.repository.HealthSummaryJdbcRepository;
+import com.kb.healthcare.repository.MonthlyAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 로컬 MySQL의 스키마 두 개를 샤드로 사용하는 라우팅/재분배 테스트
+ *
+ * <p>로컬 MySQL(localhost:3306, 기본 설정의 계정)에 접속할 수 없거나 스키마를 만들 권한이 없으면 건너뜁니다.</p>
+ */
+class HealthShardMySqlTest {
+
+    private static final String URL = "jdbc:mysql://localhost:3306/%s?useSSL=false&serverTimezone=UTC&characterEncoding=UTF-8";
+    private static final List<String> SCHEMAS = List.of("kbhealthcare_shard_test0", "kbhealthcare_shard_test1");
+
+    private final List<DataSource> shards = new ArrayList<>();
+    private HealthShards healthShards;
+
+    @BeforeEach
+    void setUp() {
+        boolean available;
+        try {
+            var server = new JdbcTemplate(dataSource(""));
+            for (String schema : SCHEMAS) {
+                server.execute("DROP DATABASE IF EXISTS " + schema);
+                server.execute("CREATE DATABASE " + schema);
+            }
+            available = true;
+        } catch (RuntimeException e) {
+            available = false;
+        }
+        assumeTrue(available, "로컬 MySQL(localhost:3306)이 없거나 스키마를 만들 수 없어 건너뜁니다.");
+
+        var schema = new ResourceDatabasePopulator(new ClassPathResource("db/health_shard_schema.sql"));
+        for (String name : SCHEMAS) {
+            DataSource dataSource = dataSource(name);
+            schema.execute(dataSource);
+            shards.add(dataSource);
+        }
+        healthShards = new HealthShards(new HealthShardProperties(true,
+                List.of(new HealthShardProperties.Shard(URL.formatted(SCHEMAS.get(1)), "kbhealthcare_svc", "kbhealthcare", 2)),
+                Map.of()));
+    }
+
+    private static DataSource dataSource(String schema) {
+        return new DriverManagerDataSource(URL.formatted(schema), "kbhealthcare_svc", "kbhealthcare");
+    }
+
+    @Test
+    void 묶인_샤드의_트랜잭션에서만_데이터를_쓴다() {
+        var routing = new ShardRoutingDataSource(shards);
+        routing.afterPropertiesSet();
+        var dataSource = new LazyConnectionDataSourceProxy(routing);
+        var summaryRepository = new HealthSummaryJdbcRepository(new JdbcTemplate(dataSource));
+        var transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // 두 샤드에 모두 사용자가 생기도록 여러 recordKey를 저장
+        var recordKeys = List.of("user-1", "user-2", "user-3", "user-4", "user-5", "user-6", "user-7", "user-8");
+        for (String recordKey : recordKeys) {
+            try (var ignored = healthShards.bind(recordKey)) {
+                transactionTemplate.executeWithoutResult(status -> replace(summaryRepository, recordKey, 100));
+            }
+        }
+
+        for (String recordKey : recordKeys) {
+            int shard = healthShards.shardOf(recordKey);
+            assertThat(count(shard, recordKey)).isEqualTo(1);
+            assertThat(count(1 - shard, recordKey)).isZero();
+        }
+        assertThat(recordKeys.stream().map(healthShards::shardOf).distinct()).hasSize(2);
+    }
+
+    @Test
+    void 재분배하면_대상_샤드에_같은_데이터가_있고_원래_샤드는_비어_있다() {
+        var source = new JdbcTemplate(shards.get(0));
+        source.batchUpdate("""
+                        INSERT INTO health_entry (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?, NOW(6), NOW(6))
+                        """,
+                IntStream.range(0, 12_000)
+                        .mapToObj(i -> {
+                            LocalDateTime started = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(10L * i);
+                            return new Object[]{"user-1", started, started.plusMinutes(10), i % 50,
+                                    new BigDecimal("0.012"), new BigDecimal("0.51")};
+                        })
+                        .toList());
+        replace(new HealthSummaryJdbcRepository(source), "user-1", 12_000);
+
+        var rebalancer = new HealthShardRebalancer(shards);
+        var moved = rebalancer.move("user-1", 0, 1);
+
+        assertThat(moved.rows()).containsEntry("health_entry", 12_000L).containsEntry("health_daily_summary", 1L);
+        assertThat(rebalancer.locate("user-1")).containsExactly(1);
+        var target = new JdbcTemplate(shards.get(1));
+        assertThat(target.queryForObject("SELECT SUM(steps) FROM health_entry WHERE record_key = 'user-1'", Long.class))
+                .isEqualTo(IntStream.range(0, 12_000).mapToLong(i -> i % 50).sum());
+        assertThat(source.queryForObject("SELECT COUNT(*) FROM health_entry WHERE record_key = 'user-1'", Integer.class))
+                .isZero();
+        assertThat(rebalancer.misplaced(1, new ShardMap(2, Map.of("user-1", 1)))).isEmpty();
+    }
+
+    @Test
+    void 집계가_없는_사용자도_재분배_대상으로_찾는다() {
+        var source = new JdbcTemplate(shards.get(0));
+        source.update("""
+                INSERT INTO health_entry (record_key, started_at_kst, ended_at_kst, steps, distance_km, calories_kcal, created_at, updated_at)
+                VALUES ('user-entry-only', '2024-01-01 00:00:00', '2024-01-01 00:10:00', 10, 0.012, 0.51, NOW(6), NOW(6))
+                """);
+        source.update("""
+                INSERT INTO health_entry_compacted (record_key, summary_date, steps, distance_km, calories_kcal, entry_count, entries, created_at, updated_at)
+                VALUES ('user-compacted-only', '2024-01-01', 10, 0.012, 0.51, 0, x'', NOW(6), NOW(6))
+                """);
+
+        var rebalancer = new HealthShardRebalancer(shards);
+
+        assertThat(rebalancer.locate("user-entry-only")).containsExactly(0);
+        assertThat(rebalancer.locate("user-compacted-only")).containsExactly(0);
+        assertThat(rebalancer.misplaced(0, new ShardMap(2, Map.of("user-entry-only", 1, "user-compacted-only", 1))))
+                .containsExactly("user-compacted-only", "user-entry-only");
+    }
+
+    private static void replace(HealthSummaryJdbcRepository summaryRepository, String recordKey, long steps) {
+        summaryRepository.replace(recordKey,
+                List.of(new DailyAggregate(LocalDate.of(2024, 1, 1), steps, new BigDecimal("1.000"), new BigDecimal("2.00"))),
+                List.of(new MonthlyAggregate(2024, 1, steps, new BigDecimal("1.000"), new BigDecimal("2.00"))));
+    }
+
+    private int count(int shard, String recordKey) {
+        Integer count = new JdbcTemplate(shards.get(shard)).queryForObject(
+                "SELECT COUNT(*) FROM health_daily_summary WHERE record_key = ?", Integer.class, recordKey);
+        return count == null ? 0 : count;
+    }
+}
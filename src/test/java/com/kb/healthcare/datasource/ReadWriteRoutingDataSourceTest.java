@@ -0,0 +1,70 @@
+package com.kb.healthcare.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 읽기 전용 트랜잭션 여부와 복제 지연 가드에 따른 원본/복제본 선택 테스트
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagGuard guard = new ReplicaLagGuard(mock(StringRedisTemplate.class),
+            "jdbc:mysql://replica", Duration.ofSeconds(5), 100);
+
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        var primary = mock(DataSource.class);
+        var replica = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReadWriteRoutingDataSource(primary, replica, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션만_복제본을_사용한다() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void 방금_쓴_사용자의_조회는_읽기_전용이어도_원본을_사용한다() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        guard.written("user-1");
+
+        assertThat(guard.read("user-1", this::connection)).isSameAs(primaryConnection);
+        assertThat(connection()).isSameAs(replicaConnection);
+    }
+
+    private Connection connection() {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
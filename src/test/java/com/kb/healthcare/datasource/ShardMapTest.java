@@ -0,0 +1,53 @@
+package com.kb.healthcare.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * recordKey → 샤드 번호 매핑 테스트
+ */
+class ShardMapTest {
+
+    @Test
+    void 같은_recordKey는_항상_같은_샤드로_고르게_나뉜다() {
+        var shardMap = new ShardMap(4, Map.of());
+        int[] counts = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            int shard = shardMap.shardOf("user-" + i);
+            assertThat(shard).isEqualTo(new ShardMap(4, Map.of()).shardOf("user-" + i));
+            counts[shard]++;
+        }
+
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(9_000, 11_000));
+    }
+
+    @Test
+    void 샤드를_늘리면_일부_사용자만_새_샤드로_옮겨진다() {
+        int users = 40_000;
+        for (int n = 1; n <= 7; n++) {
+            int shards = n;
+            long moved = IntStream.range(0, users)
+                    .filter(i -> ShardMap.hashShard("user-" + i, shards) != ShardMap.hashShard("user-" + i, shards + 1))
+                    .peek(i -> assertThat(ShardMap.hashShard("user-" + i, shards + 1)).isEqualTo(shards))
+                    .count();
+
+            double expected = (double) users / (shards + 1);
+            assertThat((double) moved).isBetween(expected * 0.9, expected * 1.1);
+        }
+    }
+
+    @Test
+    void 재정의한_recordKey는_지정한_샤드를_사용한다() {
+        int hashed = ShardMap.hashShard("user-1", 3);
+        int other = (hashed + 1) % 3;
+
+        assertThat(new ShardMap(3, Map.of("user-1", other)).shardOf("user-1")).isEqualTo(other);
+        assertThatThrownBy(() -> new ShardMap(3, Map.of("user-1", 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,172 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.repository.HealthEntryRow;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.util.HealthNormalizer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대량 가져오기의 거부 줄 기록, 중단 후 이어서 가져오기, 사용자별 집계 재계산 테스트
+ */
+class HealthBulkImporterTest {
+
+    private static final LocalDateTime FAILING_SLOT = LocalDateTime.of(2024, 1, 1, 1, 30);
+
+    @TempDir
+    Path dir;
+
+    private final HealthService healthService = mock(HealthService.class);
+
+    /**
+     * 저장된 항목 (여러 작업 스레드에서 추가)
+     */
+    private final List<HealthEntryRow> imported = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void 실패한_구간부터_이어서_가져오고_사용자마다_한_번씩_집계를_다시_계산한다() throws IOException {
+        Path file = dir.resolve("partner.ndjson");
+        Files.write(file, List.of(
+                json("a", 0), json("b", 1), json("c", 2),
+                "{not json",
+                json("a", 4), json("b", 5),
+                "{\"recordkey\":\"c\",\"period\":{\"from\":\"2024-01-01 01:00:00\",\"to\":\"2024-01-01 01:10:00\"},\"steps\":1}",
+                json("a", 7), json("b", 8),
+                json("c", 9)
+        ));
+        var failOnce = new AtomicBoolean(true);
+        when(healthService.importEntries(anyString(), anyList())).thenAnswer(invocation -> {
+            List<HealthEntryRow> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> row.startedAt().equals(FAILING_SLOT)) && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("connection reset");
+            }
+            imported.addAll(rows);
+            return rows.size();
+        });
+
+        // 마지막 구간(10번째 줄) 저장 실패: 9번째 줄까지 진행 지점이 남음
+        assertThatThrownBy(() -> importer().importFile(file, checkpoint(file), rejects(file)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("line 10");
+        verify(healthService, never()).rebuildSummaries(anyString());
+        assertThat(imported).hasSize(7);
+
+        imported.clear();
+        var result = importer().importFile(file, checkpoint(file), rejects(file));
+
+        assertThat(result).isEqualTo(new HealthBulkImporter.Result(10, 8, 2, 3));
+        assertThat(imported).extracting(HealthEntryRow::startedAt).containsExactly(FAILING_SLOT);
+        assertThat(Files.readAllLines(rejects(file)))
+                .extracting(line -> line.substring(0, line.indexOf('\t')))
+                .containsExactly("4", "7");
+        for (String recordKey : List.of("a", "b", "c")) {
+            verify(healthService, times(1)).rebuildSummaries(recordKey);
+        }
+
+        // 완료된 파일은 다시 가져오지 않음
+        imported.clear();
+        assertThat(importer().importFile(file, checkpoint(file), rejects(file))).isEqualTo(result);
+        assertThat(imported).isEmpty();
+    }
+
+    @Test
+    void CSV는_머리글을_건너뛰고_업로드와_같은_규칙으로_정규화한다() throws IOException {
+        Path file = dir.resolve("partner.csv");
+        Files.write(file, List.of(
+                "recordkey,from,to,steps,distance,calories",
+                "a,2024-12-15 12:40:00 +0000,2024-12-15 12:50:00 +0000,54.6,0.04321,1.235",
+                "a,2024-12-15 12:50:00 +0000,2024-12-15 13:00:00 +0000,10"
+        ));
+        when(healthService.importEntries(anyString(), anyList())).thenAnswer(invocation -> {
+            List<HealthEntryRow> rows = invocation.getArgument(1);
+            imported.addAll(rows);
+            return rows.size();
+        });
+
+        var result = importer().importFile(file, checkpoint(file), rejects(file));
+
+        assertThat(result).isEqualTo(new HealthBulkImporter.Result(3, 1, 1, 1));
+        assertThat(imported).containsExactly(new HealthEntryRow(LocalDateTime.of(2024, 12, 15, 21, 40),
+                LocalDateTime.of(2024, 12, 15, 21, 50), 55, new BigDecimal("0.043"), new BigDecimal("1.24")));
+    }
+
+    @Test
+    void 연속된_구간에_같은_슬롯이_있으면_파일에서_나중_줄이_저장된다() throws IOException {
+        Path file = dir.resolve("overlap.ndjson");
+        Files.write(file, List.of(
+                json("a", 0, 100), json("b", 1, 10), json("c", 2, 20),
+                json("a", 0, 200), json("b", 4, 40), json("c", 5, 50)
+        ));
+        var stored = new ConcurrentHashMap<String, Integer>();
+        var firstWrite = new AtomicBoolean(true);
+        when(healthService.importEntries(anyString(), anyList())).thenAnswer(invocation -> {
+            String recordKey = invocation.getArgument(0);
+            List<HealthEntryRow> rows = invocation.getArgument(1);
+            if (recordKey.equals("a") && firstWrite.getAndSet(false)) {
+                // 첫 구간의 저장이 다음 구간을 읽고 남은 작업 스레드가 비는 것보다 늦게 끝나도록 지연
+                Thread.sleep(300);
+            }
+            rows.forEach(row -> stored.put(recordKey + " " + row.startedAt(), row.steps()));
+            return rows.size();
+        });
+
+        var result = importer().importFile(file, checkpoint(file), rejects(file));
+
+        assertThat(result).isEqualTo(new HealthBulkImporter.Result(6, 6, 0, 3));
+        assertThat(stored).containsEntry("a " + LocalDateTime.of(2024, 1, 1, 0, 0), 200);
+    }
+
+    private HealthBulkImporter importer() {
+        return new HealthBulkImporter(healthService, new ObjectMapper(), new HealthNormalizer(), new SimpleMeterRegistry(),
+                2, 2, 3, Duration.ZERO);
+    }
+
+    /**
+     * 2024-01-01 00:00부터 10분 단위 {@code slot}번째 항목
+     */
+    private static String json(String recordKey, int slot) {
+        return json(recordKey, slot, slot * 10);
+    }
+
+    private static String json(String recordKey, int slot, int steps) {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(10L * slot);
+        return "{\"recordkey\":\"%s\",\"period\":{\"from\":\"%s\",\"to\":\"%s\"},\"distance\":{\"unit\":\"km\",\"value\":0.01},\"calories\":{\"unit\":\"kcal\",\"value\":0.5},\"steps\":%d}"
+                .formatted(recordKey, format(from), format(from.plusMinutes(10)), steps);
+    }
+
+    private static String format(LocalDateTime time) {
+        return time.toString().replace('T', ' ') + ":00";
+    }
+
+    private static Path checkpoint(Path file) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint");
+    }
+
+    private static Path rejects(Path file) {
+        return file.resolveSibling(file.getFileName() + ".rejected");
+    }
+}
@@ -0,0 +1,243 @@
+package com.kb.healthcare.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.dto.health.HealthUploadStatus;
+import com.kb.healthcare.dto.health.HealthUploadStatusResponse;
+import com.kb.healthcare.service.HealthService;
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import com.kb.healthcare.util.HealthNormalizer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 비동기 업로드 큐/워커 통합 테스트
+ *
+ * <p>로컬 Redis(localhost:6379)의 15번 DB를 사용하며, 연결할 수 없으면 건너뜁니다.
+ * DB 저장은 {@link HealthService} mock으로 대체합니다.</p>
+ */
+class HealthUploadQueueRedisTest {
+
+    private static final String RECORD_KEY = "queue-test-user";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final HealthService healthService = mock(HealthService.class);
+    private final List<HealthUploadWorker> workers = new ArrayList<>();
+    private HealthUploadQueue queue;
+    private HealthUploadWorker worker;
+
+    @BeforeAll
+    static void connect() {
+        var config = new RedisStandaloneConfiguration("localhost", 6379);
+        config.setDatabase(15);
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        boolean available;
+        try (var connection = connectionFactory.getConnection()) {
+            available = "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            available = false;
+        }
+        assumeTrue(available, "로컬 Redis(localhost:6379)가 없어 건너뜁니다.");
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+        queue = new HealthUploadQueue(redisTemplate, new ObjectMapper(), new HealthNormalizer(), Duration.ofMinutes(5), 2);
+        worker = worker(healthService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (var w : workers) {
+            if (w.isRunning()) {
+                w.stop();
+            }
+        }
+    }
+
+    @Test
+    void 접수한_업로드는_워커가_처리하고_스트림에서_삭제된다() throws InterruptedException {
+        when(healthService.upload(any())).thenReturn(2);
+
+        var accepted = queue.submit(request("2024-12-16 21:00:00"));
+        assertThat(accepted.status()).isEqualTo(HealthUploadStatus.QUEUED);
+        assertThat(queue.status(accepted.uploadId(), RECORD_KEY).status()).isEqualTo(HealthUploadStatus.QUEUED);
+
+        worker.start();
+
+        var done = awaitFinished(accepted.uploadId());
+        assertThat(done.status()).isEqualTo(HealthUploadStatus.DONE);
+        assertThat(done.ingested()).isEqualTo(2);
+        assertThat(redisTemplate.opsForStream().size(streamKey())).isZero();
+    }
+
+    @Test
+    void 이전_업로드가_진행_중이면_기다렸다가_접수_순서대로_처리한다() throws InterruptedException {
+        var lastUpdates = new CopyOnWriteArrayList<String>();
+        when(healthService.upload(any())).thenAnswer(invocation -> {
+            HealthUploadRequest req = invocation.getArgument(0);
+            lastUpdates.add(req.lastUpdate());
+            if (lastUpdates.size() == 1) {
+                throw new CustomException(ErrorCode.UPLOAD_IN_PROGRESS);
+            }
+            return 2;
+        });
+
+        var older = queue.submit(request("2024-12-16 21:00:00"));
+        var newer = queue.submit(request("2024-12-16 22:00:00"));
+        worker.start();
+
+        assertThat(awaitFinished(older.uploadId()).status()).isEqualTo(HealthUploadStatus.DONE);
+        assertThat(awaitFinished(newer.uploadId()).status()).isEqualTo(HealthUploadStatus.DONE);
+        assertThat(lastUpdates).containsExactly("2024-12-16 21:00:00", "2024-12-16 21:00:00", "2024-12-16 22:00:00");
+        assertThat(redisTemplate.opsForStream().size(streamKey())).isZero();
+    }
+
+    @Test
+    void 파티션은_한_인스턴스만_읽고_종료하면_다른_인스턴스가_미처리_메시지부터_이어받는다() throws InterruptedException {
+        // 첫 인스턴스: 같은 사용자의 다른 업로드가 끝나지 않아 계속 기다림
+        when(healthService.upload(any())).thenThrow(new CustomException(ErrorCode.UPLOAD_IN_PROGRESS));
+        var otherService = mock(HealthService.class);
+        when(otherService.upload(any())).thenReturn(2);
+
+        worker.start();
+        awaitLeases();
+        var other = worker(otherService);
+        other.start();
+
+        var accepted = queue.submit(request("2024-12-16 21:00:00"));
+        verify(healthService, timeout(TIMEOUT.toMillis()).atLeastOnce()).upload(any());
+
+        // 소유권 TTL(1초)이 여러 번 지나도 두 번째 인스턴스는 파티션을 읽지 않음
+        Thread.sleep(1_500);
+        verify(otherService, never()).upload(any());
+        assertThat(queue.status(accepted.uploadId(), RECORD_KEY).status()).isEqualTo(HealthUploadStatus.PROCESSING);
+
+        // 종료하면서 반납한 소유권을 넘겨받아 ACK 되지 않은 메시지를 처리
+        worker.stop();
+        var done = awaitFinished(accepted.uploadId());
+        assertThat(done.status()).isEqualTo(HealthUploadStatus.DONE);
+        assertThat(done.ingested()).isEqualTo(2);
+        verify(otherService).upload(any());
+        assertThat(redisTemplate.opsForStream().size(streamKey())).isZero();
+    }
+
+    @Test
+    void 처리에_실패하면_FAILED와_사유를_남긴다() throws InterruptedException {
+        when(healthService.upload(any())).thenThrow(new IllegalStateException("db down"));
+        worker.start();
+
+        var accepted = queue.submit(request("2024-12-16 21:00:00"));
+
+        var failed = awaitFinished(accepted.uploadId());
+        assertThat(failed.status()).isEqualTo(HealthUploadStatus.FAILED);
+        assertThat(failed.error()).isEqualTo("db down");
+    }
+
+    @Test
+    void 형식이_잘못된_요청은_큐에_넣지_않는다() {
+        assertThatThrownBy(() -> queue.submit(request("2024/12/16 21:00")))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getCode())
+                .isEqualTo(ErrorCode.INVALID_UPLOAD_BODY);
+        assertThat(redisTemplate.hasKey(streamKey())).isFalse();
+    }
+
+    @Test
+    void 다른_사용자의_업로드_상태는_조회할_수_없다() {
+        var accepted = queue.submit(request("2024-12-16 21:00:00"));
+
+        assertThatThrownBy(() -> queue.status(accepted.uploadId(), "someone-else"))
+                .isInstanceOf(CustomException.class)
+                .extracting(e -> ((CustomException) e).getCode())
+                .isEqualTo(ErrorCode.UPLOAD_NOT_FOUND);
+    }
+
+    private HealthUploadStatusResponse awaitFinished(String uploadId) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            var status = queue.status(uploadId, RECORD_KEY);
+            if (status.status() == HealthUploadStatus.DONE || status.status() == HealthUploadStatus.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("업로드가 " + TIMEOUT + " 안에 처리되지 않았습니다: " + uploadId);
+    }
+
+    private HealthUploadWorker worker(HealthService service) {
+        var created = new HealthUploadWorker(connectionFactory, redisTemplate, queue, service, 10, "test",
+                Duration.ofSeconds(1), false);
+        workers.add(created);
+        return created;
+    }
+
+    /**
+     * 먼저 시작한 워커가 모든 파티션의 소유권을 얻을 때까지 기다립니다.
+     */
+    private void awaitLeases() throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        for (int partition = 0; partition < queue.partitions(); partition++) {
+            while (!redisTemplate.hasKey(HealthUploadWorker.LEASE_KEY + partition)) {
+                if (System.nanoTime() > deadline) {
+                    throw new AssertionError("파티션 " + partition + "의 소유권을 얻지 못했습니다.");
+                }
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private String streamKey() {
+        return HealthUploadQueue.streamKey(queue.partitionOf(RECORD_KEY));
+    }
+
+    private static HealthUploadRequest request(String lastUpdate) {
+        var entry = new HealthUploadRequest.Entry(
+                new HealthUploadRequest.Period("2024-12-16 20:40:00", "2024-12-16 20:50:00"),
+                new HealthUploadRequest.Metric("km", new BigDecimal("0.42")),
+                new HealthUploadRequest.Metric("kcal", new BigDecimal("15.3")),
+                612.0);
+        return new HealthUploadRequest(RECORD_KEY, new HealthUploadRequest.Data(List.of(entry, entry)), lastUpdate);
+    }
+}
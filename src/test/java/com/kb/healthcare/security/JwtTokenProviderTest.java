@@ -0,0 +1,83 @@
+package com.kb.healthcare.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JWT 검증과 검증 결과 캐시({@link JwtTokenProvider#validateAndGetClaims}) 테스트
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123";
+    private static final String OTHER_SECRET = "other-secret-other-secret-other-secret-01";
+
+    @Test
+    void 같은_토큰의_반복_검증은_캐시된_클레임을_반환한다() {
+        var provider = provider(SECRET, 3600, Duration.ofMinutes(1));
+        String token = provider.generate("user@example.com", "rk-1", 2);
+
+        Claims first = provider.validateAndGetClaims(token);
+
+        assertThat(first).isNotNull();
+        assertThat(first.getSubject()).isEqualTo("user@example.com");
+        assertThat(first.get(JwtTokenProvider.CLAIM_RECORD_KEY, String.class)).isEqualTo("rk-1");
+        assertThat(first.get(JwtTokenProvider.CLAIM_TOKEN_VERSION, Integer.class)).isEqualTo(2);
+        assertThat(provider.validateAndGetClaims(token)).isSameAs(first);
+    }
+
+    @Test
+    void 캐시_항목이_만료되면_서명을_다시_검증한다() throws InterruptedException {
+        var provider = provider(SECRET, 3600, Duration.ofMillis(100));
+        String token = provider.generate("user@example.com", "rk-1", 0);
+
+        Claims first = provider.validateAndGetClaims(token);
+        Thread.sleep(300);
+        Claims second = provider.validateAndGetClaims(token);
+
+        assertThat(second).isNotNull().isNotSameAs(first);
+        assertThat(second.getSubject()).isEqualTo(first.getSubject());
+    }
+
+    @Test
+    void 캐시에_있는_토큰도_유효기간이_지나면_거부한다() throws InterruptedException {
+        var provider = provider(SECRET, 2, Duration.ofMinutes(1));
+        String token = provider.generate("user@example.com", "rk-1", 0);
+
+        Claims claims = provider.validateAndGetClaims(token);
+        assertThat(claims).isNotNull();
+
+        Thread.sleep(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()) + 100);
+
+        assertThat(provider.validateAndGetClaims(token)).isNull();
+    }
+
+    @Test
+    void 변조한_토큰은_캐시된_원본이_있어도_거부한다() {
+        var provider = provider(SECRET, 3600, Duration.ofMinutes(1));
+        String token = provider.generate("user@example.com", "rk-1", 0);
+        assertThat(provider.validateAndGetClaims(token)).isNotNull();
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = provider("x".repeat(32), 3600, Duration.ofMinutes(1))
+                .generate("user@example.com", "rk-admin", 0).split("\\.")[1];
+        // 마지막 문자는 패딩 비트가 섞여 있으므로 앞쪽 문자를 변경
+        char flipped = parts[2].charAt(0) == 'A' ? 'B' : 'A';
+        String tamperedSignature = parts[0] + "." + parts[1] + "." + flipped + parts[2].substring(1);
+
+        assertThat(provider.validateAndGetClaims(parts[0] + "." + forgedPayload + "." + parts[2])).isNull();
+        assertThat(provider.validateAndGetClaims(tamperedSignature)).isNull();
+        assertThat(provider.validateAndGetClaims(provider(OTHER_SECRET, 3600, Duration.ofMinutes(1))
+                .generate("user@example.com", "rk-1", 0))).isNull();
+
+        // 거부된 토큰이 원본의 캐시 항목에 영향을 주지 않음
+        assertThat(provider.validateAndGetClaims(token)).isNotNull();
+    }
+
+    private static JwtTokenProvider provider(String secret, long validitySeconds, Duration cacheTtl) {
+        return new JwtTokenProvider(secret, validitySeconds, 100, cacheTtl);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kb.healthcare.security;
+
+import com.kb.healthcare.support.CustomException;
+import com.kb.healthcare.support.ErrorCode;
+import com.kb.healthcare.support.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * 비밀번호 해싱 실행기({@link PasswordHashExecutor})의 대기열 제한 테스트
+ */
+class PasswordHashExecutorTest {
+
+    private final PasswordHashExecutor executor = new PasswordHashExecutor(1, 1, Duration.ofSeconds(3));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void 대기열이_가득_차면_429와_Retry_After로_거부한다() throws Exception {
+        var started = new CountDownLatch(1);
+        var running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = executor.submit(() -> "queued");
+
+        var rejected = catchThrowableOfType(() -> executor.submit(() -> "rejected"), CustomException.class);
+
+        assertThat(rejected.getCode()).isEqualTo(ErrorCode.TOO_MANY_LOGIN_REQUESTS);
+        assertThat(rejected.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+
+        var response = new GlobalExceptionHandler().handleApi(rejected);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+
+        // 거부된 작업은 이미 받은 작업에 영향을 주지 않음
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    void 대기열에_여유가_생기면_다시_받는다() throws Exception {
+        var started = new CountDownLatch(1);
+        var running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "running";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.submit(() -> "queued");
+        assertThatThrownBy(() -> executor.submit(() -> "rejected")).isInstanceOf(CustomException.class);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertThat(executor.submit(() -> "accepted").get(5, TimeUnit.SECONDS)).isEqualTo("accepted");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
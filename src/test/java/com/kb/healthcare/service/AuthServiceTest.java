@@ -0,0 +1,139 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.domain.User;
+import com.kb.healthcare.dto.auth.LoginRequest;
+import com.kb.healthcare.dto.auth.SignupRequest;
+import com.kb.healthcare.repository.UserRepository;
+import com.kb.healthcare.security.CustomUserDetails;
+import com.kb.healthcare.security.JwtDenylist;
+import com.kb.healthcare.security.JwtTokenProvider;
+import com.kb.healthcare.security.PasswordHashExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로그인/회원가입에서 BCrypt 연산만 해싱 스레드 풀에서 실행되는지 확인하는 테스트
+ */
+class AuthServiceTest {
+
+    private static final String EMAIL = "user@kb.com";
+    private static final String PASSWORD = "password1!";
+
+    /**
+     * 단계별로 실행된 스레드 이름
+     */
+    private final Map<String, String> threads = new ConcurrentHashMap<>();
+
+    private final PasswordEncoder encoder = new RecordingEncoder(threads);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final PasswordHashExecutor passwordHashExecutor = new PasswordHashExecutor(1, 4, Duration.ofSeconds(2));
+    private final ExecutorService taskExecutor =
+            Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "task-1"));
+
+    private final AuthService authService = new AuthService(userRepository, userDetailsService, encoder,
+            jwtTokenProvider, mock(JwtDenylist.class), passwordHashExecutor, taskExecutor);
+
+    @AfterEach
+    void tearDown() {
+        passwordHashExecutor.destroy();
+        taskExecutor.shutdownNow();
+    }
+
+    @Test
+    void 로그인은_사용자를_요청_스레드에서_읽고_검증만_해싱_스레드에서_한다() throws Exception {
+        String hash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenAnswer(invocation -> {
+            threads.put("load", Thread.currentThread().getName());
+            return new CustomUserDetails(new User("record-1", "홍길동", "길동", EMAIL, hash));
+        });
+        when(jwtTokenProvider.generate(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+            threads.put("token", Thread.currentThread().getName());
+            return "jwt";
+        });
+
+        var response = authService.login(new LoginRequest(EMAIL, PASSWORD)).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.accessToken()).isEqualTo("jwt");
+        assertThat(threads).containsEntry("load", Thread.currentThread().getName())
+                .containsEntry("token", "task-1");
+        assertThat(threads.get("matches")).startsWith("password-hash-");
+    }
+
+    @Test
+    void 없는_사용자나_틀린_비밀번호는_같은_예외로_실패한다() {
+        String hash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        when(userDetailsService.loadUserByUsername(EMAIL))
+                .thenReturn(new CustomUserDetails(new User("record-1", "홍길동", "길동", EMAIL, hash)));
+        when(userDetailsService.loadUserByUsername("nobody@kb.com"))
+                .thenThrow(new UsernameNotFoundException("User not found: nobody@kb.com"));
+
+        for (var req : new LoginRequest[]{new LoginRequest(EMAIL, "wrong"), new LoginRequest("nobody@kb.com", PASSWORD)}) {
+            assertThatThrownBy(() -> authService.login(req).get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(BadCredentialsException.class);
+        }
+        // 없는 사용자도 BCrypt 검증을 거침
+        assertThat(threads.get("matches")).startsWith("password-hash-");
+    }
+
+    @Test
+    void 회원가입은_해싱만_해싱_스레드에서_하고_저장은_작업_실행기에서_한다() throws Exception {
+        when(userRepository.save(any())).thenAnswer(invocation -> {
+            threads.put("save", Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        authService.signup(new SignupRequest("홍길동", "길동", EMAIL, PASSWORD, "record-1")).get(5, TimeUnit.SECONDS);
+
+        assertThat(threads.get("encode")).startsWith("password-hash-");
+        assertThat(threads).containsEntry("save", "task-1");
+    }
+
+    /**
+     * 실행 스레드를 기록하는 BCrypt 인코더
+     */
+    private static final class RecordingEncoder extends BCryptPasswordEncoder {
+
+        private final Map<String, String> threads;
+
+        RecordingEncoder(Map<String, String> threads) {
+            super(4);
+            this.threads = threads;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            threads.put("encode", Thread.currentThread().getName());
+            return super.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            threads.put("matches", Thread.currentThread().getName());
+            return super.matches(rawPassword, encodedPassword);
+        }
+    }
+}
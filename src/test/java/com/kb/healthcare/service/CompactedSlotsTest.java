@@ -0,0 +1,65 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.repository.HealthEntryRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 압축 레코드 바이너리 형식({@link CompactedSlots}) 왕복 테스트
+ */
+class CompactedSlotsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 12, 16);
+
+    @Test
+    void 압축한_항목은_값과_스케일까지_그대로_복원된다() {
+        var random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            var rows = new ArrayList<HealthEntryRow>();
+            for (int i = 0, n = random.nextInt(300); i < n; i++) {
+                var from = DAY.atStartOfDay().plusSeconds(random.nextInt(86_400));
+                rows.add(new HealthEntryRow(from, from.plusSeconds(random.nextInt(7_200) - 600),
+                        random.nextInt(20_000) - 100,
+                        BigDecimal.valueOf(random.nextLong(10_000_000_000L), 3),
+                        BigDecimal.valueOf(random.nextLong(10_000_000_000L), 2)));
+            }
+
+            var decoded = CompactedSlots.decode(DAY, CompactedSlots.encode(DAY, rows));
+
+            rows.sort(Comparator.comparing(HealthEntryRow::startedAt).thenComparing(HealthEntryRow::endedAt));
+            assertThat(decoded).containsExactlyElementsOf(rows);
+        }
+    }
+
+    @Test
+    void 하루치_10분_항목은_원본_행보다_훨씬_작다() {
+        var rows = new ArrayList<HealthEntryRow>();
+        for (int slot = 0; slot < 144; slot++) {
+            var from = DAY.atStartOfDay().plusMinutes(10L * slot);
+            rows.add(new HealthEntryRow(from, from.plusMinutes(10), 612, new BigDecimal("0.420"), new BigDecimal("15.30")));
+        }
+
+        assertThat(CompactedSlots.encode(DAY, rows)).hasSizeLessThan(144 * 12);
+    }
+
+    @Test
+    void 그대로_복원할_수_없는_항목이_있으면_압축하지_않는다() {
+        var at = LocalDateTime.of(2024, 12, 16, 20, 40);
+
+        assertThat(CompactedSlots.encode(DAY, List.of(
+                new HealthEntryRow(at.plusNanos(1_000), at.plusMinutes(10), 1, new BigDecimal("0.420"), new BigDecimal("15.30"))))).isNull();
+        assertThat(CompactedSlots.encode(DAY, List.of(
+                new HealthEntryRow(at, at.plusMinutes(10), 1, new BigDecimal("0.42"), new BigDecimal("15.30"))))).isNull();
+        assertThat(CompactedSlots.encode(DAY, List.of(
+                new HealthEntryRow(at.plusDays(1), at.plusDays(1).plusMinutes(10), 1, new BigDecimal("0.420"), new BigDecimal("15.30"))))).isNull();
+    }
+}
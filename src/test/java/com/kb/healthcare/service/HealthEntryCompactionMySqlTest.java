@@ -0,0 +1,143 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import com.kb.healthcare.dto.health.HealthMonthlyResponse;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 원본 항목 압축 전후, 압축된 날짜를 덮어쓰는 업로드, 재압축과 집계 재계산에서 일간/월간 합계가 같은지 확인하는 테스트
+ *
+ * <p>로컬 MySQL(localhost:3306)과 Redis(localhost:6379)가 필요하며, 접속할 수 없으면 건너뜁니다.
+ * 압축은 {@link #BEFORE} 이전 날짜만 대상으로 하여 다른 데이터에 주는 영향을 줄입니다.</p>
+ */
+@SpringBootTest(properties = "health.entry.compaction.pause=0s")
+class HealthEntryCompactionMySqlTest {
+
+    private static final LocalDate BEFORE = LocalDate.of(2020, 2, 1);
+
+    @Autowired
+    private HealthService healthService;
+
+    @Autowired
+    private HealthEntryCompactor compactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String recordKey;
+
+    @BeforeAll
+    static void requireMySqlAndRedis() {
+        boolean available;
+        try (var socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", 6379), 500);
+            new JdbcTemplate(new DriverManagerDataSource(
+                    "jdbc:mysql://localhost:3306/kbhealthcare?useSSL=false&serverTimezone=UTC",
+                    "kbhealthcare_svc", "kbhealthcare")).queryForObject("SELECT 1", Integer.class);
+            available = true;
+        } catch (IOException | RuntimeException e) {
+            available = false;
+        }
+        assumeTrue(available, "로컬 MySQL(localhost:3306) 또는 Redis(localhost:6379)가 없어 건너뜁니다.");
+    }
+
+    @BeforeEach
+    void setUp() {
+        recordKey = "compaction-test-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("health_entry", "health_entry_compacted", "health_daily_summary",
+                "health_monthly_summary")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE record_key = ?", recordKey);
+        }
+    }
+
+    @Test
+    void 압축_전후와_압축된_날짜를_덮어쓴_뒤에도_일간_월간_합계가_같다() {
+        upload("2020-02-02 00:00:00",
+                entry("2020-01-30 12:00:00", "2020-01-30 12:10:00", 100),
+                entry("2020-01-30 12:10:00", "2020-01-30 12:20:00", 200),
+                entry("2020-01-31 12:00:00", "2020-01-31 12:10:00", 300),
+                entry("2020-02-01 12:00:00", "2020-02-01 12:10:00", 400));
+        var daily = healthService.getDaily(recordKey);
+        var monthly = healthService.getMonthly(recordKey);
+        assertThat(daily).extracting(HealthDailyResponse::getSteps).containsExactly(300, 300, 400);
+        assertThat(monthly).extracting(HealthMonthlyResponse::getSteps).containsExactly(600, 400);
+
+        // 1월 두 날짜만 압축되고 2월은 원본으로 남음
+        compactor.compactBefore(BEFORE);
+        assertThat(count("health_entry")).isEqualTo(1);
+        assertThat(count("health_entry_compacted")).isEqualTo(2);
+        assertSameTotals(daily, monthly);
+
+        // 압축된 1월 31일의 항목 하나를 덮어쓰고 새 항목을 추가: 되돌린 원본에서 이전 값을 빼고 새 값을 더함
+        upload("2020-02-03 00:00:00",
+                entry("2020-01-31 12:00:00", "2020-01-31 12:10:00", 350),
+                entry("2020-01-31 12:10:00", "2020-01-31 12:20:00", 50));
+        assertThat(count("health_entry")).isEqualTo(3);
+        assertThat(count("health_entry_compacted")).isEqualTo(1);
+        daily = healthService.getDaily(recordKey);
+        monthly = healthService.getMonthly(recordKey);
+        assertThat(daily).extracting(HealthDailyResponse::getSteps).containsExactly(300, 400, 400);
+        assertThat(monthly).extracting(HealthMonthlyResponse::getSteps).containsExactly(700, 400);
+        assertThat(daily.get(1).getCalories()).isEqualByComparingTo("3.00");
+        assertThat(daily.get(1).getDistance()).isEqualByComparingTo("0.200");
+
+        // 되돌린 날짜를 다시 압축
+        compactor.compactBefore(BEFORE);
+        assertThat(count("health_entry")).isEqualTo(1);
+        assertThat(count("health_entry_compacted")).isEqualTo(2);
+        assertSameTotals(daily, monthly);
+
+        // 원본 항목과 압축 레코드를 함께 합산한 재계산 결과도 같음
+        healthService.rebuildSummaries(recordKey);
+        assertSameTotals(daily, monthly);
+    }
+
+    private void assertSameTotals(List<HealthDailyResponse> daily, List<HealthMonthlyResponse> monthly) {
+        assertThat(healthService.getDaily(recordKey)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(daily);
+        assertThat(healthService.getMonthly(recordKey)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(monthly);
+    }
+
+    private void upload(String lastUpdate, HealthUploadRequest.Entry... entries) {
+        healthService.upload(new HealthUploadRequest(recordKey, new HealthUploadRequest.Data(List.of(entries)),
+                lastUpdate));
+    }
+
+    private static HealthUploadRequest.Entry entry(String from, String to, int steps) {
+        return new HealthUploadRequest.Entry(new HealthUploadRequest.Period(from, to),
+                new HealthUploadRequest.Metric("km", new BigDecimal("0.1")),
+                new HealthUploadRequest.Metric("kcal", new BigDecimal("1.5")), (double) steps);
+    }
+
+    private int count(String table) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE record_key = ?",
+                Integer.class, recordKey);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,82 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.repository.HealthEntryRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 고정 소수점 합산({@link FixedPointRollup})과 기존 BigDecimal 합산의 차등 테스트
+ * <p>
+ * 같은 입력에 대해 두 계산의 일간/월간 변화량(스케일 포함)이 항상 같아야 합니다.
+ */
+class HealthRollupDeltaTest {
+
+    private static final LocalDateTime[] STARTS = {
+            LocalDateTime.of(2024, 12, 31, 23, 50),
+            LocalDateTime.of(2024, 2, 28, 23, 30),
+            LocalDateTime.of(1969, 12, 31, 23, 40),
+            LocalDateTime.of(2025, 11, 5, 0, 0),
+    };
+
+    @Test
+    void 임의의_덮어쓰기와_중복_슬롯은_기존_계산과_같다() {
+        var random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            LocalDateTime start = STARTS[round % STARTS.length];
+            int slots = 1 + random.nextInt(400);
+            var existing = rows(random, start, slots, random.nextInt(slots));
+            var rows = rows(random, start, slots, 1 + random.nextInt(slots * 2));
+
+            var expected = HealthRollupDelta.betweenDecimal(existing, rows);
+            var actual = FixedPointRollup.between(existing, rows);
+
+            assertNotNull(actual);
+            assertEquals(expected, actual, "round " + round);
+        }
+    }
+
+    @Test
+    void 음수_변화량과_0_변화량도_기존_계산과_같다() {
+        var at = LocalDateTime.of(2024, 12, 16, 20, 40);
+        var existing = List.of(row(at, 612, "0.420", "15.30"), row(at.plusMinutes(10), 100, "1.000", "2.00"));
+        var rows = List.of(row(at, 10, "0.001", "0.01"), row(at.plusMinutes(10), 100, "1.000", "2.00"));
+
+        assertEquals(HealthRollupDelta.betweenDecimal(existing, rows), FixedPointRollup.between(existing, rows));
+    }
+
+    @Test
+    void 컬럼_스케일이_아닌_값은_BigDecimal로_계산한다() {
+        var at = LocalDateTime.of(2024, 12, 16, 20, 40);
+        var rows = List.of(row(at, 612, "0.42", "15.3"));
+
+        assertNull(FixedPointRollup.between(List.of(), rows));
+        assertEquals(HealthRollupDelta.betweenDecimal(List.of(), rows), HealthRollupDelta.between(List.of(), rows));
+    }
+
+    /**
+     * {@code start}부터 10분 단위 슬롯 {@code slots}개 중에서 임의로 고른 항목 {@code count}개
+     */
+    private static List<HealthEntryRow> rows(Random random, LocalDateTime start, int slots, int count) {
+        var rows = new ArrayList<HealthEntryRow>(count);
+        for (int i = 0; i < count; i++) {
+            var from = start.plusMinutes(10L * random.nextInt(slots));
+            rows.add(new HealthEntryRow(from, from.plusMinutes(10), random.nextInt(1_000),
+                    BigDecimal.valueOf(random.nextLong(10_000_000_000L), 3),
+                    BigDecimal.valueOf(random.nextLong(10_000_000_000L), 2)));
+        }
+        return rows;
+    }
+
+    private static HealthEntryRow row(LocalDateTime from, int steps, String distance, String calories) {
+        return new HealthEntryRow(from, from.plusMinutes(10), steps, new BigDecimal(distance), new BigDecimal(calories));
+    }
+}
@@ -0,0 +1,210 @@
+package com.kb.healthcare.service;
+
+import com.kb.healthcare.controller.HealthController;
+import com.kb.healthcare.dto.health.HealthDailyResponse;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import com.kb.healthcare.ingest.HealthUploadQueue;
+import com.kb.healthcare.security.CustomUserDetails;
+import com.kb.healthcare.support.GlobalExceptionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 스트리밍 업로드({@code POST /api/health/upload?mode=stream})의 필드 순서, null 항목, 형식 오류,
+ * 오래된 요청의 롤백 테스트
+ *
+ * <p>로컬 MySQL(localhost:3306)과 Redis(localhost:6379)가 필요하며, 접속할 수 없으면 건너뜁니다.
+ * 예약 판단 전에 저장한 청크를 확인하도록 청크 크기를 2로 줄입니다.</p>
+ */
+@SpringBootTest(properties = "health.upload.stream-chunk-size=2")
+class HealthStreamUploadMySqlTest {
+
+    private static final String DAY = "2024-11-15";
+
+    @Autowired
+    private HealthService healthService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private String recordKey;
+
+    @BeforeAll
+    static void requireMySqlAndRedis() {
+        boolean available;
+        try (var socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", 6379), 500);
+            new JdbcTemplate(new DriverManagerDataSource(
+                    "jdbc:mysql://localhost:3306/kbhealthcare?useSSL=false&serverTimezone=UTC",
+                    "kbhealthcare_svc", "kbhealthcare")).queryForObject("SELECT 1", Integer.class);
+            available = true;
+        } catch (IOException | RuntimeException e) {
+            available = false;
+        }
+        assumeTrue(available, "로컬 MySQL(localhost:3306) 또는 Redis(localhost:6379)가 없어 건너뜁니다.");
+    }
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<HealthUploadQueue> uploadQueue = mock(ObjectProvider.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new HealthController(healthService, uploadQueue))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+
+        recordKey = "stream-test-" + UUID.randomUUID();
+        var user = new CustomUserDetails("stream-test@kb.com", recordKey, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (String table : List.of("health_entry", "health_entry_compacted", "health_daily_summary",
+                "health_monthly_summary")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE record_key = ?", recordKey);
+        }
+    }
+
+    @Test
+    void data가_recordkey와_lastUpdate보다_먼저_와도_모두_저장하고_집계한다() throws Exception {
+        upload("""
+                {"data":{"entries":[%s,null,%s,%s]},"recordkey":"%s","lastUpdate":"2024-11-16 00:00:00"}
+                """.formatted(entry(0, 100), entry(10, 200), entry(20, 300), recordKey))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingested").value(3));
+
+        assertThat(entryCount()).isEqualTo(3);
+        assertThat(healthService.getDaily(recordKey)).singleElement()
+                .extracting(HealthDailyResponse::getSteps).isEqualTo(600);
+    }
+
+    @Test
+    void null_항목과_목록은_건너뛴다() throws Exception {
+        upload("""
+                {"recordkey":"%s","lastUpdate":"2024-11-16 00:00:00","data":{"entries":null}}
+                """.formatted(recordKey))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingested").value(0));
+        upload("""
+                {"recordkey":"%s","lastUpdate":"2024-11-16 00:01:00","data":{"entries":[null,%s,null]}}
+                """.formatted(recordKey, entry(0, 100)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingested").value(1));
+
+        assertThat(entryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 형식이_잘못된_본문은_400이고_이미_저장한_청크도_롤백한다() throws Exception {
+        // 청크 두 개(4개 항목)를 저장한 뒤 본문이 끊김
+        upload("""
+                {"recordkey":"%s","data":{"entries":[%s,%s,%s,%s,
+                """.formatted(recordKey, entry(0, 1), entry(10, 2), entry(20, 3), entry(30, 4)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_UPLOAD_BODY"));
+        upload("""
+                {"recordkey":"%s","data":{"entries":[%s,%s,{"period":{"from":"15/11/2024","to":"x"},
+                 "distance":{"unit":"km","value":1},"calories":{"unit":"kcal","value":1},"steps":1}]},
+                 "lastUpdate":"2024-11-16 00:00:00"}
+                """.formatted(recordKey, entry(0, 1), entry(10, 2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_UPLOAD_BODY"));
+        upload("""
+                {"recordkey":"%s","data":{"entries":[{"steps":1}]},"lastUpdate":"2024-11-16 00:00:00"}
+                """.formatted(recordKey))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_UPLOAD_BODY"));
+        upload("""
+                {"recordkey":"%s","data":{"entries":[]},"lastUpdate":"yesterday"}
+                """.formatted(recordKey))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_UPLOAD_BODY"));
+
+        assertThat(entryCount()).isZero();
+    }
+
+    @Test
+    void 항목_뒤에_온_lastUpdate가_오래되면_먼저_저장한_청크를_롤백한다() throws Exception {
+        healthService.upload(new HealthUploadRequest(recordKey, new HealthUploadRequest.Data(List.of(
+                new HealthUploadRequest.Entry(new HealthUploadRequest.Period(DAY + " 00:00:00", DAY + " 00:10:00"),
+                        new HealthUploadRequest.Metric("km", new BigDecimal("0.1")),
+                        new HealthUploadRequest.Metric("kcal", new BigDecimal("1.5")), 100.0))),
+                "2024-11-16 12:00:00"));
+
+        // 같은 슬롯을 덮어쓰는 항목과 새 슬롯 항목을 청크 두 개로 저장한 뒤 오래된 lastUpdate가 나옴
+        upload("""
+                {"recordkey":"%s","data":{"entries":[%s,%s,%s]},"lastUpdate":"2024-11-16 00:00:00"}
+                """.formatted(recordKey, entry(0, 999), entry(10, 999), entry(20, 999)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ingested").value(0));
+
+        assertThat(entryCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT steps FROM health_entry WHERE record_key = ?",
+                Integer.class, recordKey)).isEqualTo(100);
+        assertThat(jdbcTemplate.queryForObject("SELECT steps FROM health_daily_summary WHERE record_key = ?",
+                Long.class, recordKey)).isEqualTo(100L);
+        assertThat(healthService.getDaily(recordKey)).singleElement()
+                .extracting(HealthDailyResponse::getSteps).isEqualTo(100);
+    }
+
+    @Test
+    void 항목_뒤에_온_recordkey가_다르면_403이고_저장한_청크를_롤백한다() throws Exception {
+        upload("""
+                {"data":{"entries":[%s,%s,%s]},"recordkey":"someone-else","lastUpdate":"2024-11-16 00:00:00"}
+                """.formatted(entry(0, 1), entry(10, 2), entry(20, 3)))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.error").value("FORBIDDEN"));
+
+        assertThat(entryCount()).isZero();
+    }
+
+    private ResultActions upload(String body) throws Exception {
+        return mockMvc.perform(post("/api/health/upload").param("mode", "stream")
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private static String entry(int minute, int steps) {
+        return """
+                {"period":{"from":"%1$s 00:%2$02d:00","to":"%1$s 00:%3$02d:00"},\
+                "distance":{"unit":"km","value":0.1},"calories":{"unit":"kcal","value":1.5},"steps":%4$d}\
+                """.formatted(DAY, minute, minute + 10, steps);
+    }
+
+    private int entryCount() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM health_entry WHERE record_key = ?",
+                Integer.class, recordKey);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,109 @@
+package com.kb.healthcare.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.healthcare.dto.health.HealthUploadRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 스트리밍 업로드 본문의 필드 순서, null 항목, 형식 오류 처리 테스트
+ */
+class HealthUploadStreamReaderTest {
+
+    private static final String ENTRY = """
+            {"period":{"from":"2024-11-15 00:00:00","to":"2024-11-15 00:10:00"},
+             "distance":{"unit":"km","value":0.215},"calories":{"unit":"kcal","value":8.31},"steps":312}""";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void 필드를_본문에_나오는_순서대로_전달한다() throws IOException {
+        var events = read("""
+                {"data":{"entries":[%s,%s]},"lastUpdate":"2024-11-15 10:00:00","recordkey":"user-1"}
+                """.formatted(ENTRY, ENTRY), true);
+
+        assertThat(events).containsExactly("entry:312", "entry:312", "lastUpdate:2024-11-15 10:00:00", "recordKey:user-1");
+    }
+
+    @Test
+    void lastUpdate가_먼저_오면_항목을_읽기_전에_전달한다() throws IOException {
+        var events = read("""
+                {"recordkey":"user-1","lastUpdate":"2024-11-15 10:00:00","data":{"entries":[%s]}}
+                """.formatted(ENTRY), true);
+
+        assertThat(events).containsExactly("recordKey:user-1", "lastUpdate:2024-11-15 10:00:00", "entry:312");
+    }
+
+    @Test
+    void 항목이_필요_없으면_바인딩하지_않고_건너뛴다() throws IOException {
+        var events = read("""
+                {"recordkey":"user-1","data":{"entries":[%s,{"steps":"not a number"}],"memo":{"a":[1,2]}},"lastUpdate":"x"}
+                """.formatted(ENTRY), false);
+
+        assertThat(events).containsExactly("recordKey:user-1", "lastUpdate:x");
+    }
+
+    @Test
+    void null인_항목과_목록은_건너뛴다() throws IOException {
+        assertThat(read("""
+                {"recordkey":"user-1","data":{"entries":[null,%s,null]}}
+                """.formatted(ENTRY), true)).containsExactly("recordKey:user-1", "entry:312");
+        assertThat(read("""
+                {"recordkey":"user-1","data":{"entries":null}}
+                """, true)).containsExactly("recordKey:user-1");
+        assertThat(read("""
+                {"recordkey":"user-1","data":null}
+                """, true)).containsExactly("recordKey:user-1");
+    }
+
+    @Test
+    void 형식이_잘못된_본문은_JSON_처리_예외로_실패한다() {
+        for (String body : List.of(
+                "",
+                "[]",
+                "{\"recordkey\":\"user-1\",\"data\":{\"entries\":[%s".formatted(ENTRY),
+                "{\"recordkey\":\"user-1\",\"data\":{\"entries\":{}}}",
+                "{\"recordkey\":\"user-1\",\"data\":{\"entries\":[{\"steps\":\"many\"}]}}",
+                "{\"recordkey\":\"user-1\" \"lastUpdate\":\"x\"}")) {
+            assertThatThrownBy(() -> read(body, true))
+                    .as(body)
+                    .isInstanceOf(JsonProcessingException.class);
+        }
+    }
+
+    private List<String> read(String body, boolean wantsEntries) throws IOException {
+        var events = new ArrayList<String>();
+        HealthUploadStreamReader.read(mapper, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                new HealthUploadStreamReader.Handler() {
+                    @Override
+                    public void recordKey(String recordKey) {
+                        events.add("recordKey:" + recordKey);
+                    }
+
+                    @Override
+                    public void lastUpdate(String lastUpdate) {
+                        events.add("lastUpdate:" + lastUpdate);
+                    }
+
+                    @Override
+                    public void entry(HealthUploadRequest.Entry entry) {
+                        events.add("entry:" + entry.steps().intValue());
+                    }
+
+                    @Override
+                    public boolean wantsEntries() {
+                        return wantsEntries;
+                    }
+                });
+        return events;
+    }
+}
@@ -0,0 +1,157 @@
+package com.kb.healthcare.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 수작업 파서와 기존 정규식/{@code DateTimeFormatter} 구현의 차등 테스트
+ * <p>
+ * 같은 입력에 대해 두 구현의 결과(값 또는 예외 메시지)가 항상 같아야 합니다.
+ */
+class HealthNormalizerTest {
+
+    private static final String[] SEEDS = {
+            "2024-12-15 12:40:00 +0000",
+            "2024-12-16 20:40:00",
+            "2024-12-15T11:30:00+0000",
+            "2024-02-29 23:59:59 -1800",
+            "1988-05-08 02:30:00",
+            "1987-10-11 02:30:00",
+            "9999-12-31T24:00:00+0900",
+            "0001-01-01 00:00:00",
+    };
+
+    private final HealthNormalizer normalizer = new HealthNormalizer();
+
+    @Test
+    void 경계값_입력은_기존_구현과_같다() {
+        List<String> inputs = new ArrayList<>(List.of(SEEDS));
+        inputs.addAll(List.of(
+                // 공백/널
+                "", " ", "  2024-12-16 20:40:00\t", "\n2024-12-15T11:30:00+0000 ", "2024-12-16  20:40:00",
+                // 없는 날짜 보정, 0 값
+                "2023-02-29 10:00:00", "2024-02-30 10:00:00", "2100-02-29 10:00:00", "2000-02-29 10:00:00",
+                "2024-04-31 10:00:00", "2024-06-31T10:00:00+0900", "2024-01-32 10:00:00", "2024-00-10 10:00:00",
+                "2024-13-10 10:00:00", "2024-01-00 10:00:00", "0000-01-01 00:00:00",
+                // 시간 경계
+                "2024-12-31 24:00:00", "2024-12-31 24:00:01", "2024-12-31 24:01:00", "2024-12-31 25:00:00",
+                "2024-12-31 23:60:00", "2024-12-31 23:59:60", "2024-02-28T24:00:00+0000",
+                // 오프셋 경계
+                "2024-12-15 12:40:00 +1800", "2024-12-15 12:40:00 +1801", "2024-12-15 12:40:00 -1900",
+                "2024-12-15 12:40:00 +0060", "2024-12-15 12:40:00 +2400", "2024-12-15 12:40:00 -0000",
+                "2024-12-15T11:30:00Z", "2024-12-15T11:30:00+00:00", "2024-12-15 12:40:00 0000",
+                // 구분자/길이 오류
+                "2024/12/16 20:40:00", "2024-12-16T20:40:00", "2024-12-16 20:40:00+0000",
+                "2024-12-15T11:30:00 +0000", "2024-12-16 20:40", "2024-12-16 20:40:00.000",
+                "2024-1a-16 20:40:00", "２０２４-12-16 20:40:00", "+024-12-16 20:40:00",
+                // 서머타임 전환 구간 (갭/겹침)
+                "1987-05-10 02:00:00", "1987-05-10 02:59:59", "1987-10-11 02:00:00", "1988-10-09 02:30:00",
+                "1988-10-10 02:30:00", "1954-03-21 00:30:00", "1961-08-10 00:00:00"));
+
+        for (String input : inputs) {
+            assertSame(input);
+        }
+        assertSame(null);
+    }
+
+    @Test
+    void 무작위_변형_입력은_기존_구현과_같다() {
+        Random random = new Random(20241216L);
+        char[] alphabet = "0123456789012345678901234567890123456789-: T+Z/.\t".toCharArray();
+
+        for (int i = 0; i < 50_000; i++) {
+            char[] chars = SEEDS[random.nextInt(SEEDS.length)].toCharArray();
+            int mutations = 1 + random.nextInt(3);
+            for (int m = 0; m < mutations; m++) {
+                chars[random.nextInt(chars.length)] = alphabet[random.nextInt(alphabet.length)];
+            }
+            assertSame(new String(chars));
+        }
+    }
+
+    @Test
+    void 무작위_유효_범위_입력은_기존_구현과_같다() {
+        Random random = new Random(7L);
+
+        for (int i = 0; i < 50_000; i++) {
+            String date = "%04d-%02d-%02d".formatted(1 + random.nextInt(9999), random.nextInt(14), random.nextInt(33));
+            String time = "%02d:%02d:%02d".formatted(random.nextInt(26), random.nextInt(62), random.nextInt(62));
+            String offset = "%c%02d%02d".formatted(random.nextBoolean() ? '+' : '-', random.nextInt(20), random.nextInt(62));
+            String input = switch (random.nextInt(3)) {
+                case 0 -> date + " " + time + " " + offset;
+                case 1 -> date + " " + time;
+                default -> date + "T" + time + offset;
+            };
+            assertSame(input);
+        }
+    }
+
+    private void assertSame(String input) {
+        String expected = outcome(() -> Legacy.toKst(input));
+        assertEquals(expected, outcome(() -> normalizer.toKst(input)), () -> "toKst: [" + input + "]");
+
+        String expectedLocal = outcome(() -> Legacy.toKst(input).toLocalDateTime());
+        assertEquals(expectedLocal, outcome(() -> normalizer.toKstLocal(input)), () -> "toKstLocal: [" + input + "]");
+    }
+
+    private static String outcome(Supplier<?> parse) {
+        try {
+            return Objects.toString(parse.get());
+        } catch (IllegalArgumentException e) {
+            return "IAE: " + e.getMessage();
+        }
+    }
+
+    /**
+     * 기존 구현 (비교 기준)
+     */
+    private static final class Legacy {
+
+        private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+        private static final DateTimeFormatter FORMAT_1 =
+                new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd HH:mm:ss Z").toFormatter();
+        private static final DateTimeFormatter FORMAT_2 =
+                new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd HH:mm:ss").toFormatter();
+        private static final DateTimeFormatter FORMAT_3 =
+                new DateTimeFormatterBuilder().appendPattern("yyyy-MM-dd'T'HH:mm:ssZ").toFormatter();
+
+        static ZonedDateTime toKst(String raw) {
+            String s = (raw == null) ? "" : raw.trim();
+
+            try {
+                if (s.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} [+-]\\d{4}")) {
+                    OffsetDateTime odt = OffsetDateTime.parse(s, FORMAT_1);
+                    return odt.atZoneSameInstant(KST);
+                }
+
+                if (s.matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}")) {
+                    LocalDateTime ldt = LocalDateTime.parse(s, FORMAT_2);
+                    return ldt.atZone(KST);
+                }
+
+                if (s.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}[+-]\\d{4}")) {
+                    OffsetDateTime odt = OffsetDateTime.parse(s, FORMAT_3);
+                    return odt.atZoneSameInstant(KST);
+                }
+
+                throw new IllegalArgumentException("Invalid date format: " + raw);
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid date format: " + raw, e);
+            }
+        }
+    }
+}